@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileSystem;
+import org.openide.filesystems.FileUtil;
+import org.openide.filesystems.MIMEResolver;
+import org.openide.util.lookup.ServiceProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the generation of a single bean, one method builder at a time, for beans with a growing number of fields.
+ * <p>
+ * The bean source lives on an in-memory filesystem and is modified through {@link JavaSource} exactly the way the
+ * wizard does it, but the modification is never committed, so every invocation starts from the same empty class.
+ * The {@code fields} builder generates just the fields and is the baseline of the other builders.
+ * <p>
+ * Running {@link #main(String[])} adds the GC profiler, so that next to the throughput the allocation per generated
+ * bean is reported as {@code gc.alloc.rate.norm}.
+ *
+ * @author Arthur Sadykov
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.net=ALL-UNNAMED")
+@State(Scope.Benchmark)
+public class JavaBeanGeneratorBenchmark {
+
+    private static final String BEAN_NAME = "Bean";
+    private static final String[] FIELD_TYPES = {
+        ConstantDataManager.INT,
+        ConstantDataManager.LONG,
+        ConstantDataManager.DOUBLE,
+        ConstantDataManager.BOOLEAN,
+        ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE,
+        ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE,
+        ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE,
+        ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE,
+        "String",
+        "java.math.BigDecimal",
+        "java.util.Date",
+        "java.util.List<String>"
+    };
+    private static final Map<String, String> BUILDER_TO_PROPERTY_MAP = new HashMap<>();
+
+    static {
+        BUILDER_TO_PROPERTY_MAP.put("getters", ConstantDataManager.GENERATE_GETTERS_PROPERTY);
+        BUILDER_TO_PROPERTY_MAP.put("setters", ConstantDataManager.GENERATE_SETTERS_PROPERTY);
+        BUILDER_TO_PROPERTY_MAP.put("equals", ConstantDataManager.GENERATE_EQUALS_PROPERTY);
+        BUILDER_TO_PROPERTY_MAP.put("hashCode", ConstantDataManager.GENERATE_HASH_CODE_PROPERTY);
+        BUILDER_TO_PROPERTY_MAP.put("toString", ConstantDataManager.GENERATE_TO_STRING_PROPERTY);
+    }
+
+    @Param({"1", "10", "100", "1000"})
+    private int fieldCount;
+
+    @Param({"fields", "getters", "setters", "equals", "hashCode", "toString"})
+    private String builder;
+
+    private Map<String, String> nameToTypeMap;
+    private Map<String, Object> properties;
+    private JavaSource javaSource;
+
+    @Setup
+    public void setUp() throws IOException {
+        nameToTypeMap = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            nameToTypeMap.put("field" + i, FIELD_TYPES[i % FIELD_TYPES.length]);
+        }
+        String property = BUILDER_TO_PROPERTY_MAP.get(builder);
+        properties = property == null
+                ? Collections.<String, Object>emptyMap()
+                : Collections.<String, Object>singletonMap(property, true);
+        FileSystem fileSystem = FileUtil.createMemoryFileSystem();
+        FileObject beanFile = FileUtil.createData(fileSystem.getRoot(), "beans/" + BEAN_NAME + ".java");
+        try (OutputStream outputStream = beanFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            writer.write("package beans;\n\npublic class " + BEAN_NAME + " {\n\n}\n");
+        }
+        ClasspathInfo classpathInfo = ClasspathInfo.create(ClassPath.EMPTY, ClassPath.EMPTY, ClassPath.EMPTY);
+        javaSource = JavaSource.create(classpathInfo, beanFile);
+    }
+
+    @Benchmark
+    public ModificationResult generateTrees() throws IOException {
+        GenerationProfiler profiler = new GenerationProfiler(BEAN_NAME, fieldCount, properties);
+        JavaBeanGenerator generator = new JavaBeanGenerator(nameToTypeMap, properties, profiler);
+        return javaSource.runModificationTask(generator::generate);
+    }
+
+    @Benchmark
+    public Map<String, Object> emitSource() {
+        JavaBeanSourceEmitter emitter = new JavaBeanSourceEmitter(BEAN_NAME, nameToTypeMap, properties);
+        return emitter.createTemplateParameters();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(JavaBeanGeneratorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Recognizes Java sources, which is otherwise done by the layer of the Java support modules that are not loaded
+     * outside of the IDE.
+     */
+    @ServiceProvider(service = MIMEResolver.class)
+    public static class JavaMimeResolver extends MIMEResolver {
+
+        private static final String JAVA_MIME_TYPE = "text/x-java";
+
+        public JavaMimeResolver() {
+            super(JAVA_MIME_TYPE);
+        }
+
+        @Override
+        public String findMIMEType(FileObject fileObject) {
+            return "java".equals(fileObject.getExt()) ? JAVA_MIME_TYPE : null;
+        }
+    }
+}
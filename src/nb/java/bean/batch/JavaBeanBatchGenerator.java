@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nb.java.bean.constants.ConstantDataManager;
+import nb.java.bean.template.AtomicAccessors;
+import nb.java.bean.template.GenerationProfiler;
+import nb.java.bean.template.JavaBeanCompanionFiles;
+import nb.java.bean.template.JavaBeanGenerator;
+import nb.java.bean.template.JavaBeanSourceEmitter;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.ModificationResult;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataFolder;
+import org.openide.loaders.DataObject;
+
+/**
+ * Headless counterpart of the Java Bean wizard: generates every bean described in a specification file in one pass.
+ * <p>
+ * All beans are created from the Java Bean template first, then processed by a single {@link JavaSource} sharing one
+ * classpath, and the modifications of all files are committed together. Beans selecting the single-pass mode are
+ * written completely by the template and skip the {@link JavaSource} processing.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanBatchGenerator {
+
+    private JavaBeanBatchGenerator() {
+    }
+
+    /**
+     * Generates the beans described in the specification file.
+     *
+     * @param specFile a JSON or CSV specification, see {@link JavaBeanSpecReader} for the format
+     * @param targetFolder the package folder in a Java project to generate the beans into
+     * @return the created source files
+     * @throws IOException if the specification cannot be read or a file cannot be created
+     */
+    public static Set<FileObject> generate(FileObject specFile, FileObject targetFolder) throws IOException {
+        List<JavaBeanSpec> specs = new ArrayList<>();
+        for (JavaBeanSpec spec : JavaBeanSpecReader.read(specFile)) {
+            specs.add(new JavaBeanSpec(spec.getName(), spec.getNameToTypeMap(), AtomicAccessors.adaptToSourceLevel(
+                    spec.getName(), spec.getNameToTypeMap(), spec.getProperties(), targetFolder)));
+        }
+        int fieldCount = specs.stream().mapToInt(spec -> spec.getNameToTypeMap().size()).sum();
+        GenerationProfiler batchProfiler =
+                new GenerationProfiler(specFile.getNameExt(), fieldCount, Collections.<String, Object>emptyMap());
+        // the beans modified by the shared JavaSource are only done once all of them are committed
+        List<GenerationProfiler> pendingProfilers = new ArrayList<>();
+        try {
+            DataObject templateDataObject;
+            GenerationProfiler.Stage templateLookupStage = batchProfiler.start("templateLookup");
+            try {
+                FileObject template = FileUtil.getConfigFile(ConstantDataManager.JAVA_BEAN_TEMPLATE_PATH);
+                if (template == null) {
+                    throw new IllegalStateException(ConstantDataManager.TEMPLATE_NOT_FOUND);
+                }
+                templateDataObject = DataObject.find(template);
+            } finally {
+                templateLookupStage.end();
+            }
+            DataFolder targetDataFolder = DataFolder.findFolder(targetFolder);
+            Map<FileObject, JavaBeanGenerator> generators = new LinkedHashMap<>();
+            Set<FileObject> createdFiles = new LinkedHashSet<>();
+            for (JavaBeanSpec spec : specs) {
+                GenerationProfiler profiler =
+                        new GenerationProfiler(spec.getName(), spec.getNameToTypeMap().size(), spec.getProperties());
+                if (JavaBeanSourceEmitter.isApplicable(spec.getProperties())) {
+                    try {
+                        createdFiles.add(createFromTemplate(templateDataObject, targetDataFolder, spec, profiler)
+                                .getPrimaryFile());
+                    } finally {
+                        profiler.finish();
+                    }
+                } else {
+                    pendingProfilers.add(profiler);
+                    DataObject createdDataObject;
+                    GenerationProfiler.Stage stage = profiler.start("createFromTemplate");
+                    try {
+                        createdDataObject = templateDataObject.createFromTemplate(targetDataFolder, spec.getName());
+                    } finally {
+                        stage.end();
+                    }
+                    createdFiles.add(createdDataObject.getPrimaryFile());
+                    generators.put(createdDataObject.getPrimaryFile(),
+                            new JavaBeanGenerator(spec.getNameToTypeMap(), spec.getProperties(), profiler));
+                }
+            }
+            if (!generators.isEmpty()) {
+                modify(targetFolder, generators, batchProfiler);
+            }
+            for (JavaBeanSpec spec : specs) {
+                createdFiles.addAll(JavaBeanCompanionFiles.write(spec.getName(), spec.getNameToTypeMap(),
+                        spec.getProperties(), targetFolder, batchProfiler));
+            }
+            return Collections.unmodifiableSet(createdFiles);
+        } finally {
+            pendingProfilers.forEach(GenerationProfiler::finish);
+            batchProfiler.finish();
+        }
+    }
+
+    private static DataObject createFromTemplate(DataObject templateDataObject, DataFolder targetDataFolder,
+            JavaBeanSpec spec, GenerationProfiler profiler) throws IOException {
+        JavaBeanSourceEmitter emitter =
+                new JavaBeanSourceEmitter(spec.getName(), spec.getNameToTypeMap(), spec.getProperties());
+        Map<String, Object> parameters;
+        GenerationProfiler.Stage emitMembersStage = profiler.start("emitMembers");
+        try {
+            parameters = emitter.createTemplateParameters();
+        } finally {
+            emitMembersStage.end();
+        }
+        GenerationProfiler.Stage createFromTemplateStage = profiler.start("createFromTemplate");
+        try {
+            return templateDataObject.createFromTemplate(targetDataFolder, spec.getName(), parameters);
+        } finally {
+            createFromTemplateStage.end();
+        }
+    }
+
+    private static void modify(FileObject targetFolder, Map<FileObject, JavaBeanGenerator> generators,
+            GenerationProfiler batchProfiler) throws IOException {
+        JavaSource javaSource;
+        GenerationProfiler.Stage createStage = batchProfiler.start("create");
+        try {
+            javaSource = JavaSource.create(ClasspathInfo.create(targetFolder), generators.keySet());
+        } finally {
+            createStage.end();
+        }
+        if (javaSource == null) {
+            throw new IllegalStateException(ConstantDataManager.NO_ASSOCIATED_JAVA_SOURCE);
+        }
+        ModificationResult result;
+        GenerationProfiler.Stage runModificationTaskStage = batchProfiler.start("runModificationTask");
+        try {
+            result = javaSource.runModificationTask(workingCopy -> {
+                generators.get(workingCopy.getFileObject()).generate(workingCopy);
+            });
+        } finally {
+            runModificationTaskStage.end();
+        }
+        GenerationProfiler.Stage commitStage = batchProfiler.start("commit");
+        try {
+            result.commit();
+        } finally {
+            commitStage.end();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.batch;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A single bean entry of a batch specification file.
+ *
+ * @author Arthur Sadykov
+ */
+class JavaBeanSpec {
+
+    private final String name;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, Object> properties;
+
+    JavaBeanSpec(String name, Map<String, String> nameToTypeMap, Map<String, Object> properties) {
+        this.name = name;
+        this.nameToTypeMap = nameToTypeMap;
+        this.properties = properties;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<String, String> getNameToTypeMap() {
+        return Collections.unmodifiableMap(nameToTypeMap);
+    }
+
+    Map<String, Object> getProperties() {
+        return Collections.unmodifiableMap(properties);
+    }
+}
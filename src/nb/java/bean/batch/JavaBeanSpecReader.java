@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.batch;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+import nb.java.bean.template.FieldDefinition;
+import nb.java.bean.template.GenerationOptions;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Reads bean specifications from JSON or CSV files.
+ * <p>
+ * A JSON specification is an array of objects, each having a {@code name}, a {@code fields} array of
+ * {@code {"name": ..., "type": ...}} objects and, optionally, any of the generation options of the wizard keyed by
+ * their property names, e.g. {@code "generateToString": false}. Switches take a boolean, the concurrency mode one of
+ * its names, and the options naming fields a comma separated string or an array of strings. A CSV specification has
+ * one bean per line: the class name followed by alternating field name and field type columns. The getters, setters,
+ * constructor, {@code equals}, {@code hashCode} and {@code toString} options default to {@code true}, just as in the
+ * wizard.
+ * <p>
+ * Class names, field names and field types are checked just as in the wizard, so a field may not take the name of a
+ * generated member, and a bean may not declare a field twice. Unknown options and options of the wrong type are
+ * rejected too, and so are options naming fields the bean does not declare and the binary codec for a bean having
+ * fields it cannot encode. A specification failing these checks is rejected as a whole, before any bean is
+ * generated.
+ *
+ * @author Arthur Sadykov
+ */
+class JavaBeanSpecReader {
+
+    private static final List<String> DEFAULT_ENABLED_PROPERTIES = Arrays.asList(
+            ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR,
+            ConstantDataManager.GENERATE_EQUALS_PROPERTY,
+            ConstantDataManager.GENERATE_GETTERS_PROPERTY,
+            ConstantDataManager.GENERATE_HASH_CODE_PROPERTY,
+            ConstantDataManager.GENERATE_SETTERS_PROPERTY,
+            ConstantDataManager.GENERATE_TO_STRING_PROPERTY);
+    private static final List<String> BOOLEAN_OPTIONS = Arrays.asList(
+            ConstantDataManager.FIX_IMPORTS_PROPERTY,
+            ConstantDataManager.GENERATE_BENCHMARK_PROPERTY,
+            ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY,
+            ConstantDataManager.GENERATE_COLUMNS_PROPERTY,
+            ConstantDataManager.GENERATE_COMPARABLE_PROPERTY,
+            ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR,
+            ConstantDataManager.GENERATE_EQUALS_PROPERTY,
+            ConstantDataManager.GENERATE_FLYWEIGHT_PROPERTY,
+            ConstantDataManager.GENERATE_GETTERS_PROPERTY,
+            ConstantDataManager.GENERATE_HASH_CODE_PROPERTY,
+            ConstantDataManager.GENERATE_IN_SINGLE_PASS_PROPERTY,
+            ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY,
+            ConstantDataManager.GENERATE_SETTERS_PROPERTY,
+            ConstantDataManager.GENERATE_TO_STRING_PROPERTY,
+            ConstantDataManager.IMMUTABLE_PROPERTY,
+            ConstantDataManager.ORDER_FIELDS_BY_SIZE_PROPERTY,
+            ConstantDataManager.PACK_FLAGS_PROPERTY,
+            ConstantDataManager.PRESIZED_TO_STRING_PROPERTY,
+            ConstantDataManager.TRACK_DIRTY_FIELDS_PROPERTY);
+    private static final List<String> FIELD_LIST_OPTIONS = Arrays.asList(
+            ConstantDataManager.COMPARISON_KEYS_PROPERTY,
+            ConstantDataManager.COUNTER_FIELDS_PROPERTY,
+            ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY,
+            ConstantDataManager.HOT_FIELDS_PROPERTY);
+    private static final List<String> CONCURRENCY_MODES = Arrays.asList(
+            ConstantDataManager.CONCURRENCY_MODE_ATOMIC,
+            ConstantDataManager.CONCURRENCY_MODE_PLAIN,
+            ConstantDataManager.CONCURRENCY_MODE_VOLATILE);
+
+    private JavaBeanSpecReader() {
+    }
+
+    static List<JavaBeanSpec> read(FileObject specFile) throws IOException {
+        String extension = specFile.getExt().toLowerCase();
+        switch (extension) {
+            case ConstantDataManager.JSON_EXTENSION:
+                return readJson(specFile);
+            case ConstantDataManager.CSV_EXTENSION:
+                return readCsv(specFile);
+            default:
+                throw new IOException(ConstantDataManager.UNSUPPORTED_SPEC_FORMAT + specFile.getNameExt());
+        }
+    }
+
+    private static List<JavaBeanSpec> readJson(FileObject specFile) throws IOException {
+        Object root;
+        try (Reader reader = new InputStreamReader(specFile.getInputStream(), StandardCharsets.UTF_8)) {
+            root = new JSONParser().parse(reader);
+        } catch (ParseException ex) {
+            throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt(), ex);
+        }
+        if (!(root instanceof JSONArray)) {
+            throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+        }
+        List<JavaBeanSpec> specs = new ArrayList<>();
+        for (Object entry : (JSONArray) root) {
+            if (!(entry instanceof JSONObject)) {
+                throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+            }
+            JSONObject bean = (JSONObject) entry;
+            Object name = bean.get(ConstantDataManager.SPEC_NAME_KEY);
+            Object fields = bean.get(ConstantDataManager.SPEC_FIELDS_KEY);
+            if (!(name instanceof String) || !FieldDefinition.isValidName((String) name)
+                    || !(fields instanceof JSONArray)) {
+                throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+            }
+            Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+            for (Object field : (JSONArray) fields) {
+                if (!(field instanceof JSONObject)) {
+                    throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+                }
+                Object fieldName = ((JSONObject) field).get(ConstantDataManager.SPEC_NAME_KEY);
+                Object fieldType = ((JSONObject) field).get(ConstantDataManager.SPEC_TYPE_KEY);
+                if (!(fieldName instanceof String) || !(fieldType instanceof String)) {
+                    throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+                }
+                putField(nameToTypeMap, (String) fieldName, (String) fieldType, specFile);
+            }
+            Map<String, Object> properties = createDefaultProperties();
+            for (Object key : bean.keySet()) {
+                if (!ConstantDataManager.SPEC_NAME_KEY.equals(key)
+                        && !ConstantDataManager.SPEC_FIELDS_KEY.equals(key)) {
+                    if (!isValidOption((String) key, bean.get(key))) {
+                        throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+                    }
+                    properties.put((String) key, bean.get(key));
+                }
+            }
+            if (Boolean.TRUE.equals(properties.get(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY))
+                    && !nameToTypeMap.values().stream().allMatch(FieldDefinition::isBinaryEncodable)
+                    || !GenerationOptions.findUnknownFieldNames(nameToTypeMap, properties).isEmpty()) {
+                throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+            }
+            specs.add(new JavaBeanSpec((String) name, nameToTypeMap, properties));
+        }
+        return specs;
+    }
+
+    private static List<JavaBeanSpec> readCsv(FileObject specFile) throws IOException {
+        List<JavaBeanSpec> specs = new ArrayList<>();
+        for (String line : specFile.asLines(StandardCharsets.UTF_8.name())) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith("#")) {
+                continue;
+            }
+            String[] columns = trimmedLine.split(",", -1);
+            if (columns.length % 2 == 0) {
+                throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+            }
+            if (!FieldDefinition.isValidName(columns[0].trim())) {
+                throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+            }
+            Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+            for (int i = 1; i < columns.length; i += 2) {
+                putField(nameToTypeMap, columns[i].trim(), columns[i + 1].trim(), specFile);
+            }
+            specs.add(new JavaBeanSpec(columns[0].trim(), nameToTypeMap, createDefaultProperties()));
+        }
+        return specs;
+    }
+
+    private static void putField(Map<String, String> nameToTypeMap, String fieldName, String fieldType,
+            FileObject specFile) throws IOException {
+        if (!FieldDefinition.isValidName(fieldName) || FieldDefinition.isReservedName(fieldName)
+                || !FieldDefinition.isValidType(fieldType) || nameToTypeMap.putIfAbsent(fieldName, fieldType) != null) {
+            throw new IOException(ConstantDataManager.MALFORMED_SPEC + specFile.getNameExt());
+        }
+    }
+
+    private static boolean isValidOption(String option, Object value) {
+        if (BOOLEAN_OPTIONS.contains(option)) {
+            return value instanceof Boolean;
+        }
+        if (FIELD_LIST_OPTIONS.contains(option)) {
+            return value instanceof String
+                    || value instanceof JSONArray && ((List<?>) value).stream().allMatch(String.class::isInstance);
+        }
+        return ConstantDataManager.CONCURRENCY_MODE_PROPERTY.equals(option) && CONCURRENCY_MODES.contains(value);
+    }
+
+    private static Map<String, Object> createDefaultProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        DEFAULT_ENABLED_PROPERTIES.forEach(property -> properties.put(property, true));
+        return properties;
+    }
+}
@@ -11,44 +11,134 @@ package nb.java.bean.constants;
  */
 public class ConstantDataManager {
 
+    public static final String APPEND_METHOD_NAME = "append";
+    public static final String APPEND_TO_METHOD_NAME = "appendTo";
+    public static final String ATOMIC_FIELD_UPDATERS_PROPERTY = "atomicFieldUpdaters";
+    public static final String ATOMIC_INTEGER_FIELD_UPDATER_TYPE =
+            "java.util.concurrent.atomic.AtomicIntegerFieldUpdater";
+    public static final String ATOMIC_LONG_FIELD_UPDATER_TYPE = "java.util.concurrent.atomic.AtomicLongFieldUpdater";
+    public static final String ATOMIC_REFERENCE_FIELD_UPDATER_TYPE =
+            "java.util.concurrent.atomic.AtomicReferenceFieldUpdater";
+    public static final String BENCHMARK_CLASS_SUFFIX = "Benchmark";
     public static final String BOOLEAN = "boolean";
     public static final String BOOLEAN_TYPE = "java.lang.Boolean";
+    public static final String BUILDER = "builder";
     public static final String BYTE = "byte";
+    public static final String CACHED_HASH = "cachedHash";
     public static final String CHAR = "char";
     public static final String CLASS_NOT_PRESENT = "No class in the java file!";
+    public static final String CLEAR_DIRTY_METHOD_NAME = "clearDirty";
+    public static final String COLUMNS_CLASS_SUFFIX = "Columns";
+    public static final String COMPARATOR_TYPE = "java.util.Comparator";
+    public static final String COMPARE_AND_SET_PREFIX = "compareAndSet";
+    public static final String COMPARE_TO_METHOD_NAME = "compareTo";
+    public static final String COMPARISON_KEYS_PROPERTY = "comparisonKeys";
+    public static final String CONCURRENCY_MODE_ATOMIC = "atomic";
+    public static final String CONCURRENCY_MODE_PLAIN = "plain";
+    public static final String CONCURRENCY_MODE_PROPERTY = "concurrencyMode";
+    public static final String CONCURRENCY_MODE_VOLATILE = "volatile";
+    public static final String COUNTER_FIELDS_PROPERTY = "counterFields";
+    public static final String COPY_DIRTY_TO_METHOD_NAME = "copyDirtyTo";
+    public static final String CSV_EXTENSION = "csv";
+    public static final String DATA_INPUT_TYPE = "java.io.DataInput";
+    public static final String DATA_OUTPUT_TYPE = "java.io.DataOutput";
+    public static final String DIRTY_FIELDS_METHOD_NAME = "dirtyFields";
+    public static final String DIRTY_MASK = "dirtyMask";
+    public static final String DIRTY_MASK_NOT_ATOMIC =
+            "The dirty mask of the bean {0} is not set atomically with volatile fields!";
+    public static final String DISCRIMINATING_FIELDS_PROPERTY = "discriminatingFields";
     public static final String DOUBLE = "double";
     public static final String DOUBLE_TO_LONG_BITS = "doubleToLongBits";
     public static final String EQUALS_METHOD_NAME = "equals";
+    public static final String EXTERNALIZABLE_TYPE = "java.io.Externalizable";
     public static final String FALSE = "false";
+    public static final String FALSE_SHARING_BENCHMARK_CLASS_SUFFIX = "FalseSharingBenchmark";
+    public static final String FIELD_KIND_COUNTER = "counter";
+    public static final String FIELD_KIND_VALUE = "value";
     public static final String FIELDS = "Fields";
+    public static final String FIELDS_NOT_ATOMIC =
+            "Fields {1} of the bean {0} cannot be updated atomically before Java 9, the bean is generated volatile!";
+    public static final String FIELDS_NOT_ENCODABLE =
+            "Fields {1} of the bean {0} cannot be encoded without reflection and are left out of its binary codec!";
+    public static final String FIELDS_NOT_JSON_ENCODABLE =
+            "Fields {1} of the bean {0} have no JSON representation and are left out of its JSON methods!";
+    public static final String FIELDS_NOT_FIXED_WIDTH =
+            "Fields {1} of the bean {0} have no fixed width and are left out of its flyweight!";
+    public static final String FIELDS_NOT_TRACKED =
+            "Fields {1} of the bean {0} do not fit into the dirty mask and are not tracked!";
+    public static final String FIX_IMPORTS_PROPERTY = "fixImports";
+    public static final String FLAGS = "flags";
+    public static final String FLAGS_NOT_ATOMIC =
+            "Flags of the bean {0} share a word and their setters are not atomic with volatile fields!";
+    public static final String FLIGHT_RECORDER_EVENT_TYPE = "jdk.jfr.Event";
     public static final String FLOAT = "float";
     public static final String FLOAT_TO_INT_BITS = "floatToIntBits";
+    public static final String FLYWEIGHT_CLASS_SUFFIX = "Flyweight";
+    public static final String GENERATION_LOGGER_NAME = "nb.java.bean.template.generation";
+    public static final String GENERATE_BENCHMARK_PROPERTY = "generateBenchmark";
+    public static final String GENERATE_BINARY_CODEC_PROPERTY = "generateBinaryCodec";
+    public static final String GENERATE_COLUMNS_PROPERTY = "generateColumns";
+    public static final String GENERATE_COMPARABLE_PROPERTY = "generateComparable";
     public static final String GENERATE_EQUALS_PROPERTY = "generateEquals";
     public static final String GENERATE_DEFAULT_CONSTRUCTOR = "generateDefaultConstructor";
+    public static final String GENERATE_FLYWEIGHT_PROPERTY = "generateFlyweight";
     public static final String GENERATE_GETTERS_PROPERTY = "generateGetters";
     public static final String GENERATE_HASH_CODE_PROPERTY = "generateHashCode";
+    public static final String GENERATE_JSON_CODEC_PROPERTY = "generateJsonCodec";
+    public static final String GENERATE_IN_SINGLE_PASS_PROPERTY = "generateInSinglePass";
     public static final String GENERATE_SETTERS_PROPERTY = "generateSetters";
     public static final String GENERATE_TO_STRING_PROPERTY = "generateToString";
+    public static final String GET_AND_UPDATE_PREFIX = "getAndUpdate";
     public static final String GET_CLASS_METHOD_NAME = "getClass";
     public static final String GET_PREFIX = "get";
     public static final String HASH = "hash";
     public static final String HASH_CODE_METHOD_NAME = "hashCode";
+    public static final String HOT_FIELDS_CLASS_SUFFIX = "HotFields";
+    public static final String HOT_FIELDS_PROPERTY = "hotFields";
+    public static final String IMMUTABLE_PROPERTY = "immutable";
+    public static final String IMPORTS_TEMPLATE_PARAMETER = "imports";
     public static final String INT = "int";
+    public static final String INTERFACES_TEMPLATE_PARAMETER = "interfaces";
+    public static final String IO_EXCEPTION_TYPE = "java.io.IOException";
     public static final String IS_PREFIX = "is";
+    public static final String JAVA_BEAN_TEMPLATE_PATH = "Templates/Classes/JavaBean.java";
+    public static final String JSON_EXTENSION = "json";
     public static final String LONG = "long";
+    public static final String LONG_ADDER_TYPE = "java.util.concurrent.atomic.LongAdder";
+    public static final String MALFORMED_FIELD_SOURCE = "Malformed field source: ";
+    public static final String MALFORMED_SPEC = "Malformed bean specification: ";
+    public static final String MEMBERS_TEMPLATE_PARAMETER = "members";
+    public static final String METHOD_HANDLES_TYPE = "java.lang.invoke.MethodHandles";
     public static final String NO_ASSOCIATED_JAVA_SOURCE =
             "File object is not associated with data type providing JavaSource!";
+    public static final String NO_TEST_SOURCES = "No test sources to write the benchmark of the bean in {0} into!";
     public static final String NULL = "null";
     public static final String OBJECT = "object";
     public static final String OBJECTS_TYPE = "java.util.Objects";
+    public static final String OBJECT_INPUT_TYPE = "java.io.ObjectInput";
+    public static final String OBJECT_OUTPUT_TYPE = "java.io.ObjectOutput";
     public static final String OBJECT_TYPE = "java.lang.Object";
+    public static final String OPTIONS = "Options";
+    public static final String ORDER_FIELDS_BY_SIZE_PROPERTY = "orderFieldsBySize";
     public static final String OTHER = "other";
     public static final String OVERRIDE_TYPE = "java.lang.Override";
+    public static final String PACK_FLAGS_PROPERTY = "packFlags";
+    public static final String PRESIZED_TO_STRING_PROPERTY = "presizedToString";
     public static final int RANDOM_NUMBER = -1;
+    public static final String READ_EXTERNAL_METHOD_NAME = "readExternal";
+    public static final String READ_FIELDS_METHOD_NAME = "readFields";
+    public static final String READ_FROM_METHOD_NAME = "readFrom";
+    public static final String READ_JSON_METHOD_NAME = "readJson";
+    public static final String READER_TYPE = "java.io.Reader";
+    public static final String SERIAL_VERSION_UID = "serialVersionUID";
     public static final String SET_PREFIX = "set";
     public static final String SHORT = "short";
+    public static final String SIMPLE_COMPARABLE_TYPE_NAME = "Comparable";
     public static final String SIMPLE_OBJECTS_TYPE_NAME = "Objects";
     public static final String SIMPLE_OBJECT_TYPE_NAME = "Object";
+    public static final String SIMPLE_OVERRIDE_TYPE_NAME = "Override";
+    public static final String SIMPLE_STRING_BUILDER_TYPE_NAME = "StringBuilder";
+    public static final String SIMPLE_STRING_TYPE_NAME = "String";
     public static final String SIMPLE_WRAPPER_BOOLEAN_TYPE = "Boolean";
     public static final String SIMPLE_WRAPPER_BYTE_TYPE = "Byte";
     public static final String SIMPLE_WRAPPER_CHARACTER_TYPE = "Character";
@@ -57,12 +147,27 @@ public class ConstantDataManager {
     public static final String SIMPLE_WRAPPER_INTEGER_TYPE = "Integer";
     public static final String SIMPLE_WRAPPER_LONG_TYPE = "Long";
     public static final String SIMPLE_WRAPPER_SHORT_TYPE = "Short";
+    public static final String SPEC_FIELDS_KEY = "fields";
+    public static final String SPEC_NAME_KEY = "name";
+    public static final String SPEC_TYPE_KEY = "type";
+    public static final String SQL_EXTENSION = "sql";
     public static final String STRING_TYPE = "java.lang.String";
     public static final String SUPER = "super";
+    public static final String SUPERCLASS_TEMPLATE_PARAMETER = "superclass";
+    public static final String TEMPLATE_NOT_FOUND = "Java Bean template is not registered!";
     public static final String THIS = "this";
     public static final String TO_STRING_METHOD_NAME = "toString";
+    public static final String TRACK_DIRTY_FIELDS_PROPERTY = "trackDirtyFields";
     public static final String TRUE = "true";
+    public static final String UNSUPPORTED_FIELD_SOURCE_FORMAT = "Unsupported field source format: ";
+    public static final String UNSUPPORTED_SPEC_FORMAT = "Unsupported bean specification format: ";
+    public static final String VAR_HANDLE_TYPE = "java.lang.invoke.VarHandle";
     public static final String VOID_TYPE = "void";
+    public static final String WIZARD_PROPERTY_PREFIX = "WizardPanel_";
+    public static final String WRITE_EXTERNAL_METHOD_NAME = "writeExternal";
+    public static final String WRITE_JSON_METHOD_NAME = "writeJson";
+    public static final String WRITE_JSON_STRING_METHOD_NAME = "writeJsonString";
+    public static final String WRITE_TO_METHOD_NAME = "writeTo";
 
     private ConstantDataManager() {
     }
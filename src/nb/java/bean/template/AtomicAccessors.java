@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.queries.SourceLevelQuery;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Renders the members updating the fields of a Java Bean atomically, shared by {@link JavaBeanGenerator} and
+ * {@link JavaBeanSourceEmitter}.
+ * <p>
+ * The concurrency mode of a mutable bean is {@value ConstantDataManager#CONCURRENCY_MODE_PLAIN},
+ * {@value ConstantDataManager#CONCURRENCY_MODE_VOLATILE} or {@value ConstantDataManager#CONCURRENCY_MODE_ATOMIC}; an
+ * immutable bean is always plain. In the last two modes the fields are volatile. In the atomic mode every field is
+ * also accessed through a {@code VarHandle} constant, which adds a {@code compareAndSet} method per field and a
+ * {@code getAndUpdate} method per field of a type having a unary operator in {@code java.util.function}, without an
+ * {@code Atomic} wrapper object per field. References are compared by identity. The packed flags are set by atomic
+ * bitwise operations on their words. When the changed fields are tracked, a successful update changing the value of a
+ * tracked field sets its bit of the dirty mask, just as its setter does.
+ * <p>
+ * Below Java 9, which has no {@code VarHandle}, the constants are field updaters, whose bitwise operations take a
+ * lambda. Field updaters exist for {@code int}, {@code long} and reference fields only, so there a bean having fields
+ * of other types is generated in the volatile mode instead, see {@link #adaptToSourceLevel}. A field updater only
+ * finds the fields declared by its class itself, so the updaters of the hot fields are declared by their
+ * superclasses, see {@link #createInheritedHandle}, and inherited by the bean.
+ *
+ * @author Arthur Sadykov
+ */
+public class AtomicAccessors {
+
+    private static final Logger LOGGER = Logger.getLogger(AtomicAccessors.class.getName());
+    private static final String GET_AND_BITWISE_OR_METHOD_NAME = "getAndBitwiseOr";
+    private static final String GET_AND_BITWISE_AND_METHOD_NAME = "getAndBitwiseAnd";
+    private static final String GET_AND_ACCUMULATE_METHOD_NAME = "getAndAccumulate";
+    private static final String NEW_UPDATER_METHOD_NAME = "newUpdater";
+    private static final String FIND_VAR_HANDLE_METHOD_NAME = "findVarHandle";
+    static final String HANDLE_SUFFIX = "_HANDLE";
+    private static final String EXPECTED = "expected";
+    private static final String VALUE = "value";
+    private static final String FUNCTION = "function";
+    private static final String INDENT = "    ";
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, String> declaredFields;
+    private final List<String> hotFieldNames;
+    private final PackedFlags packedFlags;
+    private final boolean packFlags;
+    private final boolean fieldUpdaters;
+    private final DirtyFields dirtyFields;
+
+    /**
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    AtomicAccessors(String className, Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        this.className = className;
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        this.packFlags = GenerationOptions.isEnabled(properties, ConstantDataManager.PACK_FLAGS_PROPERTY);
+        this.fieldUpdaters = usesFieldUpdaters(properties);
+        this.declaredFields = getDeclaredFields(this.nameToTypeMap, packFlags);
+        this.hotFieldNames =
+                new ArrayList<>(JavaBeanHotFieldsEmitter.getHotFields(nameToTypeMap, properties).keySet());
+        this.dirtyFields = DirtyFields.isEnabled(properties) ? new DirtyFields(nameToTypeMap, properties) : null;
+    }
+
+    /**
+     * Adapts the atomic mode of a bean to the source level of the folder it is generated into. Below Java 9 the
+     * fields are accessed through field updaters, unless some of them have none, in which case the bean is generated
+     * in the volatile mode and a warning is logged.
+     *
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @param beanFolder the package folder the bean is generated into
+     * @return a copy of the options, adapted to the source level
+     */
+    public static Map<String, Object> adaptToSourceLevel(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties, FileObject beanFolder) {
+        Map<String, Object> adaptedProperties = new HashMap<>(properties);
+        if (!isAtomic(properties) || !isBelowJava9(SourceLevelQuery.getSourceLevel(beanFolder))) {
+            return adaptedProperties;
+        }
+        List<String> unsupportedFields = new ArrayList<>();
+        Map<String, String> declaredFields = getDeclaredFields(CounterFields.removeCounters(nameToTypeMap, properties),
+                GenerationOptions.isEnabled(properties, ConstantDataManager.PACK_FLAGS_PROPERTY));
+        declaredFields.forEach((fieldName, fieldType) -> {
+            if (getUpdaterType(fieldType) == null) {
+                unsupportedFields.add(fieldName);
+            }
+        });
+        if (unsupportedFields.isEmpty()) {
+            adaptedProperties.put(ConstantDataManager.ATOMIC_FIELD_UPDATERS_PROPERTY, true);
+        } else {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FIELDS_NOT_ATOMIC,
+                    new Object[]{className, String.join(", ", unsupportedFields)});
+            adaptedProperties.put(ConstantDataManager.CONCURRENCY_MODE_PROPERTY,
+                    ConstantDataManager.CONCURRENCY_MODE_VOLATILE);
+        }
+        return adaptedProperties;
+    }
+
+    private static boolean isBelowJava9(String sourceLevel) {
+        // the levels before 9 are numbered 1.x; an unknown level is taken as a recent one
+        return sourceLevel != null && sourceLevel.startsWith("1.");
+    }
+
+    private static Map<String, String> getDeclaredFields(Map<String, String> nameToTypeMap, boolean packFlags) {
+        return packFlags ? new PackedFlags(nameToTypeMap).replaceFlags(nameToTypeMap) : nameToTypeMap;
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the concurrency mode of the bean, {@value ConstantDataManager#CONCURRENCY_MODE_PLAIN} if none is chosen
+     * or the bean is immutable
+     */
+    static String getMode(Map<String, ?> properties) {
+        Object immutable = properties.get(ConstantDataManager.IMMUTABLE_PROPERTY);
+        Object mode = properties.get(ConstantDataManager.CONCURRENCY_MODE_PROPERTY);
+        if (mode == null || (immutable != null && (boolean) immutable)) {
+            return ConstantDataManager.CONCURRENCY_MODE_PLAIN;
+        }
+        return (String) mode;
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the fields of the bean are volatile
+     */
+    static boolean declaresVolatileFields(Map<String, ?> properties) {
+        String mode = getMode(properties);
+        return mode.equals(ConstantDataManager.CONCURRENCY_MODE_VOLATILE)
+                || mode.equals(ConstantDataManager.CONCURRENCY_MODE_ATOMIC);
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the fields of the bean are accessed through {@code VarHandle} constants or field
+     * updaters
+     */
+    static boolean isAtomic(Map<String, ?> properties) {
+        return getMode(properties).equals(ConstantDataManager.CONCURRENCY_MODE_ATOMIC);
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the fields of the bean are accessed through field updaters
+     */
+    static boolean usesFieldUpdaters(Map<String, ?> properties) {
+        return isAtomic(properties)
+                && GenerationOptions.isEnabled(properties, ConstantDataManager.ATOMIC_FIELD_UPDATERS_PROPERTY);
+    }
+
+    /**
+     * @param fieldName the name of a declared field
+     * @return the name of the {@code VarHandle} or field updater constant of the field
+     */
+    static String getHandleName(String fieldName) {
+        return JavaBeanGenerator.toConstantName(fieldName) + HANDLE_SUFFIX;
+    }
+
+    /**
+     * Logs a warning if flags of a bean with volatile fields share a word, since setting one of them reads and
+     * writes the whole word.
+     */
+    void reportNonAtomicFlags() {
+        if (packFlags && !packedFlags.isEmpty()) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FLAGS_NOT_ATOMIC, className);
+        }
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the types used by the atomic members, the ones of the dirty mask included, sorted
+     */
+    static List<String> getImportedTypes(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        boolean packFlags = GenerationOptions.isEnabled(properties, ConstantDataManager.PACK_FLAGS_PROPERTY);
+        Set<String> importedTypes = new TreeSet<>();
+        if (usesFieldUpdaters(properties)) {
+            Map<String, String> hotFields = JavaBeanHotFieldsEmitter.getHotFields(nameToTypeMap, properties);
+            getDeclaredFields(nameToTypeMap, packFlags).forEach((fieldName, fieldType) -> {
+                if (!hotFields.containsKey(fieldName)) {
+                    importedTypes.add(getUpdaterType(fieldType));
+                }
+            });
+            if (DirtyFields.isEnabled(properties)) {
+                importedTypes.add(ConstantDataManager.ATOMIC_LONG_FIELD_UPDATER_TYPE);
+            }
+        } else {
+            importedTypes.addAll(Arrays.asList(ConstantDataManager.METHOD_HANDLES_TYPE,
+                    ConstantDataManager.VAR_HANDLE_TYPE));
+        }
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            String operatorType = getOperatorType(fieldType);
+            if (operatorType != null && !(packFlags && PackedFlags.isFlag(fieldType))) {
+                importedTypes.add("java.util.function." + operatorType);
+            }
+        });
+        return new ArrayList<>(importedTypes);
+    }
+
+    /**
+     * @param declaringClassName the simple name of the class declaring the field
+     * @param fieldName the name of a declared {@code int}, {@code long} or reference field
+     * @param fieldType the type of the field
+     * @param fieldUpdaters whether the constant is a field updater rather than a {@code VarHandle}
+     * @return the constant accessing the field atomically
+     */
+    static GeneratedMember createHandle(String declaringClassName, String fieldName, String fieldType,
+            boolean fieldUpdaters) {
+        Set<Modifier> constantModifiers = EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+        if (!fieldUpdaters) {
+            return GeneratedMember.field(constantModifiers, "VarHandle", getHandleName(fieldName),
+                    FIND_VAR_HANDLE_METHOD_NAME + "(\"" + fieldName + "\", " + erase(fieldType) + ".class)");
+        }
+        return createFieldUpdater(constantModifiers, declaringClassName, fieldName, fieldType);
+    }
+
+    /**
+     * @param declaringClassName the simple name of the superclass declaring the hot field
+     * @param fieldName the name of a hot {@code int}, {@code long} or reference field
+     * @param fieldType the type of the field
+     * @return the field updater constant of the field, inherited by the bean
+     */
+    static GeneratedMember createInheritedHandle(String declaringClassName, String fieldName, String fieldType) {
+        return createFieldUpdater(EnumSet.of(Modifier.STATIC, Modifier.FINAL), declaringClassName, fieldName,
+                fieldType);
+    }
+
+    private static GeneratedMember createFieldUpdater(Set<Modifier> constantModifiers, String declaringClassName,
+            String fieldName, String fieldType) {
+        String updaterType = getUpdaterType(fieldType);
+        String simpleUpdaterType = BinaryCodec.getSimpleName(updaterType);
+        // the field updaters of parameterized types are raw, as class literals are
+        String valueType = updaterType.equals(ConstantDataManager.ATOMIC_REFERENCE_FIELD_UPDATER_TYPE)
+                ? erase(fieldType)
+                : null;
+        return GeneratedMember.field(constantModifiers,
+                simpleUpdaterType + "<" + declaringClassName + (valueType == null ? "" : ", " + valueType) + ">",
+                getHandleName(fieldName),
+                simpleUpdaterType + "." + NEW_UPDATER_METHOD_NAME + "(" + declaringClassName + ".class, "
+                + (valueType == null ? "" : valueType + ".class, ") + "\"" + fieldName + "\")");
+    }
+
+    /**
+     * @param fieldName the name of a declared {@code int} or {@code long} field
+     * @param bits the bits to set
+     * @param parameterName the name of the parameter of the method the statement belongs to
+     * @param fieldUpdaters whether the field is accessed through a field updater rather than a {@code VarHandle}
+     * @return the statement setting the bits of the field atomically
+     */
+    static String createSetBitsStatement(String fieldName, String bits, String parameterName,
+            boolean fieldUpdaters) {
+        return createBitwiseStatement(fieldName, bits, "|", GET_AND_BITWISE_OR_METHOD_NAME, parameterName,
+                fieldUpdaters);
+    }
+
+    /**
+     * @param fieldName the name of a declared {@code int} or {@code long} field
+     * @param bits the bits to clear
+     * @param parameterName the name of the parameter of the method the statement belongs to
+     * @param fieldUpdaters whether the field is accessed through a field updater rather than a {@code VarHandle}
+     * @return the statement clearing the bits of the field atomically
+     */
+    static String createClearBitsStatement(String fieldName, String bits, String parameterName,
+            boolean fieldUpdaters) {
+        return createBitwiseStatement(fieldName, "~(" + bits + ")", "&", GET_AND_BITWISE_AND_METHOD_NAME,
+                parameterName, fieldUpdaters);
+    }
+
+    private static String createBitwiseStatement(String fieldName, String operand, String operator,
+            String handleMethodName, String parameterName, boolean fieldUpdaters) {
+        String handle = getHandleName(fieldName);
+        if (!fieldUpdaters) {
+            return handle + "." + handleMethodName + "(this, " + operand + ");";
+        }
+        // the parameters of the lambda must not shadow the parameter of the method
+        String word = parameterName.equals("word") ? "current" : "word";
+        String mask = parameterName.equals("mask") ? "update" : "mask";
+        return handle + "." + GET_AND_ACCUMULATE_METHOD_NAME + "(this, " + operand + ", (" + word + ", " + mask
+                + ") -> " + word + " " + operator + " " + mask + ");";
+    }
+
+    /**
+     * @return the {@code VarHandle} constants and the helper method looking them up, or the field updater constants,
+     * followed by the {@code compareAndSet} and {@code getAndUpdate} methods, in this order
+     */
+    List<GeneratedMember> createMembers() {
+        List<GeneratedMember> members = new ArrayList<>();
+        declaredFields.forEach((fieldName, fieldType) -> {
+            // the field updaters of the hot fields are inherited
+            if (!fieldUpdaters || !hotFieldNames.contains(fieldName)) {
+                members.add(createHandle(className, fieldName, fieldType, fieldUpdaters));
+            }
+        });
+        if (!fieldUpdaters) {
+            members.add(GeneratedMember.method(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC), "VarHandle",
+                    FIND_VAR_HANDLE_METHOD_NAME, Arrays.asList("String", "name", "Class<?>", "type"),
+                    Collections.<String>emptyList(),
+                    Arrays.asList(
+                            "try {",
+                            INDENT + "return MethodHandles.lookup().findVarHandle(" + className
+                            + ".class, name, type);",
+                            "} catch (ReflectiveOperationException exception) {",
+                            INDENT + "throw new ExceptionInInitializerError(exception);",
+                            "}")));
+        }
+        Set<Modifier> publicAccess = EnumSet.of(Modifier.PUBLIC);
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (isPackedFlag(fieldType)) {
+                return;
+            }
+            String capitalizedFieldName = JavaBeanGenerator.capitalize(fieldName);
+            boolean tracked = dirtyFields != null && dirtyFields.isTracked(fieldName);
+            String compareAndSet = getHandleName(fieldName) + ".compareAndSet(this, " + EXPECTED + ", " + VALUE + ")";
+            List<String> compareAndSetStatements = new ArrayList<>();
+            if (tracked) {
+                compareAndSetStatements.add("if (!" + compareAndSet + ") {");
+                compareAndSetStatements.add(INDENT + "return false;");
+                compareAndSetStatements.add("}");
+                addMarkStatements(compareAndSetStatements, fieldName, fieldType, EXPECTED, VALUE);
+                compareAndSetStatements.add("return true;");
+            } else {
+                compareAndSetStatements.add("return " + compareAndSet + ";");
+            }
+            members.add(GeneratedMember.method(publicAccess, ConstantDataManager.BOOLEAN,
+                    ConstantDataManager.COMPARE_AND_SET_PREFIX + capitalizedFieldName,
+                    Arrays.asList(fieldType, EXPECTED, fieldType, VALUE),
+                    Collections.<String>emptyList(),
+                    compareAndSetStatements));
+            String operatorType = getOperatorType(fieldType);
+            if (operatorType != null) {
+                List<String> getAndUpdateStatements = new ArrayList<>(Arrays.asList(
+                        fieldType + " current;",
+                        fieldType + " next;",
+                        "do {",
+                        INDENT + "current = this." + fieldName + ";",
+                        INDENT + "next = " + FUNCTION + "." + getApplyMethod(fieldType) + "(current);",
+                        "} while (!" + getHandleName(fieldName) + ".compareAndSet(this, current, next));"));
+                if (tracked) {
+                    addMarkStatements(getAndUpdateStatements, fieldName, fieldType, "current", "next");
+                }
+                getAndUpdateStatements.add("return current;");
+                members.add(GeneratedMember.method(publicAccess, fieldType,
+                        ConstantDataManager.GET_AND_UPDATE_PREFIX + capitalizedFieldName,
+                        Arrays.asList(operatorType + (FieldDefinition.isPrimitive(fieldType)
+                                ? ""
+                                : "<" + fieldType + ">"), FUNCTION),
+                        Collections.<String>emptyList(),
+                        getAndUpdateStatements));
+            }
+        });
+        return members;
+    }
+
+    /**
+     * Adds the statements setting the dirty bit of a field updated from the old value to the new one, if they differ.
+     */
+    private void addMarkStatements(List<String> statements, String fieldName, String fieldType, String oldValue,
+            String newValue) {
+        statements.add("if (" + DirtyFields.createDifferenceCondition(fieldType, oldValue, newValue) + ") {");
+        statements.add(INDENT + dirtyFields.createMarkStatement(fieldName, newValue));
+        statements.add("}");
+    }
+
+    private boolean isPackedFlag(String fieldType) {
+        return packFlags && PackedFlags.isFlag(fieldType);
+    }
+
+    /**
+     * @param fieldType the type of a declared field
+     * @return the fully qualified name of the field updater of the type, or {@code null} if there is none
+     */
+    static String getUpdaterType(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.INT:
+                return ConstantDataManager.ATOMIC_INTEGER_FIELD_UPDATER_TYPE;
+            case ConstantDataManager.LONG:
+                return ConstantDataManager.ATOMIC_LONG_FIELD_UPDATER_TYPE;
+            default:
+                return FieldDefinition.isPrimitive(fieldType)
+                        ? null
+                        : ConstantDataManager.ATOMIC_REFERENCE_FIELD_UPDATER_TYPE;
+        }
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return the simple name of the unary operator over the type, or {@code null} if there is none
+     */
+    private static String getOperatorType(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.INT:
+                return "IntUnaryOperator";
+            case ConstantDataManager.LONG:
+                return "LongUnaryOperator";
+            case ConstantDataManager.DOUBLE:
+                return "DoubleUnaryOperator";
+            default:
+                return FieldDefinition.isPrimitive(fieldType) ? null : "UnaryOperator";
+        }
+    }
+
+    private static String getApplyMethod(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.INT:
+                return "applyAsInt";
+            case ConstantDataManager.LONG:
+                return "applyAsLong";
+            case ConstantDataManager.DOUBLE:
+                return "applyAsDouble";
+            default:
+                return "apply";
+        }
+    }
+
+    /**
+     * @param type the type of a field, possibly parameterized
+     * @return the type without its type arguments, usable in a class literal
+     */
+    private static String erase(String type) {
+        StringBuilder erasure = new StringBuilder();
+        int depth = 0;
+        for (char c : type.toCharArray()) {
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0 && !Character.isWhitespace(c)) {
+                erasure.append(c);
+            }
+        }
+        return erasure.toString();
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the fields, the constructors, the getters, the setters and the {@code equals}, {@code hashCode} and
+ * {@code toString} methods of a Java Bean, shared by {@link JavaBeanGenerator} and {@link JavaBeanSourceEmitter}.
+ * <p>
+ * The members take the packed flags, the counters, the dirty mask and the concurrency mode of the bean into account.
+ * Members of the other options are rendered by the classes implementing them.
+ *
+ * @author Arthur Sadykov
+ */
+class BeanMembers {
+
+    private static final String INDENT = "    ";
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+    private final PackedFlags packedFlags;
+    private final CounterFields counterFields;
+
+    /**
+     * @param className the simple name of the bean class
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    BeanMembers(String className, Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        this.className = className;
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.properties = properties;
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        this.counterFields = new CounterFields(nameToTypeMap, properties);
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    private boolean isPackedFlag(String fieldType) {
+        return isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY) && PackedFlags.isFlag(fieldType);
+    }
+
+    private boolean isPackedWord(String fieldName) {
+        return isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY) && packedFlags.isWord(fieldName);
+    }
+
+    private Map<String, String> getDeclaredFields() {
+        return isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY) ? packedFlags.replaceFlags(nameToTypeMap)
+                : nameToTypeMap;
+    }
+
+    private boolean cachesHashCode() {
+        return isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY)
+                && isEnabled(ConstantDataManager.GENERATE_HASH_CODE_PROPERTY);
+    }
+
+    private String flagTest(String flagName) {
+        return "(this." + packedFlags.getWordName(flagName) + " & " + packedFlags.getMask(flagName) + ") != 0";
+    }
+
+    private static String getterName(String fieldName, String fieldType) {
+        String prefix = fieldType.equals(ConstantDataManager.BOOLEAN_TYPE)
+                || fieldType.equals(ConstantDataManager.BOOLEAN)
+                || fieldType.equals(ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE)
+                ? ConstantDataManager.IS_PREFIX
+                : ConstantDataManager.GET_PREFIX;
+        return prefix.concat(JavaBeanGenerator.capitalize(fieldName));
+    }
+
+    /**
+     * @return the fields of the bean in declaration order, or by size if so selected, followed by the cached hash
+     * code of an immutable bean; the hot fields are left to the superclasses isolating them
+     */
+    List<GeneratedMember> createFields() {
+        Set<Modifier> modifiers = isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY)
+                ? EnumSet.of(Modifier.PRIVATE, Modifier.FINAL)
+                : AtomicAccessors.declaresVolatileFields(properties) ? EnumSet.of(Modifier.PRIVATE, Modifier.VOLATILE)
+                : EnumSet.of(Modifier.PRIVATE);
+        Map<String, String> fields = isEnabled(ConstantDataManager.ORDER_FIELDS_BY_SIZE_PROPERTY)
+                ? FieldLayout.orderBySize(getDeclaredFields())
+                : getDeclaredFields();
+        Set<String> hotFieldNames = JavaBeanHotFieldsEmitter.getHotFields(nameToTypeMap, properties).keySet();
+        List<GeneratedMember> members = new ArrayList<>();
+        fields.forEach((fieldName, fieldType) -> {
+            if (counterFields.isCounter(fieldName)) {
+                members.add(CounterFields.createField(fieldName));
+            } else if (!hotFieldNames.contains(fieldName)) {
+                members.add(GeneratedMember.field(modifiers, fieldType, fieldName, null));
+            }
+        });
+        if (cachesHashCode()) {
+            // the hash code is computed lazily, zero meaning not computed yet
+            members.add(GeneratedMember.field(EnumSet.of(Modifier.PRIVATE), ConstantDataManager.INT,
+                    ConstantDataManager.CACHED_HASH, null));
+        }
+        return members;
+    }
+
+    /**
+     * @return the constructor of an immutable bean, assigning all the fields
+     */
+    GeneratedMember createConstructor() {
+        List<String> parameters = new ArrayList<>();
+        List<String> statements = new ArrayList<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            parameters.add(fieldType);
+            parameters.add(fieldName);
+            if (!isPackedFlag(fieldType)) {
+                statements.add("this." + fieldName + " = " + fieldName + ";");
+            }
+        });
+        if (isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY)) {
+            for (String word : packedFlags.getWordNames()) {
+                StringBuilder value = new StringBuilder();
+                for (String flagName : packedFlags.getFlagNames(word)) {
+                    if (value.length() > 0) {
+                        value.append(" | ");
+                    }
+                    value.append('(').append(flagName).append(" ? ").append(packedFlags.getMask(flagName))
+                            .append(" : 0)");
+                }
+                statements.add("this." + word + " = " + value + ";");
+            }
+        }
+        return GeneratedMember.method(EnumSet.of(Modifier.PUBLIC), null, className, parameters,
+                Collections.<String>emptyList(), statements);
+    }
+
+    GeneratedMember createDefaultConstructor() {
+        return GeneratedMember.method(EnumSet.of(Modifier.PUBLIC), null, className, Collections.<String>emptyList(),
+                Collections.<String>emptyList(), Collections.singletonList(ConstantDataManager.SUPER + "();"));
+    }
+
+    /**
+     * @return the getters of the fields which are not counters, in declaration order
+     */
+    List<GeneratedMember> createGetters() {
+        List<GeneratedMember> getters = new ArrayList<>();
+        counterFields.removeCounters(nameToTypeMap).forEach((fieldName, fieldType) -> {
+            getters.add(GeneratedMember.method(EnumSet.of(Modifier.PUBLIC), fieldType,
+                    getterName(fieldName, fieldType), Collections.<String>emptyList(),
+                    Collections.<String>emptyList(), Collections.singletonList(
+                            "return " + (isPackedFlag(fieldType) ? flagTest(fieldName) : fieldName) + ";")));
+        });
+        return getters;
+    }
+
+    /**
+     * @return the setters of the fields which are not counters, in declaration order, marking the tracked fields
+     * dirty when they change
+     */
+    List<GeneratedMember> createSetters() {
+        DirtyFields dirtyFields = DirtyFields.isEnabled(properties) ? new DirtyFields(nameToTypeMap, properties)
+                : null;
+        List<GeneratedMember> setters = new ArrayList<>();
+        counterFields.removeCounters(nameToTypeMap).forEach((fieldName, fieldType) -> {
+            List<String> statements = new ArrayList<>();
+            if (isPackedFlag(fieldType)) {
+                String mask = packedFlags.getMask(fieldName);
+                statements.add("if (" + fieldName + ") {");
+                if (AtomicAccessors.isAtomic(properties)) {
+                    String word = packedFlags.getWordName(fieldName);
+                    boolean fieldUpdaters = AtomicAccessors.usesFieldUpdaters(properties);
+                    statements.add(INDENT
+                            + AtomicAccessors.createSetBitsStatement(word, mask, fieldName, fieldUpdaters));
+                    statements.add("} else {");
+                    statements.add(INDENT
+                            + AtomicAccessors.createClearBitsStatement(word, mask, fieldName, fieldUpdaters));
+                } else {
+                    String word = "this." + packedFlags.getWordName(fieldName);
+                    statements.add(INDENT + word + " |= " + mask + ";");
+                    statements.add("} else {");
+                    statements.add(INDENT + word + " &= ~(" + mask + ");");
+                }
+                statements.add("}");
+            } else {
+                statements.add("this." + fieldName + " = " + fieldName + ";");
+            }
+            if (dirtyFields != null && dirtyFields.isTracked(fieldName)) {
+                List<String> trackedStatements = new ArrayList<>();
+                trackedStatements.add("if (" + dirtyFields.createChangeCondition(fieldName, fieldType) + ") {");
+                statements.forEach(statement -> trackedStatements.add(INDENT + statement));
+                trackedStatements.add(INDENT + dirtyFields.createMarkStatement(fieldName));
+                trackedStatements.add("}");
+                statements = trackedStatements;
+            }
+            setters.add(GeneratedMember.method(EnumSet.of(Modifier.PUBLIC), ConstantDataManager.VOID_TYPE,
+                    ConstantDataManager.SET_PREFIX + JavaBeanGenerator.capitalize(fieldName),
+                    Arrays.asList(fieldType, fieldName), Collections.<String>emptyList(), statements));
+        });
+        return setters;
+    }
+
+    /**
+     * @return the {@code equals} method, comparing the fields in the order given by {@link EqualsFieldOrder}
+     */
+    GeneratedMember createEqualsMethod() {
+        List<String> statements = new ArrayList<>();
+        statements.add("if (this == object) {");
+        statements.add(INDENT + "return true;");
+        statements.add("}");
+        statements.add("if (object == null) {");
+        statements.add(INDENT + "return false;");
+        statements.add("}");
+        statements.add("if (getClass() != object.getClass()) {");
+        statements.add(INDENT + "return false;");
+        statements.add("}");
+        statements.add("final " + className + " other = (" + className + ") object;");
+        if (cachesHashCode()) {
+            String cachedHash = ConstantDataManager.CACHED_HASH;
+            statements.add("if (this." + cachedHash + " != 0 && other." + cachedHash + " != 0 && this."
+                    + cachedHash + " != other." + cachedHash + ") {");
+            statements.add(INDENT + "return false;");
+            statements.add("}");
+        }
+        if (nameToTypeMap.isEmpty()) {
+            statements.add("return true;");
+        }
+        Map<String, String> fields = getDeclaredFields();
+        Iterator<String> iterator = EqualsFieldOrder.order(fields, properties).iterator();
+        while (iterator.hasNext()) {
+            String fieldName = iterator.next();
+            String fieldType = fields.get(fieldName);
+            // packed words have no getters, all the flags are compared at once, counters by their sums
+            String thisValue = counterFields.isCounter(fieldName) ? CounterFields.getSum("this", fieldName)
+                    : "this." + fieldName;
+            String otherValue = counterFields.isCounter(fieldName) ? CounterFields.getSum("other", fieldName)
+                    : isPackedWord(fieldName) ? "other." + fieldName
+                    : "other." + getterName(fieldName, fieldType) + "()";
+            String equalCondition;
+            String notEqualCondition;
+            switch (fieldType) {
+                case ConstantDataManager.BOOLEAN:
+                case ConstantDataManager.CHAR:
+                case ConstantDataManager.BYTE:
+                case ConstantDataManager.SHORT:
+                case ConstantDataManager.INT:
+                case ConstantDataManager.LONG:
+                    equalCondition = thisValue + " == " + otherValue;
+                    notEqualCondition = thisValue + " != " + otherValue;
+                    break;
+                case ConstantDataManager.FLOAT:
+                    equalCondition = "Float.floatToIntBits(" + thisValue + ") == Float.floatToIntBits("
+                            + otherValue + ")";
+                    notEqualCondition = "Float.floatToIntBits(" + thisValue + ") != Float.floatToIntBits("
+                            + otherValue + ")";
+                    break;
+                case ConstantDataManager.DOUBLE:
+                    equalCondition = "Double.doubleToLongBits(" + thisValue + ") == Double.doubleToLongBits("
+                            + otherValue + ")";
+                    notEqualCondition = "Double.doubleToLongBits(" + thisValue + ") != Double.doubleToLongBits("
+                            + otherValue + ")";
+                    break;
+                default:
+                    equalCondition = "Objects.equals(" + thisValue + ", " + otherValue + ")";
+                    notEqualCondition = "!" + equalCondition;
+            }
+            if (iterator.hasNext()) {
+                statements.add("if (" + notEqualCondition + ") {");
+                statements.add(INDENT + "return false;");
+                statements.add("}");
+            } else {
+                statements.add("return " + equalCondition + ";");
+            }
+        }
+        return GeneratedMember.overridingMethod(EnumSet.of(Modifier.PUBLIC), ConstantDataManager.BOOLEAN,
+                ConstantDataManager.EQUALS_METHOD_NAME,
+                Arrays.asList(ConstantDataManager.SIMPLE_OBJECT_TYPE_NAME, ConstantDataManager.OBJECT),
+                Collections.<String>emptyList(), statements);
+    }
+
+    /**
+     * @return the {@code hashCode} method, caching the hash code of an immutable bean
+     */
+    GeneratedMember createHashCodeMethod() {
+        int startNumber = JavaBeanGenerator.generatePrimeNumber(2, 10);
+        int multiplyNumber = JavaBeanGenerator.generatePrimeNumber(10, 100);
+        List<String> statements = new ArrayList<>();
+        boolean cachesHashCode = cachesHashCode();
+        String hashIndent = cachesHashCode ? INDENT : "";
+        if (cachesHashCode) {
+            statements.add("int hash = this." + ConstantDataManager.CACHED_HASH + ";");
+            statements.add("if (hash == 0) {");
+            statements.add(INDENT + "hash = " + startNumber + ";");
+        } else {
+            statements.add("int hash = " + startNumber + ";");
+        }
+        getDeclaredFields().forEach((fieldName, fieldType) -> {
+            boolean counter = counterFields.isCounter(fieldName);
+            String field = counter ? CounterFields.getSum("this", fieldName) : "this." + fieldName;
+            String variableRead;
+            switch (fieldType) {
+                case ConstantDataManager.BYTE:
+                case ConstantDataManager.SHORT:
+                case ConstantDataManager.INT:
+                case ConstantDataManager.CHAR:
+                case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+                case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+                case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+                case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+                    variableRead = field;
+                    break;
+                case ConstantDataManager.LONG:
+                case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+                    // a counter is summed once, as its sum may change in between
+                    variableRead = counter ? "Long.hashCode(" + field + ")"
+                            : "(int) (" + field + " ^ (" + field + " >>> 32))";
+                    break;
+                case ConstantDataManager.FLOAT:
+                case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+                    variableRead = "Float.floatToIntBits(" + field + ")";
+                    break;
+                case ConstantDataManager.DOUBLE:
+                case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                    variableRead = "(int) (Double.doubleToLongBits(" + field + ") ^ (Double.doubleToLongBits("
+                            + field + ") >>> 32))";
+                    break;
+                case ConstantDataManager.BOOLEAN:
+                case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+                    variableRead = "(" + field + " ? 1 : 0)";
+                    break;
+                default:
+                    variableRead = "(" + field + " != null ? " + field + ".hashCode() : 0)";
+            }
+            statements.add(hashIndent + "hash = " + multiplyNumber + " * hash + " + variableRead + ";");
+        });
+        if (cachesHashCode) {
+            statements.add(INDENT + "this." + ConstantDataManager.CACHED_HASH + " = hash;");
+            statements.add("}");
+        }
+        statements.add("return hash;");
+        return GeneratedMember.overridingMethod(EnumSet.of(Modifier.PUBLIC), ConstantDataManager.INT,
+                ConstantDataManager.HASH_CODE_METHOD_NAME, Collections.<String>emptyList(),
+                Collections.<String>emptyList(), statements);
+    }
+
+    /**
+     * @return the {@code toString} method, followed by the {@code appendTo} method it delegates to if a presized
+     * builder is selected
+     */
+    List<GeneratedMember> createToStringMethods() {
+        if (isEnabled(ConstantDataManager.PRESIZED_TO_STRING_PROPERTY)) {
+            return createAppendToMethods();
+        }
+        StringBuilder expression = new StringBuilder("\"").append(className).append("{\"");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : nameToTypeMap.entrySet()) {
+            String fieldName = entry.getKey();
+            expression.append(" + \"").append(first ? "" : ", ").append(fieldName).append("=\" + ")
+                    .append(isPackedFlag(entry.getValue()) ? "(" + flagTest(fieldName) + ")"
+                            : counterFields.isCounter(fieldName) ? CounterFields.getSum("this", fieldName)
+                            : fieldName);
+            first = false;
+        }
+        expression.append(" + '}'");
+        return Collections.singletonList(createToStringMethod("return " + expression + ";"));
+    }
+
+    private List<GeneratedMember> createAppendToMethods() {
+        List<String> statements = new ArrayList<>();
+        statements.add("return " + ConstantDataManager.BUILDER + "." + ConstantDataManager.APPEND_METHOD_NAME
+                + "(\"" + className + "{\")");
+        String continuation = INDENT + INDENT;
+        boolean first = true;
+        for (Map.Entry<String, String> entry : nameToTypeMap.entrySet()) {
+            String fieldName = entry.getKey();
+            statements.add(continuation + ".append(\"" + (first ? "" : ", ") + fieldName + "=\").append("
+                    + (isPackedFlag(entry.getValue()) ? flagTest(fieldName)
+                            : counterFields.isCounter(fieldName) ? CounterFields.getSum("this", fieldName)
+                            : "this." + fieldName) + ")");
+            first = false;
+        }
+        statements.add(continuation + ".append('}');");
+        String builderType = ConstantDataManager.SIMPLE_STRING_BUILDER_TYPE_NAME;
+        return Arrays.asList(
+                createToStringMethod("return " + ConstantDataManager.APPEND_TO_METHOD_NAME + "(new " + builderType
+                        + "(" + ToStringCapacity.estimate(className, nameToTypeMap) + ")).toString();"),
+                GeneratedMember.method(EnumSet.of(Modifier.PUBLIC), builderType,
+                        ConstantDataManager.APPEND_TO_METHOD_NAME,
+                        Arrays.asList(builderType, ConstantDataManager.BUILDER), Collections.<String>emptyList(),
+                        statements));
+    }
+
+    private static GeneratedMember createToStringMethod(String returnStatement) {
+        return GeneratedMember.overridingMethod(EnumSet.of(Modifier.PUBLIC),
+                ConstantDataManager.SIMPLE_STRING_TYPE_NAME, ConstantDataManager.TO_STRING_METHOD_NAME,
+                Collections.<String>emptyList(), Collections.<String>emptyList(),
+                Collections.singletonList(returnStatement));
+    }
+}
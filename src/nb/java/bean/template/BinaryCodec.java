@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the statements of the binary codec methods of a Java Bean, shared by {@link JavaBeanGenerator} and
+ * {@link JavaBeanSourceEmitter}.
+ * <p>
+ * Primitive fields are written with the matching {@code DataOutput} method. Wrappers and strings are preceded by a
+ * {@code boolean} telling whether the value is present, strings are written as length-prefixed modified UTF-8.
+ * Packed flags are written as their words. An {@code Externalizable} bean declares a {@code serialVersionUID} of its
+ * own, so that its streams stay readable by the bean recompiled. Fields of other types cannot be encoded without
+ * reflection, so the wizard and the batch generator refuse the codec to a bean having any, see
+ * {@link #findUnsupportedFields}. Should the codec be generated anyway, such fields are left out with a warning.
+ *
+ * @author Arthur Sadykov
+ */
+class BinaryCodec {
+
+    private static final Logger LOGGER = Logger.getLogger(BinaryCodec.class.getName());
+    static final String OUTPUT = "out";
+    static final String INPUT = "in";
+    private static final String INDENT = "    ";
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, String> fields;
+    private final PackedFlags packedFlags;
+    private final boolean packFlags;
+
+    /**
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param packFlags whether the {@code boolean} fields are packed into words
+     */
+    BinaryCodec(String className, Map<String, String> nameToTypeMap, boolean packFlags) {
+        this.className = className;
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        this.packFlags = packFlags;
+        this.fields = packFlags ? packedFlags.replaceFlags(nameToTypeMap) : this.nameToTypeMap;
+    }
+
+    /**
+     * @param externalizable whether the bean implements {@code Externalizable}
+     * @return the types used by the codec methods, sorted
+     */
+    static List<String> getImportedTypes(boolean externalizable) {
+        return externalizable
+                ? Arrays.asList(ConstantDataManager.DATA_INPUT_TYPE, ConstantDataManager.DATA_OUTPUT_TYPE,
+                        ConstantDataManager.EXTERNALIZABLE_TYPE, ConstantDataManager.IO_EXCEPTION_TYPE,
+                        ConstantDataManager.OBJECT_INPUT_TYPE, ConstantDataManager.OBJECT_OUTPUT_TYPE)
+                : Arrays.asList(ConstantDataManager.DATA_INPUT_TYPE, ConstantDataManager.DATA_OUTPUT_TYPE,
+                        ConstantDataManager.IO_EXCEPTION_TYPE);
+    }
+
+    /**
+     * @return the {@code serialVersionUID} constant of an {@code Externalizable} bean
+     */
+    static GeneratedMember createSerialVersionUid() {
+        return GeneratedMember.field(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL),
+                ConstantDataManager.LONG, ConstantDataManager.SERIAL_VERSION_UID, "1L");
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @return the names of the fields the codec cannot encode, in declaration order
+     */
+    static List<String> findUnsupportedFields(Map<String, String> nameToTypeMap) {
+        List<String> unsupportedFields = new ArrayList<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (!isEncodable(fieldType)) {
+                unsupportedFields.add(fieldName);
+            }
+        });
+        return unsupportedFields;
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return whether the codec can encode a field of the type
+     */
+    static boolean isEncodable(String fieldType) {
+        return getDataType(fieldType) != null;
+    }
+
+    static String getSimpleName(String type) {
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Logs a warning naming the fields left out of the encoding, if there are any.
+     */
+    void reportUnsupportedFields() {
+        List<String> unsupportedFields = findUnsupportedFields(nameToTypeMap);
+        if (!unsupportedFields.isEmpty()) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FIELDS_NOT_ENCODABLE,
+                    new Object[]{className, String.join(", ", unsupportedFields)});
+        }
+    }
+
+    List<String> createWriteToStatements() {
+        List<String> statements = new ArrayList<>();
+        fields.forEach((fieldName, fieldType) -> {
+            String dataType = getDataType(fieldType);
+            if (dataType == null) {
+                return;
+            }
+            String write = OUTPUT + ".write" + dataType + "(this." + fieldName + ");";
+            if (FieldDefinition.isPrimitive(fieldType)) {
+                statements.add(write);
+            } else {
+                statements.add(OUTPUT + ".writeBoolean(this." + fieldName + " != null);");
+                statements.add("if (this." + fieldName + " != null) {");
+                statements.add(INDENT + write);
+                statements.add("}");
+            }
+        });
+        return statements;
+    }
+
+    List<String> createReadFieldsStatements() {
+        List<String> statements = new ArrayList<>();
+        fields.forEach((fieldName, fieldType) -> {
+            String read = createRead(fieldType);
+            if (read != null) {
+                statements.add("this." + fieldName + " = " + read + ";");
+            }
+        });
+        return statements;
+    }
+
+    /**
+     * @param immutable whether the bean is immutable and has to be created by its constructor
+     * @return the statements of the static factory reading a bean
+     */
+    List<String> createReadFromStatements(boolean immutable) {
+        List<String> statements = new ArrayList<>();
+        if (!immutable) {
+            statements.add(className + " bean = new " + className + "();");
+            statements.add("bean." + ConstantDataManager.READ_FIELDS_METHOD_NAME + "(" + INPUT + ");");
+            statements.add("return bean;");
+            return statements;
+        }
+        fields.forEach((fieldName, fieldType) -> {
+            String read = createRead(fieldType);
+            if (read != null) {
+                statements.add(fieldType + " " + fieldName + " = " + read + ";");
+            }
+        });
+        StringBuilder arguments = new StringBuilder();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            if (packFlags && PackedFlags.isFlag(fieldType)) {
+                arguments.append('(').append(packedFlags.getWordName(fieldName)).append(" & ")
+                        .append(packedFlags.getMask(fieldName)).append(") != 0");
+            } else if (getDataType(fieldType) == null) {
+                arguments.append(ConstantDataManager.NULL);
+            } else {
+                arguments.append(fieldName);
+            }
+        });
+        statements.add("return new " + className + "(" + arguments + ");");
+        return statements;
+    }
+
+    private static String createRead(String fieldType) {
+        String dataType = getDataType(fieldType);
+        if (dataType == null) {
+            return null;
+        }
+        String read = INPUT + ".read" + dataType + "()";
+        return FieldDefinition.isPrimitive(fieldType) ? read : INPUT + ".readBoolean() ? " + read + " : null";
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return the suffix of the {@code DataOutput} and {@code DataInput} methods for the type, or {@code null} if
+     * values of the type cannot be encoded
+     */
+    private static String getDataType(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+            case ConstantDataManager.BOOLEAN_TYPE:
+                return "Boolean";
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+                return "Byte";
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+                return "Short";
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+                return "Char";
+            case ConstantDataManager.INT:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+                return "Int";
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+                return "Long";
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+                return "Float";
+            case ConstantDataManager.DOUBLE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                return "Double";
+            case ConstantDataManager.SIMPLE_STRING_TYPE_NAME:
+            case ConstantDataManager.STRING_TYPE:
+                return "UTF";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the {@code compareTo} method and the comparator constants of a Java Bean, shared by
+ * {@link JavaBeanGenerator} and {@link JavaBeanSourceEmitter}.
+ * <p>
+ * Primitive fields are compared with the static {@code compare} methods of their wrapper classes, directly on the
+ * fields, so that nothing is boxed. Wrappers and strings are compared by their natural order, {@code null} first.
+ * The keys of {@code compareTo} are the fields chosen as comparison keys, in the chosen order, a key prefixed by
+ * {@code -} being compared in descending order. Without chosen keys all the fields of comparable types are compared in
+ * declaration order. A comparator constant is created for every key and every field of a comparable type. Counters
+ * are compared by their sums.
+ *
+ * @author Arthur Sadykov
+ */
+class ComparisonKeys {
+
+    static final String COMPARE_NULLS_FIRST_METHOD_NAME = "compareNullsFirst";
+    static final String FIRST = "first";
+    static final String SECOND = "second";
+    private static final String INDENT = "    ";
+    static final String ORDER_SUFFIX = "_ORDER";
+    static final String DESCENDING_PREFIX = "-";
+    private final Map<String, String> nameToTypeMap;
+    private final PackedFlags packedFlags;
+    private final boolean packFlags;
+    private final CounterFields counterFields;
+    private final Map<String, Boolean> keys = new LinkedHashMap<>();
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    ComparisonKeys(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        Object packFlagsValue = properties.get(ConstantDataManager.PACK_FLAGS_PROPERTY);
+        this.packFlags = packFlagsValue == null ? false : (boolean) packFlagsValue;
+        this.counterFields = new CounterFields(nameToTypeMap, properties);
+        for (String key : GenerationOptions.getFieldNames(properties, ConstantDataManager.COMPARISON_KEYS_PROPERTY)) {
+            boolean descending = key.startsWith(DESCENDING_PREFIX);
+            String fieldName = descending ? key.substring(DESCENDING_PREFIX.length()).trim() : key;
+            if (nameToTypeMap.containsKey(fieldName)) {
+                keys.putIfAbsent(fieldName, descending);
+            }
+        }
+        if (keys.isEmpty()) {
+            nameToTypeMap.forEach((fieldName, fieldType) -> {
+                if (getCompareMethod(fieldType) != null) {
+                    keys.put(fieldName, false);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param className the simple name of the bean
+     * @return the type of the comparator constants
+     */
+    static String getComparatorType(String className) {
+        return "Comparator<" + className + ">";
+    }
+
+    /**
+     * @return the names of the comparator constants mapped to the lambda expressions initializing them
+     */
+    Map<String, String> createComparators() {
+        Map<String, String> comparators = new LinkedHashMap<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (keys.containsKey(fieldName) || getCompareMethod(fieldType) != null) {
+                comparators.put(JavaBeanGenerator.toConstantName(fieldName) + ORDER_SUFFIX,
+                        "(" + FIRST + ", " + SECOND + ") -> " + createCompare(fieldName, FIRST, SECOND));
+            }
+        });
+        return comparators;
+    }
+
+    List<String> createCompareToStatements() {
+        List<String> statements = new ArrayList<>();
+        if (keys.isEmpty()) {
+            statements.add("return 0;");
+            return statements;
+        }
+        int count = 0;
+        for (Map.Entry<String, Boolean> key : keys.entrySet()) {
+            String compare = key.getValue()
+                    ? createCompare(key.getKey(), ConstantDataManager.OTHER, ConstantDataManager.THIS)
+                    : createCompare(key.getKey(), ConstantDataManager.THIS, ConstantDataManager.OTHER);
+            if (++count == keys.size()) {
+                statements.add("return " + compare + ";");
+            } else {
+                statements.add((count == 1 ? "int " : "") + "result = " + compare + ";");
+                statements.add("if (result != 0) {");
+                statements.add(INDENT + "return result;");
+                statements.add("}");
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * @return {@code true} if a key or a comparator needs the helper method comparing references {@code null} first
+     */
+    boolean comparesReferences() {
+        return nameToTypeMap.entrySet().stream()
+                .filter(entry -> keys.containsKey(entry.getKey()) || getCompareMethod(entry.getValue()) != null)
+                .anyMatch(entry -> !FieldDefinition.isPrimitive(entry.getValue()));
+    }
+
+    /**
+     * @return the statements of the helper method comparing {@code T first} and {@code T second}, {@code null} first
+     */
+    static List<String> createCompareNullsFirstStatements() {
+        return Arrays.asList(
+                "if (" + FIRST + " == " + SECOND + ") {",
+                INDENT + "return 0;",
+                "}",
+                "if (" + FIRST + " == null) {",
+                INDENT + "return -1;",
+                "}",
+                "if (" + SECOND + " == null) {",
+                INDENT + "return 1;",
+                "}",
+                "return " + FIRST + ".compareTo(" + SECOND + ");");
+    }
+
+    private String createCompare(String fieldName, String first, String second) {
+        String fieldType = nameToTypeMap.get(fieldName);
+        String compareMethod = getCompareMethod(fieldType);
+        if (compareMethod == null) {
+            // a chosen key of a type not known to be comparable, the compiler checks it
+            compareMethod = COMPARE_NULLS_FIRST_METHOD_NAME;
+        }
+        return compareMethod + "(" + getValue(first, fieldName, fieldType) + ", "
+                + getValue(second, fieldName, fieldType) + ")";
+    }
+
+    private String getValue(String owner, String fieldName, String fieldType) {
+        if (packFlags && PackedFlags.isFlag(fieldType)) {
+            return "(" + owner + "." + packedFlags.getWordName(fieldName) + " & " + packedFlags.getMask(fieldName)
+                    + ") != 0";
+        }
+        if (counterFields.isCounter(fieldName)) {
+            return CounterFields.getSum(owner, fieldName);
+        }
+        return owner + "." + fieldName;
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return the method comparing two values of the type, or {@code null} if the type is not known to be
+     * comparable
+     */
+    private static String getCompareMethod(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+                return "Boolean.compare";
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.INT:
+                return "Integer.compare";
+            case ConstantDataManager.LONG:
+                return "Long.compare";
+            case ConstantDataManager.FLOAT:
+                return "Float.compare";
+            case ConstantDataManager.DOUBLE:
+                return "Double.compare";
+            case ConstantDataManager.BOOLEAN_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+            case ConstantDataManager.SIMPLE_STRING_TYPE_NAME:
+            case ConstantDataManager.STRING_TYPE:
+                return COMPARE_NULLS_FIRST_METHOD_NAME;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the counter fields of a Java Bean, shared by {@link JavaBeanGenerator} and {@link JavaBeanSourceEmitter}.
+ * <p>
+ * A counter is a {@code long} field of a mutable bean declared as a {@code LongAdder}, so that threads incrementing
+ * it update cells of their own instead of competing for a single memory location. It has {@code increment},
+ * {@code add}, {@code sum} and {@code reset} methods instead of a getter and a setter, and is compared, hashed and
+ * printed by its sum. Counters are left out of the codecs, the atomic accessors, the hot fields and the companion
+ * classes of the bean, which read and write the fields through their getters and setters.
+ *
+ * @author Arthur Sadykov
+ */
+class CounterFields {
+
+    static final String SUM_METHOD_NAME = "sum";
+    private static final String ADD_PREFIX = "add";
+    private static final String INCREMENT_PREFIX = "increment";
+    private static final String RESET_PREFIX = "reset";
+    private static final String VALUE = "value";
+    private final Set<String> fieldNames = new LinkedHashSet<>();
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    CounterFields(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Object immutable = properties.get(ConstantDataManager.IMMUTABLE_PROPERTY);
+        if (immutable != null && (boolean) immutable) {
+            // an immutable counter could never be incremented
+            return;
+        }
+        for (String fieldName : GenerationOptions.getFieldNames(properties,
+                ConstantDataManager.COUNTER_FIELDS_PROPERTY)) {
+            if (ConstantDataManager.LONG.equals(nameToTypeMap.get(fieldName))) {
+                fieldNames.add(fieldName);
+            }
+        }
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the fields which are not counters, in declaration order
+     */
+    static Map<String, String> removeCounters(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        return new CounterFields(nameToTypeMap, properties).removeCounters(nameToTypeMap);
+    }
+
+    boolean isEmpty() {
+        return fieldNames.isEmpty();
+    }
+
+    boolean isCounter(String fieldName) {
+        return fieldNames.contains(fieldName);
+    }
+
+    /**
+     * @param fields field names mapped to their types
+     * @return the fields which are not counters, in the same order
+     */
+    Map<String, String> removeCounters(Map<String, String> fields) {
+        Map<String, String> remainingFields = new LinkedHashMap<>(fields);
+        remainingFields.keySet().removeAll(fieldNames);
+        return remainingFields;
+    }
+
+    /**
+     * @param owner the expression of the bean owning the counter, such as {@code this} or {@code other}
+     * @param fieldName the name of a counter
+     * @return the source of the expression summing the counter
+     */
+    static String getSum(String owner, String fieldName) {
+        return owner + "." + fieldName + "." + SUM_METHOD_NAME + "()";
+    }
+
+    /**
+     * @param fieldName the name of a counter
+     * @return the declaration of the counter, initialized to a new adder
+     */
+    static GeneratedMember createField(String fieldName) {
+        String simpleType = BinaryCodec.getSimpleName(ConstantDataManager.LONG_ADDER_TYPE);
+        return GeneratedMember.field(EnumSet.of(Modifier.PRIVATE, Modifier.FINAL), simpleType, fieldName,
+                "new " + simpleType + "()");
+    }
+
+    /**
+     * @return the {@code increment}, {@code add}, {@code sum} and {@code reset} methods of every counter, counter by
+     * counter
+     */
+    List<GeneratedMember> createMethods() {
+        List<GeneratedMember> methods = new ArrayList<>();
+        Set<Modifier> publicAccess = EnumSet.of(Modifier.PUBLIC);
+        List<String> noParameters = Collections.<String>emptyList();
+        List<String> noThrownTypes = Collections.<String>emptyList();
+        for (String fieldName : fieldNames) {
+            String capitalizedFieldName = JavaBeanGenerator.capitalize(fieldName);
+            methods.add(GeneratedMember.method(publicAccess, ConstantDataManager.VOID_TYPE,
+                    INCREMENT_PREFIX + capitalizedFieldName, noParameters, noThrownTypes,
+                    Collections.singletonList("this." + fieldName + ".increment();")));
+            methods.add(GeneratedMember.method(publicAccess, ConstantDataManager.VOID_TYPE,
+                    ADD_PREFIX + capitalizedFieldName, Arrays.asList(ConstantDataManager.LONG, VALUE), noThrownTypes,
+                    Collections.singletonList("this." + fieldName + ".add(" + VALUE + ");")));
+            methods.add(GeneratedMember.method(publicAccess, ConstantDataManager.LONG,
+                    SUM_METHOD_NAME + capitalizedFieldName, noParameters, noThrownTypes,
+                    Collections.singletonList("return " + getSum(ConstantDataManager.THIS, fieldName) + ";")));
+            methods.add(GeneratedMember.method(publicAccess, ConstantDataManager.VOID_TYPE,
+                    RESET_PREFIX + capitalizedFieldName, noParameters, noThrownTypes,
+                    Collections.singletonList("this." + fieldName + ".reset();")));
+        }
+        return methods;
+    }
+}
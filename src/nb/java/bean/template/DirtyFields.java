@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the tracking of the fields changed by the setters of a Java Bean, shared by {@link JavaBeanGenerator} and
+ * {@link JavaBeanSourceEmitter}.
+ * <p>
+ * Every field of a mutable bean except the counters owns a bit of a {@code long} named
+ * {@value ConstantDataManager#DIRTY_MASK}, published as a constant named after the field with the {@code _DIRTY}
+ * suffix. A setter sets the bit of its field only if the new value differs from the old one, floating point values
+ * being compared by their bits and references by {@code equals}. So do the {@code compareAndSet} and
+ * {@code getAndUpdate} methods of the atomic concurrency mode once they have updated the field. The changed fields
+ * are read by {@value ConstantDataManager#DIRTY_FIELDS_METHOD_NAME} and written into another bean by
+ * {@value ConstantDataManager#COPY_DIRTY_TO_METHOD_NAME}, which leaves the dirty fields of that bean as they are.
+ * {@value ConstantDataManager#CLEAR_DIRTY_METHOD_NAME} forgets them and returns the ones it forgot, so that the
+ * fields to synchronize are taken by a single call. Fields beyond the 64th are not tracked. In the atomic concurrency
+ * mode the bits are set by atomic bitwise operations and taken by an atomic {@code getAndSet}, so that a bit set
+ * concurrently is either returned or kept. In the volatile mode neither is atomic.
+ *
+ * @author Arthur Sadykov
+ */
+class DirtyFields {
+
+    private static final Logger LOGGER = Logger.getLogger(DirtyFields.class.getName());
+    private static final int MASK_BITS = 64;
+    static final String DIRTY_SUFFIX = "_DIRTY";
+    private static final String TARGET = "target";
+    private static final String INDENT = "    ";
+    private final Map<String, String> trackedFields = new LinkedHashMap<>();
+    private final List<String> untrackedFields = new ArrayList<>();
+    private final PackedFlags packedFlags;
+    private final boolean packFlags;
+    private final String concurrencyMode;
+    private final boolean fieldUpdaters;
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    DirtyFields(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        CounterFields.removeCounters(nameToTypeMap, properties).forEach((fieldName, fieldType) -> {
+            if (trackedFields.size() < MASK_BITS) {
+                trackedFields.put(fieldName, fieldType);
+            } else {
+                untrackedFields.add(fieldName);
+            }
+        });
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        Object packFlagsValue = properties.get(ConstantDataManager.PACK_FLAGS_PROPERTY);
+        this.packFlags = packFlagsValue == null ? false : (boolean) packFlagsValue;
+        this.concurrencyMode = AtomicAccessors.getMode(properties);
+        this.fieldUpdaters = AtomicAccessors.usesFieldUpdaters(properties);
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the changed fields of the bean are tracked
+     */
+    static boolean isEnabled(Map<String, ?> properties) {
+        return GenerationOptions.isEnabled(properties, ConstantDataManager.TRACK_DIRTY_FIELDS_PROPERTY)
+                && !GenerationOptions.isEnabled(properties, ConstantDataManager.IMMUTABLE_PROPERTY);
+    }
+
+    /**
+     * Logs warnings naming the fields left out of the mask, and about the mask of a bean with volatile fields, whose
+     * bits are set by reading and writing the whole mask.
+     *
+     * @param className the simple name of the bean
+     */
+    void reportLimitations(String className) {
+        if (!untrackedFields.isEmpty()) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FIELDS_NOT_TRACKED,
+                    new Object[]{className, String.join(", ", untrackedFields)});
+        }
+        if (concurrencyMode.equals(ConstantDataManager.CONCURRENCY_MODE_VOLATILE)) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.DIRTY_MASK_NOT_ATOMIC, className);
+        }
+    }
+
+    boolean isTracked(String fieldName) {
+        return trackedFields.containsKey(fieldName);
+    }
+
+    /**
+     * @param fieldName the name of a tracked field
+     * @return the name of the constant of the bit of the field
+     */
+    static String getBitName(String fieldName) {
+        return JavaBeanGenerator.toConstantName(fieldName) + DIRTY_SUFFIX;
+    }
+
+    /**
+     * @param fieldName the name of a tracked field, also the name of the setter parameter
+     * @param fieldType the type of the field
+     * @return the source of the condition telling whether the setter parameter differs from the field
+     */
+    String createChangeCondition(String fieldName, String fieldType) {
+        if (packFlags && PackedFlags.isFlag(fieldType)) {
+            return "((this." + packedFlags.getWordName(fieldName) + " & " + packedFlags.getMask(fieldName)
+                    + ") != 0) != " + fieldName;
+        }
+        return createDifferenceCondition(fieldType, "this." + fieldName, fieldName);
+    }
+
+    /**
+     * @param fieldType the type of a tracked field, other than a packed flag
+     * @param oldValue the source of the old value of the field
+     * @param newValue the source of the new value of the field
+     * @return the source of the condition telling whether the new value differs from the old one
+     */
+    static String createDifferenceCondition(String fieldType, String oldValue, String newValue) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.INT:
+            case ConstantDataManager.LONG:
+                return oldValue + " != " + newValue;
+            case ConstantDataManager.FLOAT:
+                return "Float.floatToIntBits(" + oldValue + ") != Float.floatToIntBits(" + newValue + ")";
+            case ConstantDataManager.DOUBLE:
+                return "Double.doubleToLongBits(" + oldValue + ") != Double.doubleToLongBits(" + newValue + ")";
+            default:
+                return "!Objects.equals(" + oldValue + ", " + newValue + ")";
+        }
+    }
+
+    /**
+     * @param fieldName the name of a tracked field, also the name of the setter parameter
+     * @return the statement setting the bit of the field
+     */
+    String createMarkStatement(String fieldName) {
+        return createMarkStatement(fieldName, fieldName);
+    }
+
+    /**
+     * @param fieldName the name of a tracked field
+     * @param parameterName the name of a parameter or local variable of the method the statement belongs to
+     * @return the statement setting the bit of the field
+     */
+    String createMarkStatement(String fieldName, String parameterName) {
+        if (isAtomic()) {
+            return AtomicAccessors.createSetBitsStatement(ConstantDataManager.DIRTY_MASK, getBitName(fieldName),
+                    parameterName, fieldUpdaters);
+        }
+        return "this." + ConstantDataManager.DIRTY_MASK + " |= " + getBitName(fieldName) + ";";
+    }
+
+    /**
+     * @return {@code true} if the setters and the atomic updates of tracked references compare them with
+     * {@code Objects.equals}
+     */
+    boolean comparesReferences() {
+        return trackedFields.values().stream()
+                .anyMatch(fieldType -> !FieldDefinition.isPrimitive(fieldType));
+    }
+
+    private boolean isAtomic() {
+        return concurrencyMode.equals(ConstantDataManager.CONCURRENCY_MODE_ATOMIC);
+    }
+
+    private List<String> createClearStatements() {
+        if (isAtomic()) {
+            // a VarHandle returns what it is cast to, a field updater returns a long
+            return Collections.singletonList("return " + (fieldUpdaters ? "" : "(long) ")
+                    + AtomicAccessors.getHandleName(ConstantDataManager.DIRTY_MASK) + ".getAndSet(this, 0L);");
+        }
+        return Arrays.asList(
+                "long dirty = this." + ConstantDataManager.DIRTY_MASK + ";",
+                "this." + ConstantDataManager.DIRTY_MASK + " = 0L;",
+                "return dirty;");
+    }
+
+    /**
+     * @param className the simple name of the bean
+     * @return the bit constants, the mask, its {@code VarHandle} or field updater constant in the atomic mode, and the
+     * {@value ConstantDataManager#DIRTY_FIELDS_METHOD_NAME}, {@value ConstantDataManager#CLEAR_DIRTY_METHOD_NAME}
+     * and {@value ConstantDataManager#COPY_DIRTY_TO_METHOD_NAME} methods, in this order
+     */
+    List<GeneratedMember> createMembers(String className) {
+        List<GeneratedMember> members = new ArrayList<>();
+        Set<Modifier> constantModifiers = EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
+        int bit = 0;
+        for (String fieldName : trackedFields.keySet()) {
+            members.add(GeneratedMember.field(constantModifiers, ConstantDataManager.LONG, getBitName(fieldName),
+                    "1L << " + bit++));
+        }
+        members.add(GeneratedMember.field(concurrencyMode.equals(ConstantDataManager.CONCURRENCY_MODE_PLAIN)
+                ? EnumSet.of(Modifier.PRIVATE)
+                : EnumSet.of(Modifier.PRIVATE, Modifier.VOLATILE),
+                ConstantDataManager.LONG, ConstantDataManager.DIRTY_MASK, null));
+        if (isAtomic()) {
+            // the helper looking a VarHandle up is rendered by the atomic accessors
+            members.add(AtomicAccessors.createHandle(className, ConstantDataManager.DIRTY_MASK,
+                    ConstantDataManager.LONG, fieldUpdaters));
+        }
+        Set<Modifier> publicAccess = EnumSet.of(Modifier.PUBLIC);
+        List<String> noParameters = Collections.<String>emptyList();
+        List<String> noThrownTypes = Collections.<String>emptyList();
+        members.add(GeneratedMember.method(publicAccess, ConstantDataManager.LONG,
+                ConstantDataManager.DIRTY_FIELDS_METHOD_NAME, noParameters, noThrownTypes,
+                Collections.singletonList("return this." + ConstantDataManager.DIRTY_MASK + ";")));
+        members.add(GeneratedMember.method(publicAccess, ConstantDataManager.LONG,
+                ConstantDataManager.CLEAR_DIRTY_METHOD_NAME, noParameters, noThrownTypes,
+                createClearStatements()));
+        List<String> copyStatements = new ArrayList<>();
+        copyStatements.add("long dirty = this." + ConstantDataManager.DIRTY_MASK + ";");
+        trackedFields.forEach((fieldName, fieldType) -> {
+            copyStatements.add("if ((dirty & " + getBitName(fieldName) + ") != 0) {");
+            if (packFlags && PackedFlags.isFlag(fieldType)) {
+                String word = packedFlags.getWordName(fieldName);
+                String mask = packedFlags.getMask(fieldName);
+                copyStatements.add(INDENT + TARGET + "." + word + " = " + TARGET + "." + word + " & ~(" + mask
+                        + ") | this." + word + " & " + mask + ";");
+            } else {
+                copyStatements.add(INDENT + TARGET + "." + fieldName + " = this." + fieldName + ";");
+            }
+            copyStatements.add("}");
+        });
+        members.add(GeneratedMember.method(publicAccess, ConstantDataManager.VOID_TYPE,
+                ConstantDataManager.COPY_DIRTY_TO_METHOD_NAME, Arrays.asList(className, TARGET), noThrownTypes,
+                copyStatements));
+        return members;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Orders the fields compared by a generated {@code equals} method so that a mismatch is found as cheaply as
+ * possible.
+ * <p>
+ * The fields declared as discriminating come first, in the declared order. The remaining fields follow by the
+ * estimated cost of their comparison: primitives compared with {@code ==}, then floating point primitives compared
+ * by their bits, then wrappers and finally other references compared by {@code Objects.equals}. Fields of the same
+ * cost keep their declaration order.
+ *
+ * @author Arthur Sadykov
+ */
+class EqualsFieldOrder {
+
+    private static final int PRIMITIVE_COST = 0;
+    private static final int FLOATING_POINT_COST = 1;
+    private static final int WRAPPER_COST = 2;
+    private static final int REFERENCE_COST = 3;
+
+    private EqualsFieldOrder() {
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the field names in the order to compare them in
+     */
+    static List<String> order(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Set<String> orderedNames = new LinkedHashSet<>();
+        for (String name : GenerationOptions.getFieldNames(properties,
+                ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY)) {
+            if (nameToTypeMap.containsKey(name)) {
+                orderedNames.add(name);
+            }
+        }
+        List<String> remainingNames = new ArrayList<>(nameToTypeMap.keySet());
+        remainingNames.removeAll(orderedNames);
+        remainingNames.sort(Comparator.comparingInt(name -> estimateCost(nameToTypeMap.get(name))));
+        orderedNames.addAll(remainingNames);
+        return new ArrayList<>(orderedNames);
+    }
+
+    private static int estimateCost(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.INT:
+            case ConstantDataManager.LONG:
+                return PRIMITIVE_COST;
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.DOUBLE:
+                return FLOATING_POINT_COST;
+            case ConstantDataManager.BOOLEAN_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                return WRAPPER_COST;
+            default:
+                return REFERENCE_COST;
+        }
+    }
+}
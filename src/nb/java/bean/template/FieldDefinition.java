@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.regex.Pattern;
+import javax.lang.model.SourceVersion;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * A field of the Java Bean entered in the wizard, edited as a row of the field table of {@link JavaBeanVisualPanel}.
+ * The syntax of its name and type is checked once per change and remembered.
+ *
+ * @author Arthur Sadykov
+ */
+public class FieldDefinition {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z]\\w*");
+    private static final Pattern TYPE_PATTERN = Pattern.compile("[a-zA-Z]\\w*(\\.[a-zA-Z]\\w*)*");
+    private static final Pattern RESERVED_NAME_PATTERN = Pattern.compile(ConstantDataManager.FLAGS + "\\d*|"
+            + ConstantDataManager.CACHED_HASH + "|" + ConstantDataManager.DIRTY_MASK + "|"
+            + ConstantDataManager.SERIAL_VERSION_UID + "|\\w*("
+            + AtomicAccessors.HANDLE_SUFFIX + "|" + ComparisonKeys.ORDER_SUFFIX + "|" + DirtyFields.DIRTY_SUFFIX + "|"
+            + JavaBeanFlyweightEmitter.OFFSET_SUFFIX + "|" + JsonCodec.NAME_SUFFIX + ")");
+    private String kind = ConstantDataManager.FIELD_KIND_VALUE;
+    private String type;
+    private String name;
+    private boolean hot;
+    private boolean validType;
+    private boolean validName;
+    private boolean reservedName;
+
+    FieldDefinition() {
+        this("", "");
+    }
+
+    FieldDefinition(String type, String name) {
+        setFieldType(type);
+        setFieldName(name);
+    }
+
+    /**
+     * @param type a field type, as entered in the wizard or a bean specification
+     * @return {@code true} if the type is a primitive type or a simple or qualified class name
+     */
+    public static boolean isValidType(String type) {
+        return TYPE_PATTERN.matcher(type).matches();
+    }
+
+    /**
+     * @param name a field or class name, as entered in the wizard or a bean specification
+     * @return {@code true} if the name is a valid identifier, which no keyword or literal such as {@code class} or
+     * {@code null} is
+     */
+    public static boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches() && !SourceVersion.isKeyword(name);
+    }
+
+    /**
+     * Checks whether a field name is taken by a member generated for the bean, whatever the options: the words of
+     * the packed flags, the cached hash code, the dirty mask, the serial version UID and the constants derived from
+     * the field names.
+     *
+     * @param name a field name, as entered in the wizard or a bean specification
+     * @return {@code true} if a field of this name may clash with a generated member
+     */
+    public static boolean isReservedName(String name) {
+        return RESERVED_NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * @param type a field type, as entered in the wizard or a bean specification
+     * @return {@code true} if the type is one of the eight primitive types
+     */
+    static boolean isPrimitive(String type) {
+        switch (type) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.INT:
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param type a field type, as entered in the wizard or a bean specification
+     * @return {@code true} if the binary codec can encode a field of the type: a primitive, a wrapper or a string
+     */
+    public static boolean isBinaryEncodable(String type) {
+        return BinaryCodec.isEncodable(type);
+    }
+
+    String getKind() {
+        return kind;
+    }
+
+    /**
+     * Sets the kind of the field. A counter is always a {@code long}, and is never isolated as a hot field.
+     *
+     * @param kind {@value ConstantDataManager#FIELD_KIND_VALUE} or {@value ConstantDataManager#FIELD_KIND_COUNTER}
+     */
+    void setKind(String kind) {
+        this.kind = kind;
+        if (isCounter()) {
+            setFieldType(ConstantDataManager.LONG);
+            hot = false;
+        }
+    }
+
+    String getFieldType() {
+        return type;
+    }
+
+    void setFieldType(String type) {
+        this.type = type;
+        this.validType = isValidType(type);
+    }
+
+    boolean hasValidType() {
+        return validType;
+    }
+
+    String getFieldName() {
+        return name;
+    }
+
+    void setFieldName(String name) {
+        this.name = name;
+        this.validName = isValidName(name);
+        this.reservedName = isReservedName(name);
+    }
+
+    boolean hasValidName() {
+        return validName;
+    }
+
+    boolean hasReservedName() {
+        return reservedName;
+    }
+
+    boolean isHot() {
+        return hot;
+    }
+
+    void setHot(boolean hot) {
+        this.hot = hot;
+    }
+
+    boolean isCounter() {
+        return ConstantDataManager.FIELD_KIND_COUNTER.equals(kind);
+    }
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import nb.java.bean.constants.ConstantDataManager;
+import org.json.simple.parser.ContainerFactory;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Reads the fields of a Java Bean from a SQL {@code CREATE TABLE} script, a CSV file or a JSON Schema.
+ * <p>
+ * The columns of the first table of a script, the header of a CSV file and the properties of a schema are imported
+ * in their order, their names turned into camel case. Every type is mapped to the narrowest Java type holding all of
+ * its values: {@code NUMERIC(4)} becomes a {@code short}, an integer schema bounded by {@code 0} and {@code 255} a
+ * {@code short}, and the type of a CSV column is inferred from the values of the first
+ * {@value #SAMPLE_ROW_COUNT} rows. Columns which may be {@code NULL}, schema properties which are not required and
+ * CSV columns with empty values get the wrapper of their primitive type. Types without a Java counterpart, such as
+ * binary columns, are imported as strings.
+ *
+ * @author Arthur Sadykov
+ */
+class FieldImporter {
+
+    private static final int SAMPLE_ROW_COUNT = 1000;
+    private static final String BIG_DECIMAL_TYPE = "java.math.BigDecimal";
+    private static final String BIG_INTEGER_TYPE = "java.math.BigInteger";
+    private static final String LIST_TYPE = "java.util.List";
+    private static final String LOCAL_DATE_TYPE = "java.time.LocalDate";
+    private static final String LOCAL_DATE_TIME_TYPE = "java.time.LocalDateTime";
+    private static final String LOCAL_TIME_TYPE = "java.time.LocalTime";
+    private static final String MAP_TYPE = "java.util.Map";
+    private static final String OFFSET_DATE_TIME_TYPE = "java.time.OffsetDateTime";
+    private static final String OFFSET_TIME_TYPE = "java.time.OffsetTime";
+    private static final String URI_TYPE = "java.net.URI";
+    private static final String UUID_TYPE = "java.util.UUID";
+    private static final Pattern CREATE_TABLE_PATTERN =
+            Pattern.compile("\\bCREATE\\s+(?:\\w+\\s+)*?TABLE\\s+[^(]+\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMMENT_PATTERN = Pattern.compile("--[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern COLUMN_TYPE_PATTERN = Pattern.compile(
+            "(\\w+)(\\s+(?:PRECISION|VARYING))?\\s*(?:\\(\\s*(\\d+)\\s*(?:,\\s*(-?\\d+)\\s*)?\\))?(.*)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PRIMARY_KEY_PATTERN =
+            Pattern.compile("(?:CONSTRAINT\\s+\\S+\\s+)?PRIMARY\\s+KEY\\s*\\((.*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("[-+]?\\d+");
+    private static final Pattern WORD_SEPARATOR_PATTERN = Pattern.compile("[^A-Za-z0-9]+");
+    private static final Set<String> TABLE_CONSTRAINT_KEYWORDS = new HashSet<>(Arrays.asList("CHECK", "CONSTRAINT",
+            "EXCLUDE", "FOREIGN", "FULLTEXT", "INDEX", "KEY", "LIKE", "PERIOD", "PRIMARY", "SPATIAL", "UNIQUE"));
+    private static final Map<String, String> WRAPPER_TYPES = new HashMap<>();
+
+    static {
+        WRAPPER_TYPES.put(ConstantDataManager.BOOLEAN, ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.BYTE, ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.CHAR, ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.DOUBLE, ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.FLOAT, ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.INT, ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.LONG, ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE);
+        WRAPPER_TYPES.put(ConstantDataManager.SHORT, ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE);
+    }
+
+    private FieldImporter() {
+    }
+
+    /**
+     * @param sourceFile a {@code .sql}, {@code .csv} or {@code .json} file
+     * @return the fields described by the file, in order
+     * @throws IOException if the file cannot be read, or is not a table script, a CSV file or a JSON Schema
+     */
+    static List<FieldDefinition> importFields(FileObject sourceFile) throws IOException {
+        String content = sourceFile.asText(StandardCharsets.UTF_8.name());
+        switch (sourceFile.getExt().toLowerCase(Locale.ROOT)) {
+            case ConstantDataManager.SQL_EXTENSION:
+                return importSql(content, sourceFile.getNameExt());
+            case ConstantDataManager.CSV_EXTENSION:
+                return importCsv(content, sourceFile.getNameExt());
+            case ConstantDataManager.JSON_EXTENSION:
+                return importJsonSchema(content, sourceFile.getNameExt());
+            default:
+                throw new IOException(ConstantDataManager.UNSUPPORTED_FIELD_SOURCE_FORMAT + sourceFile.getNameExt());
+        }
+    }
+
+    static List<FieldDefinition> importSql(String script, String sourceName) throws IOException {
+        String uncommentedScript = COMMENT_PATTERN.matcher(script).replaceAll(" ");
+        Matcher createTableMatcher = CREATE_TABLE_PATTERN.matcher(uncommentedScript);
+        if (!createTableMatcher.find()) {
+            throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName);
+        }
+        List<String> definitions = splitTableElements(uncommentedScript, createTableMatcher.end(), sourceName);
+        Set<String> primaryKeyColumns = new HashSet<>();
+        for (String definition : definitions) {
+            Matcher primaryKeyMatcher = PRIMARY_KEY_PATTERN.matcher(definition);
+            if (primaryKeyMatcher.matches()) {
+                for (String column : primaryKeyMatcher.group(1).split(",")) {
+                    primaryKeyColumns.add(unquote(column.trim()));
+                }
+            }
+        }
+        List<FieldDefinition> fields = new ArrayList<>();
+        for (String definition : definitions) {
+            String[] nameAndRest = splitColumnName(definition);
+            if (nameAndRest == null) {
+                continue;
+            }
+            if (nameAndRest[1].isEmpty()) {
+                // a column without a type, as allowed by SQLite
+                fields.add(new FieldDefinition(ConstantDataManager.SIMPLE_STRING_TYPE_NAME,
+                        toFieldName(nameAndRest[0])));
+                continue;
+            }
+            Matcher typeMatcher = COLUMN_TYPE_PATTERN.matcher(nameAndRest[1]);
+            if (!typeMatcher.matches()) {
+                throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName);
+            }
+            String constraints = typeMatcher.group(5).toUpperCase(Locale.ROOT).replaceAll("\\s+", " ");
+            boolean nullable = !constraints.contains("NOT NULL") && !constraints.contains("PRIMARY KEY")
+                    && !primaryKeyColumns.contains(nameAndRest[0]);
+            int precision;
+            int scale;
+            try {
+                precision = typeMatcher.group(3) == null ? -1 : Integer.parseInt(typeMatcher.group(3));
+                scale = typeMatcher.group(4) == null ? 0 : Integer.parseInt(typeMatcher.group(4));
+            } catch (NumberFormatException ex) {
+                // no database accepts a precision overflowing an int
+                throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName, ex);
+            }
+            String type = mapSqlType(typeMatcher.group(1).toUpperCase(Locale.ROOT), typeMatcher.group(2) != null,
+                    precision, scale, constraints.contains("UNSIGNED"), constraints.contains("WITH TIME ZONE"));
+            fields.add(new FieldDefinition(nullable ? box(type) : type, toFieldName(nameAndRest[0])));
+        }
+        return fields;
+    }
+
+    /**
+     * Splits the elements of a table, between the parenthesis opening them and the one closing them, at the commas
+     * outside of nested parentheses and quotes.
+     */
+    private static List<String> splitTableElements(String script, int start, String sourceName) throws IOException {
+        List<String> elements = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int elementStart = start;
+        for (int i = start; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '[') {
+                quote = ']';
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0 || c == ')') {
+                elements.add(script.substring(elementStart, i).trim());
+                elementStart = i + 1;
+                if (c == ')') {
+                    return elements;
+                }
+            }
+        }
+        throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName);
+    }
+
+    /**
+     * @return the unquoted name of the column defined by the given table element and the rest of the definition, or
+     * {@code null} if the element is a table constraint
+     */
+    private static String[] splitColumnName(String definition) {
+        if (definition.isEmpty()) {
+            return null;
+        }
+        char first = definition.charAt(0);
+        int nameEnd;
+        if (first == '"' || first == '`' || first == '[') {
+            nameEnd = definition.indexOf(first == '[' ? ']' : first, 1) + 1;
+            if (nameEnd == 0) {
+                return null;
+            }
+        } else {
+            nameEnd = 0;
+            while (nameEnd < definition.length() && !Character.isWhitespace(definition.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (TABLE_CONSTRAINT_KEYWORDS.contains(definition.substring(0, nameEnd).toUpperCase(Locale.ROOT))) {
+                return null;
+            }
+        }
+        return new String[]{unquote(definition.substring(0, nameEnd)), definition.substring(nameEnd).trim()};
+    }
+
+    private static String unquote(String name) {
+        if (name.length() > 1 && "\"`[".indexOf(name.charAt(0)) >= 0) {
+            return name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    private static String mapSqlType(String type, boolean varying, int precision, int scale, boolean unsigned,
+            boolean withTimeZone) {
+        switch (type) {
+            case "BOOL":
+            case "BOOLEAN":
+                return ConstantDataManager.BOOLEAN;
+            case "BIT":
+                return precision <= 1 ? ConstantDataManager.BOOLEAN : ConstantDataManager.LONG;
+            case "TINYINT":
+                // TINYINT(1) is the boolean of MySQL
+                return precision == 1 ? ConstantDataManager.BOOLEAN
+                        : unsigned ? ConstantDataManager.SHORT : ConstantDataManager.BYTE;
+            case "INT2":
+            case "SMALLINT":
+            case "SMALLSERIAL":
+                return unsigned ? ConstantDataManager.INT : ConstantDataManager.SHORT;
+            case "MEDIUMINT":
+                return ConstantDataManager.INT;
+            case "INT":
+            case "INT4":
+            case "INTEGER":
+            case "SERIAL":
+                return unsigned ? ConstantDataManager.LONG : ConstantDataManager.INT;
+            case "BIGINT":
+            case "BIGSERIAL":
+            case "INT8":
+                return unsigned ? BIG_INTEGER_TYPE : ConstantDataManager.LONG;
+            case "FLOAT4":
+            case "REAL":
+                return ConstantDataManager.FLOAT;
+            case "FLOAT":
+                // the precision of FLOAT counts binary digits, a float has 24 of them
+                return precision > 0 && precision <= 24 ? ConstantDataManager.FLOAT : ConstantDataManager.DOUBLE;
+            case "DOUBLE":
+            case "FLOAT8":
+                return ConstantDataManager.DOUBLE;
+            case "DEC":
+            case "DECIMAL":
+            case "NUMBER":
+            case "NUMERIC":
+                return precision < 0 || scale > 0 ? BIG_DECIMAL_TYPE : getIntegralType(precision);
+            case "CHAR":
+            case "CHARACTER":
+            case "NCHAR":
+                // a character column without length holds a single character
+                return !varying && precision <= 1
+                        ? ConstantDataManager.CHAR
+                        : ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+            case "DATE":
+                return LOCAL_DATE_TYPE;
+            case "TIME":
+                return withTimeZone ? OFFSET_TIME_TYPE : LOCAL_TIME_TYPE;
+            case "TIMETZ":
+                return OFFSET_TIME_TYPE;
+            case "DATETIME":
+            case "DATETIME2":
+            case "SMALLDATETIME":
+            case "TIMESTAMP":
+                return withTimeZone ? OFFSET_DATE_TIME_TYPE : LOCAL_DATE_TIME_TYPE;
+            case "DATETIMEOFFSET":
+            case "TIMESTAMPTZ":
+                return OFFSET_DATE_TIME_TYPE;
+            case "UUID":
+            case "UNIQUEIDENTIFIER":
+                return UUID_TYPE;
+            default:
+                return ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+        }
+    }
+
+    /**
+     * @param digits the number of decimal digits of an integer
+     * @return the narrowest integral type holding every integer of that many digits
+     */
+    private static String getIntegralType(int digits) {
+        if (digits <= 2) {
+            return ConstantDataManager.BYTE;
+        }
+        if (digits <= 4) {
+            return ConstantDataManager.SHORT;
+        }
+        if (digits <= 9) {
+            return ConstantDataManager.INT;
+        }
+        return digits <= 18 ? ConstantDataManager.LONG : BIG_INTEGER_TYPE;
+    }
+
+    static List<FieldDefinition> importCsv(String content, String sourceName) throws IOException {
+        char separator = detectSeparator(content);
+        List<List<String>> records = readCsvRecords(content, separator, SAMPLE_ROW_COUNT + 1);
+        if (records.isEmpty()) {
+            throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName);
+        }
+        List<String> header = records.get(0);
+        List<FieldDefinition> fields = new ArrayList<>(header.size());
+        for (int column = 0; column < header.size(); column++) {
+            ColumnSample sample = new ColumnSample();
+            for (List<String> record : records.subList(1, records.size())) {
+                sample.add(column < record.size() ? record.get(column).trim() : "");
+            }
+            fields.add(new FieldDefinition(sample.getType(), toFieldName(header.get(column).trim())));
+        }
+        return fields;
+    }
+
+    /**
+     * @return the comma, semicolon or tab separating the most columns of the first line
+     */
+    private static char detectSeparator(String content) {
+        int lineEnd = content.indexOf('\n');
+        String firstLine = lineEnd < 0 ? content : content.substring(0, lineEnd);
+        char separator = ',';
+        long separatorCount = 0;
+        for (char candidate : new char[]{',', ';', '\t'}) {
+            long count = firstLine.chars().filter(c -> c == candidate).count();
+            if (count > separatorCount) {
+                separator = candidate;
+                separatorCount = count;
+            }
+        }
+        return separator;
+    }
+
+    /**
+     * Reads the records of a CSV file, values being quoted by double quotes doubled inside of them.
+     *
+     * @param maxRecordCount the number of records to read at most
+     */
+    private static List<List<String>> readCsvRecords(String content, char separator, int maxRecordCount) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < content.length() && records.size() < maxRecordCount; i++) {
+            char c = content.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < content.length() && content.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                record.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\n') {
+                record.add(value.toString());
+                value.setLength(0);
+                if (record.size() > 1 || !record.get(0).trim().isEmpty()) {
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+        if (records.size() < maxRecordCount && (!record.isEmpty() || value.length() > 0)) {
+            record.add(value.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * The narrowest type holding all the values of a CSV column seen so far.
+     */
+    private static class ColumnSample {
+
+        private boolean nullable;
+        private boolean hasValues;
+        private boolean allBooleans = true;
+        private boolean allIntegers = true;
+        private boolean allLongs = true;
+        private boolean allDecimals = true;
+        private int maxDigits;
+        private long min;
+        private long max;
+        private boolean allDates = true;
+        private boolean allTimes = true;
+        private boolean allDateTimes = true;
+        private boolean allOffsetDateTimes = true;
+
+        void add(String value) {
+            if (value.isEmpty()) {
+                nullable = true;
+                return;
+            }
+            allBooleans &= value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+            if (allIntegers && INTEGER_PATTERN.matcher(value).matches()) {
+                try {
+                    long number = Long.parseLong(value);
+                    min = hasValues ? Math.min(min, number) : number;
+                    max = hasValues ? Math.max(max, number) : number;
+                } catch (NumberFormatException ex) {
+                    allLongs = false;
+                }
+            } else {
+                allIntegers = false;
+            }
+            if (allDecimals) {
+                try {
+                    BigDecimal decimal = new BigDecimal(value);
+                    maxDigits = Math.max(maxDigits, decimal.stripTrailingZeros().precision());
+                } catch (NumberFormatException ex) {
+                    allDecimals = false;
+                }
+            }
+            allDates = allDates && parses(() -> LocalDate.parse(value));
+            allTimes = allTimes && parses(() -> LocalTime.parse(value));
+            allDateTimes = allDateTimes && parses(() -> LocalDateTime.parse(value));
+            allOffsetDateTimes = allOffsetDateTimes && parses(() -> OffsetDateTime.parse(value));
+            hasValues = true;
+        }
+
+        private static boolean parses(Runnable parser) {
+            try {
+                parser.run();
+                return true;
+            } catch (DateTimeParseException ex) {
+                return false;
+            }
+        }
+
+        String getType() {
+            if (!hasValues) {
+                return ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+            }
+            String type;
+            if (allBooleans) {
+                type = ConstantDataManager.BOOLEAN;
+            } else if (allIntegers) {
+                type = !allLongs ? BIG_INTEGER_TYPE
+                        : min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE ? ConstantDataManager.BYTE
+                        : min >= Short.MIN_VALUE && max <= Short.MAX_VALUE ? ConstantDataManager.SHORT
+                        : min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE ? ConstantDataManager.INT
+                        : ConstantDataManager.LONG;
+            } else if (allDecimals) {
+                // every decimal of up to 6 significant digits survives a round trip through a float, 15 a double
+                type = maxDigits <= 6 ? ConstantDataManager.FLOAT
+                        : maxDigits <= 15 ? ConstantDataManager.DOUBLE : BIG_DECIMAL_TYPE;
+            } else if (allDates) {
+                type = LOCAL_DATE_TYPE;
+            } else if (allTimes) {
+                type = LOCAL_TIME_TYPE;
+            } else if (allDateTimes) {
+                type = LOCAL_DATE_TIME_TYPE;
+            } else if (allOffsetDateTimes) {
+                type = OFFSET_DATE_TIME_TYPE;
+            } else {
+                type = ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+            }
+            return nullable ? box(type) : type;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<FieldDefinition> importJsonSchema(String content, String sourceName) throws IOException {
+        Object root;
+        try (Reader reader = new StringReader(content)) {
+            // keeps the properties in the order of the schema
+            root = new JSONParser().parse(reader, new ContainerFactory() {
+                @Override
+                public Map<?, ?> createObjectContainer() {
+                    return new LinkedHashMap<>();
+                }
+
+                @Override
+                public List<?> creatArrayContainer() {
+                    return new LinkedList<>();
+                }
+            });
+        } catch (ParseException ex) {
+            throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName, ex);
+        }
+        if (root instanceof Map && "array".equals(((Map<String, Object>) root).get("type"))
+                && ((Map<String, Object>) root).get("items") instanceof Map) {
+            root = ((Map<String, Object>) root).get("items");
+        }
+        if (!(root instanceof Map) || !(((Map<String, Object>) root).get("properties") instanceof Map)) {
+            throw new IOException(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceName);
+        }
+        Map<String, Object> schema = (Map<String, Object>) root;
+        Object required = schema.get("required");
+        Set<Object> requiredProperties = required instanceof List ? new HashSet<>((List<Object>) required)
+                : new HashSet<>();
+        List<FieldDefinition> fields = new ArrayList<>();
+        for (Map.Entry<String, Object> property : ((Map<String, Object>) schema.get("properties")).entrySet()) {
+            Map<String, Object> propertySchema = property.getValue() instanceof Map
+                    ? (Map<String, Object>) property.getValue()
+                    : new HashMap<>();
+            boolean nullable = !requiredProperties.contains(property.getKey())
+                    || Boolean.TRUE.equals(propertySchema.get("nullable"));
+            Object schemaType = propertySchema.get("type");
+            if (schemaType instanceof List) {
+                List<Object> types = new ArrayList<>((List<Object>) schemaType);
+                nullable |= types.remove("null");
+                schemaType = types.size() == 1 ? types.get(0) : null;
+            }
+            String type = mapJsonType(schemaType, propertySchema);
+            fields.add(new FieldDefinition(nullable ? box(type) : type, toFieldName(property.getKey())));
+        }
+        return fields;
+    }
+
+    private static String mapJsonType(Object schemaType, Map<String, Object> propertySchema) {
+        Object format = propertySchema.get("format");
+        if ("boolean".equals(schemaType)) {
+            return ConstantDataManager.BOOLEAN;
+        }
+        if ("integer".equals(schemaType)) {
+            Object minimum = propertySchema.get("minimum");
+            Object maximum = propertySchema.get("maximum");
+            if (minimum instanceof Number && maximum instanceof Number) {
+                long min = ((Number) minimum).longValue();
+                long max = ((Number) maximum).longValue();
+                return min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE ? ConstantDataManager.BYTE
+                        : min >= Short.MIN_VALUE && max <= Short.MAX_VALUE ? ConstantDataManager.SHORT
+                        : min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE ? ConstantDataManager.INT
+                        : ConstantDataManager.LONG;
+            }
+            return "int32".equals(format) ? ConstantDataManager.INT : ConstantDataManager.LONG;
+        }
+        if ("number".equals(schemaType)) {
+            return "float".equals(format) ? ConstantDataManager.FLOAT : ConstantDataManager.DOUBLE;
+        }
+        if ("string".equals(schemaType)) {
+            if (format == null) {
+                return Long.valueOf(1).equals(propertySchema.get("minLength"))
+                        && Long.valueOf(1).equals(propertySchema.get("maxLength"))
+                        ? ConstantDataManager.CHAR
+                        : ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+            }
+            switch (format.toString()) {
+                case "date":
+                    return LOCAL_DATE_TYPE;
+                case "date-time":
+                    return OFFSET_DATE_TIME_TYPE;
+                case "time":
+                    return OFFSET_TIME_TYPE;
+                case "uri":
+                    return URI_TYPE;
+                case "uuid":
+                    return UUID_TYPE;
+                default:
+                    return ConstantDataManager.SIMPLE_STRING_TYPE_NAME;
+            }
+        }
+        if ("array".equals(schemaType)) {
+            return LIST_TYPE;
+        }
+        return "object".equals(schemaType) ? MAP_TYPE : ConstantDataManager.SIMPLE_OBJECT_TYPE_NAME;
+    }
+
+    private static String box(String type) {
+        return WRAPPER_TYPES.getOrDefault(type, type);
+    }
+
+    /**
+     * Turns a column or property name such as {@code ORDER_ID} or {@code order-id} into a field name such as
+     * {@code orderId}.
+     */
+    static String toFieldName(String name) {
+        StringBuilder fieldName = new StringBuilder(name.length());
+        for (String word : WORD_SEPARATOR_PATTERN.split(name)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String casedWord = word.equals(word.toUpperCase(Locale.ROOT)) ? word.toLowerCase(Locale.ROOT) : word;
+            fieldName.append(fieldName.length() == 0
+                    ? Character.toLowerCase(casedWord.charAt(0))
+                    : Character.toUpperCase(casedWord.charAt(0)))
+                    .append(casedWord, 1, casedWord.length());
+        }
+        return fieldName.toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Estimates the memory taken by the fields of a bean under the HotSpot object layout.
+ * <p>
+ * Object headers take 12 bytes and references 4 bytes with compressed oops, 16 and 8 bytes without them. Instances
+ * are aligned to 8 bytes. The padding around hot fields counts in full, as it is what isolates them.
+ *
+ * @author Arthur Sadykov
+ */
+class FieldLayout {
+
+    private static final int OBJECT_ALIGNMENT = 8;
+    private static final int COMPRESSED_HEADER_SIZE = 12;
+    private static final int HEADER_SIZE = 16;
+    private static final int COMPRESSED_REFERENCE_SIZE = 4;
+    private static final int REFERENCE_SIZE = 8;
+
+    private FieldLayout() {
+    }
+
+    /**
+     * Orders the fields from the widest to the narrowest, the way HotSpot lays them out. The order is cosmetic: the
+     * JVM reorders the fields of a class by itself, so the declaration order neither removes padding nor changes the
+     * instance size; it only makes the source list the fields in layout order. References are ordered as with
+     * compressed oops. Fields of the same width keep their declaration order.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @return the fields in layout order
+     */
+    static Map<String, String> orderBySize(Map<String, String> nameToTypeMap) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(nameToTypeMap.entrySet());
+        entries.sort(Comparator.comparingInt(
+                (Map.Entry<String, String> entry) -> getFieldSize(entry.getValue(), true)).reversed());
+        Map<String, String> orderedMap = new LinkedHashMap<>();
+        entries.forEach(entry -> orderedMap.put(entry.getKey(), entry.getValue()));
+        return orderedMap;
+    }
+
+    /**
+     * @param fieldTypes the types of the instance fields, counters declared as {@code LongAdder}
+     * @param hotFieldCount the number of hot fields, each one isolated by padding on both sides
+     * @param compressedOops whether the JVM uses compressed oops
+     * @return the estimated shallow size of an instance in bytes
+     */
+    static int estimateShallowSize(Collection<String> fieldTypes, int hotFieldCount, boolean compressedOops) {
+        int headerSize = compressedOops ? COMPRESSED_HEADER_SIZE : HEADER_SIZE;
+        int fieldsSize = 0;
+        boolean onlyWideFields = hotFieldCount == 0;
+        for (String fieldType : fieldTypes) {
+            int fieldSize = getFieldSize(fieldType, compressedOops);
+            fieldsSize += fieldSize;
+            onlyWideFields &= fieldSize == 8;
+        }
+        int paddingSize = hotFieldCount == 0 ? 0 : (hotFieldCount + 1) * JavaBeanHotFieldsEmitter.PADDING_SIZE;
+        int size = headerSize + fieldsSize + paddingSize;
+        if (!fieldTypes.isEmpty() && onlyWideFields && headerSize % 8 != 0) {
+            // nothing fits into the gap between the header and the first 8 byte aligned field
+            size += 4;
+        }
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    static int getFieldSize(String fieldType, boolean compressedOops) {
+        switch (fieldType) {
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.DOUBLE:
+                return 8;
+            case ConstantDataManager.INT:
+            case ConstantDataManager.FLOAT:
+                return 4;
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.CHAR:
+                return 2;
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.BOOLEAN:
+                return 1;
+            default:
+                return compressedOops ? COMPRESSED_REFERENCE_SIZE : REFERENCE_SIZE;
+        }
+    }
+}
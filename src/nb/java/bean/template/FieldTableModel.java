@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.table.AbstractTableModel;
+import org.openide.util.NbBundle;
+import org.openide.util.NbBundle.Messages;
+
+/**
+ * The fields of the Java Bean entered in the wizard, one row per field.
+ * <p>
+ * The rows are plain {@link FieldDefinition}s drawn by the renderers of the table, so that the memory and the layout
+ * time of the wizard do not grow with the number of fields beyond the rows in view. Rows are added, removed and moved
+ * in bulk with a single event.
+ * <p>
+ * The model keeps the number of the rows with an invalid name or type and counts the rows per name, updating them
+ * only for the rows changed, so that the validity of all the fields is known without visiting them. It also counts
+ * the rows per type, so that each distinct type is looked up on the classpath once, however many fields have it.
+ *
+ * @author Arthur Sadykov
+ */
+class FieldTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+    static final int KIND_COLUMN = 0;
+    static final int TYPE_COLUMN = 1;
+    static final int NAME_COLUMN = 2;
+    static final int HOT_COLUMN = 3;
+    private static final String[] COLUMN_NAME_KEYS = {"KIND_COLUMN", "TYPE_COLUMN", "NAME_COLUMN", "HOT_COLUMN"};
+    private final List<FieldDefinition> fields = new ArrayList<>();
+    private final Map<String, Integer> nameCounts = new HashMap<>();
+    private final Set<String> duplicateNames = new LinkedHashSet<>();
+    private final Set<String> reservedNames = new LinkedHashSet<>();
+    private final Map<String, Integer> typeCounts = new HashMap<>();
+    private Set<String> unresolvedTypes = Collections.emptySet();
+    private int invalidNameCount;
+    private int invalidTypeCount;
+
+    List<FieldDefinition> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    FieldDefinition getField(int row) {
+        return fields.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return fields.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAME_KEYS.length;
+    }
+
+    @Messages({
+        "KIND_COLUMN=Kind",
+        "TYPE_COLUMN=Type",
+        "NAME_COLUMN=Name",
+        "HOT_COLUMN=Hot"
+    })
+    @Override
+    public String getColumnName(int column) {
+        return NbBundle.getMessage(FieldTableModel.class, COLUMN_NAME_KEYS[column]);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == HOT_COLUMN ? Boolean.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        // the type of a counter is fixed, and a counter is never hot
+        return !(fields.get(row).isCounter() && (column == TYPE_COLUMN || column == HOT_COLUMN));
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        FieldDefinition field = fields.get(row);
+        switch (column) {
+            case KIND_COLUMN:
+                return field.getKind();
+            case TYPE_COLUMN:
+                return field.getFieldType();
+            case NAME_COLUMN:
+                return field.getFieldName();
+            default:
+                return field.isHot();
+        }
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        FieldDefinition field = fields.get(row);
+        unindex(field);
+        switch (column) {
+            case KIND_COLUMN:
+                field.setKind((String) value);
+                break;
+            case TYPE_COLUMN:
+                field.setFieldType(((String) value).trim());
+                break;
+            case NAME_COLUMN:
+                field.setFieldName(((String) value).trim());
+                break;
+            default:
+                field.setHot((Boolean) value);
+        }
+        index(field);
+        if (column == KIND_COLUMN) {
+            fireTableRowsUpdated(row, row);
+        } else {
+            fireTableCellUpdated(row, column);
+        }
+    }
+
+    /**
+     * Appends the given fields to the table.
+     *
+     * @param newFields the fields to append, in order
+     */
+    void addFields(Collection<FieldDefinition> newFields) {
+        if (newFields.isEmpty()) {
+            return;
+        }
+        int firstRow = fields.size();
+        fields.addAll(newFields);
+        newFields.forEach(this::index);
+        fireTableRowsInserted(firstRow, fields.size() - 1);
+    }
+
+    /**
+     * Removes the fields in the given rows from the table.
+     *
+     * @param rows the indexes of the rows to remove, in any order
+     */
+    void removeFields(int[] rows) {
+        if (rows.length == 0) {
+            return;
+        }
+        boolean[] removed = new boolean[fields.size()];
+        for (int row : rows) {
+            removed[row] = true;
+        }
+        List<FieldDefinition> remainingFields = new ArrayList<>(fields.size() - rows.length);
+        for (int i = 0; i < fields.size(); i++) {
+            if (removed[i]) {
+                unindex(fields.get(i));
+            } else {
+                remainingFields.add(fields.get(i));
+            }
+        }
+        fields.clear();
+        fields.addAll(remainingFields);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Checks whether the fields in the given rows can all be moved by the given offset.
+     *
+     * @param rows the indexes of the rows to move
+     * @param offset {@code -1} to move the rows up, {@code 1} to move them down
+     * @return {@code true} if none of the rows would leave the table
+     */
+    boolean canMoveFields(int[] rows, int offset) {
+        if (rows.length == 0) {
+            return false;
+        }
+        int[] sortedRows = rows.clone();
+        Arrays.sort(sortedRows);
+        return offset < 0 ? sortedRows[0] + offset >= 0 : sortedRows[sortedRows.length - 1] + offset < fields.size();
+    }
+
+    /**
+     * Moves the fields in the given rows up or down by one row, keeping their order. The other fields take the rows
+     * left free.
+     *
+     * @param rows the indexes of the rows to move, accepted by {@link #canMoveFields(int[], int)}
+     * @param offset {@code -1} to move the rows up, {@code 1} to move them down
+     * @return the new indexes of the moved rows, in ascending order
+     */
+    int[] moveFields(int[] rows, int offset) {
+        int[] sortedRows = rows.clone();
+        Arrays.sort(sortedRows);
+        int[] movedRows = new int[sortedRows.length];
+        // the rows nearest to the destination are moved first so that a block of rows moves as a whole
+        for (int i = 0; i < sortedRows.length; i++) {
+            int index = offset < 0 ? i : sortedRows.length - 1 - i;
+            int row = sortedRows[index];
+            Collections.swap(fields, row, row + offset);
+            movedRows[index] = row + offset;
+        }
+        int firstRow = Math.min(sortedRows[0], sortedRows[0] + offset);
+        int lastRow = Math.max(sortedRows[sortedRows.length - 1], sortedRows[sortedRows.length - 1] + offset);
+        fireTableRowsUpdated(firstRow, lastRow);
+        return movedRows;
+    }
+
+    /**
+     * @param skippedRow the row to leave out, such as the row whose name is being edited, or {@code -1}
+     * @return {@code true} if a field in another row has an invalid name
+     */
+    boolean hasInvalidNames(int skippedRow) {
+        return invalidNameCount - (skippedRow >= 0 && !fields.get(skippedRow).hasValidName() ? 1 : 0) > 0;
+    }
+
+    /**
+     * @param skippedRow the row to leave out, such as the row whose type is being edited, or {@code -1}
+     * @return {@code true} if a field in another row has an invalid type
+     */
+    boolean hasInvalidTypes(int skippedRow) {
+        return invalidTypeCount - (skippedRow >= 0 && !fields.get(skippedRow).hasValidType() ? 1 : 0) > 0;
+    }
+
+    /**
+     * Finds a name given to more than one field, taking the name being edited in place of the name of its row.
+     *
+     * @param editedRow the row whose name is being edited, or {@code -1}
+     * @param editedName the name being edited, ignored if no row is edited
+     * @return a name given to more than one field, or {@code null} if the names are unique
+     */
+    String findDuplicateName(int editedRow, String editedName) {
+        String replacedName = editedRow >= 0 ? fields.get(editedRow).getFieldName() : null;
+        for (String duplicateName : duplicateNames) {
+            if (getNameCount(duplicateName) - (duplicateName.equals(replacedName) ? 1 : 0) > 1) {
+                return duplicateName;
+            }
+        }
+        if (editedRow >= 0 && getNameCount(editedName) - (editedName.equals(replacedName) ? 1 : 0) > 0) {
+            return editedName;
+        }
+        return null;
+    }
+
+    /**
+     * @param skippedRow the row to leave out, such as the row whose name is being edited, or {@code -1}
+     * @return a name of a field in another row that may clash with a generated member, or {@code null} if there is
+     * none
+     */
+    String findReservedName(int skippedRow) {
+        String skippedName = skippedRow >= 0 ? fields.get(skippedRow).getFieldName() : null;
+        for (String reservedName : reservedNames) {
+            if (getNameCount(reservedName) - (reservedName.equals(skippedName) ? 1 : 0) > 0) {
+                return reservedName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the distinct types of the fields
+     */
+    Set<String> getFieldTypes() {
+        return Collections.unmodifiableSet(typeCounts.keySet());
+    }
+
+    /**
+     * @param unresolvedTypes the types of the fields that cannot be found on the classpath
+     */
+    void setUnresolvedTypes(Set<String> unresolvedTypes) {
+        this.unresolvedTypes = unresolvedTypes;
+    }
+
+    /**
+     * @param skippedRow the row to leave out, such as the row whose type is being edited, or {@code -1}
+     * @return a type of a field in another row that cannot be found on the classpath, or {@code null} if there is none
+     */
+    String findUnresolvedType(int skippedRow) {
+        String skippedType = skippedRow >= 0 ? fields.get(skippedRow).getFieldType() : null;
+        for (String unresolvedType : unresolvedTypes) {
+            if (typeCounts.getOrDefault(unresolvedType, 0) - (unresolvedType.equals(skippedType) ? 1 : 0) > 0) {
+                return unresolvedType;
+            }
+        }
+        return null;
+    }
+
+    private int getNameCount(String name) {
+        return nameCounts.getOrDefault(name, 0);
+    }
+
+    private void index(FieldDefinition field) {
+        invalidNameCount += field.hasValidName() ? 0 : 1;
+        invalidTypeCount += field.hasValidType() ? 0 : 1;
+        if (nameCounts.merge(field.getFieldName(), 1, Integer::sum) == 2) {
+            duplicateNames.add(field.getFieldName());
+        }
+        if (field.hasReservedName()) {
+            reservedNames.add(field.getFieldName());
+        }
+        typeCounts.merge(field.getFieldType(), 1, Integer::sum);
+    }
+
+    private void unindex(FieldDefinition field) {
+        invalidNameCount -= field.hasValidName() ? 0 : 1;
+        invalidTypeCount -= field.hasValidType() ? 0 : 1;
+        int count = nameCounts.merge(field.getFieldName(), -1, Integer::sum);
+        if (count == 0) {
+            nameCounts.remove(field.getFieldName());
+            reservedNames.remove(field.getFieldName());
+        } else if (count == 1) {
+            duplicateNames.remove(field.getFieldName());
+        }
+        if (typeCounts.merge(field.getFieldType(), -1, Integer::sum) == 0) {
+            typeCounts.remove(field.getFieldType());
+        }
+    }
+}
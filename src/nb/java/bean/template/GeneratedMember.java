@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+
+/**
+ * A field or a method given by its source text, written out by {@link JavaBeanSourceEmitter} and built into trees
+ * by {@link JavaBeanGenerator}.
+ *
+ * @author Arthur Sadykov
+ */
+class GeneratedMember {
+
+    final Set<Modifier> modifiers;
+    final String type;
+    final String name;
+    final String initializer;
+    final List<String> parameters;
+    final List<String> thrownTypes;
+    final List<String> statements;
+    private final boolean field;
+    private final boolean overriding;
+
+    private GeneratedMember(Set<Modifier> modifiers, String type, String name, String initializer,
+            List<String> parameters, List<String> thrownTypes, List<String> statements, boolean field,
+            boolean overriding) {
+        this.modifiers = modifiers;
+        this.type = type;
+        this.name = name;
+        this.initializer = initializer;
+        this.parameters = parameters;
+        this.thrownTypes = thrownTypes;
+        this.statements = statements;
+        this.field = field;
+        this.overriding = overriding;
+    }
+
+    /**
+     * @param initializer the source of the initializer expression, or {@code null}
+     */
+    static GeneratedMember field(Set<Modifier> modifiers, String type, String name, String initializer) {
+        return new GeneratedMember(modifiers, type, name, initializer, Collections.<String>emptyList(),
+                Collections.<String>emptyList(), Collections.<String>emptyList(), true, false);
+    }
+
+    /**
+     * @param type the return type, or {@code null} for a constructor
+     * @param parameters the types and the names of the parameters, alternately
+     * @param thrownTypes the simple names of the thrown exception types
+     * @param statements the statements of the body, nested statements indented by four spaces per level
+     */
+    static GeneratedMember method(Set<Modifier> modifiers, String type, String name, List<String> parameters,
+            List<String> thrownTypes, List<String> statements) {
+        return new GeneratedMember(modifiers, type, name, null, parameters, thrownTypes, statements, false, false);
+    }
+
+    /**
+     * Same as {@link #method}, for a method annotated with {@code @Override}.
+     */
+    static GeneratedMember overridingMethod(Set<Modifier> modifiers, String type, String name,
+            List<String> parameters, List<String> thrownTypes, List<String> statements) {
+        return new GeneratedMember(modifiers, type, name, null, parameters, thrownTypes, statements, false, true);
+    }
+
+    boolean isField() {
+        return field;
+    }
+
+    boolean isOverriding() {
+        return overriding;
+    }
+
+    boolean isConstructor() {
+        return !field && type == null;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Reads the generation options of a Java Bean, keyed by the property names of {@link ConstantDataManager}, as set by
+ * the wizard or read from a batch specification.
+ * <p>
+ * A switch left unset is off. The options naming fields hold either a comma separated string, as entered in the
+ * wizard, or a collection, as read from a batch specification. A comparison key may prefix the field name with
+ * {@code -} to sort by it in descending order.
+ *
+ * @author Arthur Sadykov
+ */
+public class GenerationOptions {
+
+    private static final List<String> FIELD_LIST_PROPERTIES = Arrays.asList(
+            ConstantDataManager.COMPARISON_KEYS_PROPERTY,
+            ConstantDataManager.COUNTER_FIELDS_PROPERTY,
+            ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY,
+            ConstantDataManager.HOT_FIELDS_PROPERTY);
+
+    private GenerationOptions() {
+    }
+
+    /**
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @param property the name of a switch
+     * @return whether the switch is on
+     */
+    static boolean isEnabled(Map<String, ?> properties, String property) {
+        Object value = properties.get(property);
+        return value == null ? false : (boolean) value;
+    }
+
+    /**
+     * Reads a list of field names given either as a comma separated string, as entered in the wizard, or as a
+     * collection, as read from a batch specification.
+     *
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @param property the name of the option holding the list
+     * @return the field names, in the given order
+     */
+    static List<String> getFieldNames(Map<String, ?> properties, String property) {
+        Object value = properties.get(property);
+        List<String> names = new ArrayList<>();
+        if (value instanceof String) {
+            for (String name : ((String) value).split(",")) {
+                if (!name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+        } else if (value instanceof Collection) {
+            for (Object name : (Collection<?>) value) {
+                names.add(String.valueOf(name));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Finds the names, given by the options naming fields, which are not names of fields of the bean. The generators
+     * ignore such names, so a misspelt one would otherwise pass unnoticed.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the unknown names, without the prefix of a descending comparison key, in the order found
+     */
+    public static List<String> findUnknownFieldNames(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Set<String> unknownNames = new LinkedHashSet<>();
+        FIELD_LIST_PROPERTIES.forEach(property -> {
+            for (String name : getFieldNames(properties, property)) {
+                String fieldName = ConstantDataManager.COMPARISON_KEYS_PROPERTY.equals(property)
+                        && name.startsWith(ComparisonKeys.DESCENDING_PREFIX)
+                        ? name.substring(ComparisonKeys.DESCENDING_PREFIX.length()).trim()
+                        : name;
+                if (!nameToTypeMap.containsKey(fieldName)) {
+                    unknownNames.add(fieldName);
+                }
+            }
+        });
+        return new ArrayList<>(unknownNames);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Measures the stages of generating a single bean.
+ * <p>
+ * Stage timings are logged at {@link Level#FINE} to the {@value ConstantDataManager#GENERATION_LOGGER_NAME} logger.
+ * When running on a JVM with Flight Recorder, every stage is also recorded as a {@link GenerationStageEvent}
+ * carrying the field count and the selected options.
+ *
+ * @author Arthur Sadykov
+ */
+public class GenerationProfiler {
+
+    private static final Logger LOGGER = Logger.getLogger(ConstantDataManager.GENERATION_LOGGER_NAME);
+    private static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+    private final String beanName;
+    private final int fieldCount;
+    private final String options;
+    private final long startTime;
+
+    /**
+     * @param beanName the simple name of the generated bean
+     * @param fieldCount the number of fields of the bean
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     */
+    public GenerationProfiler(String beanName, int fieldCount, Map<String, ?> properties) {
+        this.beanName = beanName;
+        this.fieldCount = fieldCount;
+        this.options = describeOptions(properties);
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a stage.
+     *
+     * @param stageName the name of the stage
+     * @return the running stage, to be ended in a {@code finally} block, so that failing stages are measured too
+     */
+    public Stage start(String stageName) {
+        return new Stage(stageName);
+    }
+
+    /**
+     * Logs the total time spent since this profiler was created.
+     */
+    public void finish() {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "{0} [{1} fields; {2}]: generated in {3} ms",
+                    new Object[]{beanName, fieldCount, options, toMillis(System.nanoTime() - startTime)});
+        }
+    }
+
+    private static String describeOptions(Map<String, ?> properties) {
+        // the wizard properties contain the wizard's own settings too, those are not generation options
+        TreeSet<String> selectedOptions = new TreeSet<>();
+        properties.forEach((name, value) -> {
+            if (Boolean.TRUE.equals(value) && !name.startsWith(ConstantDataManager.WIZARD_PROPERTY_PREFIX)) {
+                selectedOptions.add(name);
+            }
+        });
+        return String.join(",", selectedOptions);
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName(ConstantDataManager.FLIGHT_RECORDER_EVENT_TYPE, false,
+                    GenerationProfiler.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public class Stage {
+
+        private final String stageName;
+        private final long stageStartTime;
+        // kept untyped, so that the event class is only loaded when Flight Recorder is present
+        private final Object event;
+
+        private Stage(String stageName) {
+            this.stageName = stageName;
+            this.event = FLIGHT_RECORDER_AVAILABLE ? GenerationStageEvent.beginStage() : null;
+            this.stageStartTime = System.nanoTime();
+        }
+
+        public void end() {
+            long duration = System.nanoTime() - stageStartTime;
+            if (event != null) {
+                GenerationStageEvent.commitStage(event, beanName, stageName, fieldCount, options);
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "{0}: {1} took {2} ms",
+                        new Object[]{beanName, stageName, toMillis(duration)});
+            }
+        }
+    }
+}
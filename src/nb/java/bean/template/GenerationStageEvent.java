@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one stage of the bean generation. Only used through {@link GenerationProfiler}, which
+ * makes sure that Flight Recorder is available.
+ *
+ * @author Arthur Sadykov
+ */
+@Name("nb.java.bean.template.GenerationStage")
+@Label("Java Bean Generation Stage")
+@Category({"NetBeans", "Java Bean Template"})
+@Description("A stage of generating a Java Bean")
+class GenerationStageEvent extends Event {
+
+    @Label("Bean")
+    String beanName;
+    @Label("Stage")
+    String stage;
+    @Label("Field Count")
+    int fieldCount;
+    @Label("Options")
+    String options;
+
+    static Object beginStage() {
+        GenerationStageEvent event = new GenerationStageEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void commitStage(Object stageEvent, String beanName, String stage, int fieldCount, String options) {
+        GenerationStageEvent event = (GenerationStageEvent) stageEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.beanName = beanName;
+            event.stage = stage;
+            event.fieldCount = fieldCount;
+            event.options = options;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.queries.UnitTestForSourceQuery;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.filesystems.URLMapper;
+
+/**
+ * Renders a JMH benchmark of the {@code equals}, {@code hashCode} and {@code toString} methods generated for a Java
+ * Bean and writes it into the test sources of the project, into the package of the bean.
+ * <p>
+ * The benchmark fills the beans with random values and measures the generated methods together with {@code HashMap}
+ * lookups keyed by the bean. The project is expected to have JMH on its test classpath.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanBenchmarkEmitter {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaBeanBenchmarkEmitter.class.getName());
+    private static final String INDENT = "    ";
+    private static final String BODY_INDENT = INDENT + INDENT;
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+
+    public JavaBeanBenchmarkEmitter(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties) {
+        this.className = className;
+        // counters have no getters and setters to go through
+        this.nameToTypeMap = CounterFields.removeCounters(nameToTypeMap, properties);
+        this.properties = new HashMap<>(properties);
+    }
+
+    /**
+     * Checks whether a benchmark should be generated for the bean described by the given options.
+     *
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the benchmark is requested and there is at least one generated method to measure
+     */
+    public static boolean isApplicable(Map<String, ?> properties) {
+        return GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_BENCHMARK_PROPERTY)
+                && (GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_EQUALS_PROPERTY)
+                || GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_HASH_CODE_PROPERTY)
+                || GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_TO_STRING_PROPERTY));
+    }
+
+    /**
+     * Writes the benchmark into the test sources belonging to the source root of the bean. An existing benchmark of
+     * the bean is overwritten.
+     *
+     * @param beanFolder the package folder the bean was generated into
+     * @return the benchmark source file, or {@code null} if the project has no test sources for the bean
+     * @throws IOException if the benchmark cannot be written
+     */
+    public FileObject write(FileObject beanFolder) throws IOException {
+        ClassPath sourcePath = ClassPath.getClassPath(beanFolder, ClassPath.SOURCE);
+        FileObject sourceRoot = sourcePath == null ? null : sourcePath.findOwnerRoot(beanFolder);
+        FileObject testRoot = sourceRoot == null ? null : findTestRoot(sourceRoot);
+        if (testRoot == null) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.NO_TEST_SOURCES, beanFolder.getPath());
+            return null;
+        }
+        String packagePath = FileUtil.getRelativePath(sourceRoot, beanFolder);
+        FileObject testFolder = packagePath.isEmpty() ? testRoot : FileUtil.createFolder(testRoot, packagePath);
+        String source = emitSource(packagePath.replace('/', '.'));
+        FileObject benchmarkFile =
+                FileUtil.createData(testFolder, className + ConstantDataManager.BENCHMARK_CLASS_SUFFIX + ".java");
+        try (OutputStream outputStream = benchmarkFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, FileEncodingQuery.getEncoding(benchmarkFile))) {
+            writer.write(source);
+        }
+        return benchmarkFile;
+    }
+
+    static FileObject findTestRoot(FileObject sourceRoot) {
+        for (URL testRootUrl : UnitTestForSourceQuery.findUnitTests(sourceRoot)) {
+            FileObject testRoot = URLMapper.findFileObject(testRootUrl);
+            if (testRoot != null) {
+                return testRoot;
+            }
+        }
+        return null;
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    String emitSource(String packageName) {
+        boolean generateEquals = isEnabled(ConstantDataManager.GENERATE_EQUALS_PROPERTY);
+        boolean generateHashCode = isEnabled(ConstantDataManager.GENERATE_HASH_CODE_PROPERTY);
+        boolean generateToString = isEnabled(ConstantDataManager.GENERATE_TO_STRING_PROPERTY);
+        boolean immutable = isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+        boolean generateSetters = isEnabled(ConstantDataManager.GENERATE_SETTERS_PROPERTY) && !immutable;
+        boolean setFields = !immutable && !generateSetters;
+        boolean measureHashMap = generateEquals && generateHashCode;
+        String benchmarkName = className + ConstantDataManager.BENCHMARK_CLASS_SUFFIX;
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (setFields) {
+            source.append("import java.lang.reflect.Field;\n");
+        }
+        if (measureHashMap) {
+            source.append("import java.util.HashMap;\n")
+                    .append("import java.util.Map;\n");
+        }
+        source.append("import java.util.Random;\n")
+                .append("import java.util.concurrent.TimeUnit;\n")
+                .append("import org.openjdk.jmh.annotations.Benchmark;\n")
+                .append("import org.openjdk.jmh.annotations.BenchmarkMode;\n")
+                .append("import org.openjdk.jmh.annotations.Fork;\n")
+                .append("import org.openjdk.jmh.annotations.Measurement;\n")
+                .append("import org.openjdk.jmh.annotations.Mode;\n")
+                .append("import org.openjdk.jmh.annotations.OutputTimeUnit;\n")
+                .append("import org.openjdk.jmh.annotations.Scope;\n")
+                .append("import org.openjdk.jmh.annotations.Setup;\n")
+                .append("import org.openjdk.jmh.annotations.State;\n")
+                .append("import org.openjdk.jmh.annotations.Warmup;\n")
+                .append('\n')
+                .append("@BenchmarkMode(Mode.Throughput)\n")
+                .append("@OutputTimeUnit(TimeUnit.MICROSECONDS)\n")
+                .append("@Warmup(iterations = 5, time = 1)\n")
+                .append("@Measurement(iterations = 5, time = 1)\n")
+                .append("@Fork(1)\n")
+                .append("@State(Scope.Thread)\n")
+                .append("public class ").append(benchmarkName).append(" {\n")
+                .append('\n')
+                .append(INDENT).append("private static final int BEAN_COUNT = 1024;\n")
+                .append(INDENT).append("private static final int MASK = BEAN_COUNT - 1;\n")
+                .append(INDENT).append("private ").append(className).append("[] beans;\n")
+                .append(INDENT).append("private ").append(className).append("[] copies;\n");
+        if (measureHashMap) {
+            source.append(INDENT).append("private Map<").append(className).append(", Integer> map;\n");
+        }
+        source.append(INDENT).append("private int index;\n")
+                .append('\n')
+                .append(INDENT).append("@Setup\n")
+                .append(INDENT).append("public void setUp() {\n");
+        appendStatement(source, "Random random = new Random(42);");
+        appendStatement(source, "beans = new " + className + "[BEAN_COUNT];");
+        appendStatement(source, "copies = new " + className + "[BEAN_COUNT];");
+        if (measureHashMap) {
+            appendStatement(source, "map = new HashMap<>();");
+        }
+        appendStatement(source, "for (int i = 0; i < BEAN_COUNT; i++) {");
+        appendStatement(source, INDENT + "long seed = random.nextLong();");
+        appendStatement(source, INDENT + "beans[i] = newBean(new Random(seed));");
+        appendStatement(source, INDENT + "copies[i] = newBean(new Random(seed));");
+        if (measureHashMap) {
+            appendStatement(source, INDENT + "map.put(beans[i], i);");
+        }
+        appendStatement(source, "}");
+        source.append(INDENT).append("}\n");
+        if (immutable) {
+            emitNewImmutableBeanMethod(source);
+        } else {
+            emitNewBeanMethod(source, generateSetters);
+        }
+        source.append('\n')
+                .append(INDENT).append("private int next() {\n");
+        appendStatement(source, "index = (index + 1) & MASK;");
+        appendStatement(source, "return index;");
+        source.append(INDENT).append("}\n");
+        if (generateEquals) {
+            emitBenchmarkMethod(source, "boolean", "measureEqualsOfEqualBeans", "int i = next();",
+                    "return beans[i].equals(copies[i]);");
+            emitBenchmarkMethod(source, "boolean", "measureEqualsOfDifferentBeans", "int i = next();",
+                    "return beans[i].equals(beans[(i + 1) & MASK]);");
+        }
+        if (generateHashCode) {
+            emitBenchmarkMethod(source, "int", "measureHashCode", null, "return beans[next()].hashCode();");
+        }
+        if (generateToString) {
+            emitBenchmarkMethod(source, "String", "measureToString", null, "return beans[next()].toString();");
+        }
+        if (measureHashMap) {
+            emitBenchmarkMethod(source, "Integer", "measureHashMapGet", null, "return map.get(copies[next()]);");
+            emitBenchmarkMethod(source, "Integer", "measureHashMapPut", "int i = next();",
+                    "return map.put(copies[i], i);");
+        }
+        if (setFields) {
+            emitSetFieldMethod(source);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void emitNewBeanMethod(StringBuilder source, boolean generateSetters) {
+        source.append('\n')
+                .append(INDENT).append("private static ").append(className).append(" newBean(Random random) {\n");
+        appendStatement(source, className + " bean = new " + className + "();");
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            String randomValue = createRandomValue(fieldType);
+            if (randomValue == null) {
+                // values of other types cannot be made up, the field is left null
+                return;
+            }
+            if (!generateSetters && isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY)
+                    && PackedFlags.isFlag(fieldType)) {
+                // packed flags are no fields of their own, the flag is left false
+                return;
+            }
+            if (generateSetters) {
+                appendStatement(source, "bean." + ConstantDataManager.SET_PREFIX
+                        + JavaBeanGenerator.capitalize(fieldName) + "(" + randomValue + ");");
+            } else {
+                appendStatement(source, "setField(bean, \"" + fieldName + "\", " + randomValue + ");");
+            }
+        });
+        appendStatement(source, "return bean;");
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitNewImmutableBeanMethod(StringBuilder source) {
+        source.append('\n')
+                .append(INDENT).append("private static ").append(className).append(" newBean(Random random) {\n");
+        StringBuilder arguments = new StringBuilder();
+        nameToTypeMap.values().forEach(fieldType -> {
+            String randomValue = createRandomValue(fieldType);
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(randomValue == null ? "null" : randomValue);
+        });
+        appendStatement(source, "return new " + className + "(" + arguments + ");");
+        source.append(INDENT).append("}\n");
+    }
+
+    private static void emitSetFieldMethod(StringBuilder source) {
+        source.append('\n')
+                .append(INDENT).append("private static void setField(Object bean, String fieldName, Object value) {\n");
+        // hot fields are declared by superclasses of the bean
+        appendStatement(source, "for (Class<?> type = bean.getClass(); type != null; type = type.getSuperclass()) {");
+        appendStatement(source, INDENT + "try {");
+        appendStatement(source, INDENT + INDENT + "Field field = type.getDeclaredField(fieldName);");
+        appendStatement(source, INDENT + INDENT + "field.setAccessible(true);");
+        appendStatement(source, INDENT + INDENT + "field.set(bean, value);");
+        appendStatement(source, INDENT + INDENT + "return;");
+        appendStatement(source, INDENT + "} catch (NoSuchFieldException ex) {");
+        appendStatement(source, INDENT + INDENT + "// declared by a superclass");
+        appendStatement(source, INDENT + "} catch (IllegalAccessException ex) {");
+        appendStatement(source, INDENT + INDENT + "throw new IllegalStateException(ex);");
+        appendStatement(source, INDENT + "}");
+        appendStatement(source, "}");
+        appendStatement(source, "throw new IllegalArgumentException(fieldName);");
+        source.append(INDENT).append("}\n");
+    }
+
+    private static void emitBenchmarkMethod(StringBuilder source, String returnType, String methodName,
+            String firstStatement, String returnStatement) {
+        source.append('\n')
+                .append(INDENT).append("@Benchmark\n")
+                .append(INDENT).append("public ").append(returnType).append(' ').append(methodName).append("() {\n");
+        if (firstStatement != null) {
+            appendStatement(source, firstStatement);
+        }
+        appendStatement(source, returnStatement);
+        source.append(INDENT).append("}\n");
+    }
+
+    private static String createRandomValue(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+            case ConstantDataManager.BOOLEAN_TYPE:
+                return "random.nextBoolean()";
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+                return "(byte) random.nextInt()";
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+                return "(short) random.nextInt()";
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+                return "(char) ('a' + random.nextInt(26))";
+            case ConstantDataManager.INT:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+                return "random.nextInt()";
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+                return "random.nextLong()";
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+                return "random.nextFloat()";
+            case ConstantDataManager.DOUBLE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                return "random.nextDouble()";
+            case ConstantDataManager.SIMPLE_STRING_TYPE_NAME:
+            case ConstantDataManager.STRING_TYPE:
+                return "Long.toString(random.nextLong(), 36)";
+            default:
+                return null;
+        }
+    }
+
+    private static void appendStatement(StringBuilder source, String statement) {
+        source.append(BODY_INDENT).append(statement).append('\n');
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Renders a struct-of-arrays companion of a Java Bean that keeps many beans as one array per field, and writes it
+ * next to the bean.
+ * <p>
+ * Primitive fields are kept in primitive arrays, so that scanning a single field touches only its own array and
+ * never boxes. Fields of other types are kept in {@code Object} arrays. The arrays grow by half of their length when
+ * full. Beans are converted to rows with the getters of the bean and back with its setters or its constructor.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanColumnsEmitter {
+
+    private static final String INDENT = "    ";
+    private static final String BODY_INDENT = INDENT + INDENT;
+    private static final String COLUMN_SUFFIX = "Column";
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+
+    public JavaBeanColumnsEmitter(String className, Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        this.className = className;
+        // counters have no getters and setters to go through
+        this.nameToTypeMap = CounterFields.removeCounters(nameToTypeMap, properties);
+        this.properties = new HashMap<>(properties);
+    }
+
+    /**
+     * Checks whether a columns companion should be generated for the bean described by the given options.
+     *
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the columns companion is requested
+     */
+    public static boolean isApplicable(Map<String, ?> properties) {
+        return GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_COLUMNS_PROPERTY);
+    }
+
+    /**
+     * Writes the columns companion into the package folder of the bean. An existing companion of the bean is
+     * overwritten.
+     *
+     * @param beanFolder the package folder the bean was generated into
+     * @return the companion source file
+     * @throws IOException if the companion cannot be written
+     */
+    public FileObject write(FileObject beanFolder) throws IOException {
+        ClassPath sourcePath = ClassPath.getClassPath(beanFolder, ClassPath.SOURCE);
+        String packageName = sourcePath == null ? "" : sourcePath.getResourceName(beanFolder, '.', false);
+        String source = emitSource(packageName);
+        FileObject columnsFile =
+                FileUtil.createData(beanFolder, className + ConstantDataManager.COLUMNS_CLASS_SUFFIX + ".java");
+        try (OutputStream outputStream = columnsFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, FileEncodingQuery.getEncoding(columnsFile))) {
+            writer.write(source);
+        }
+        return columnsFile;
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    String emitSource(String packageName) {
+        boolean immutable = isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+        boolean fromBeans = isEnabled(ConstantDataManager.GENERATE_GETTERS_PROPERTY);
+        boolean toBeans = immutable || isEnabled(ConstantDataManager.GENERATE_SETTERS_PROPERTY);
+        String columnsName = className + ConstantDataManager.COLUMNS_CLASS_SUFFIX;
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.Arrays;\n")
+                .append('\n')
+                .append("public class ").append(columnsName).append(" {\n")
+                .append('\n')
+                .append(INDENT).append("private static final int DEFAULT_CAPACITY = 16;\n")
+                .append(INDENT).append("private int size;\n");
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            source.append(INDENT).append("private ").append(getArrayType(fieldType)).append(' ')
+                    .append(fieldName).append(COLUMN_SUFFIX).append(";\n");
+        });
+        source.append('\n')
+                .append(INDENT).append("public ").append(columnsName).append("() {\n");
+        appendStatement(source, "this(DEFAULT_CAPACITY);");
+        source.append(INDENT).append("}\n");
+        source.append('\n')
+                .append(INDENT).append("public ").append(columnsName).append("(int capacity) {\n");
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            appendStatement(source, "this." + fieldName + COLUMN_SUFFIX + " = new "
+                    + getArrayType(fieldType).replace("[]", "[capacity]") + ";");
+        });
+        source.append(INDENT).append("}\n");
+        if (fromBeans) {
+            source.append('\n')
+                    .append(INDENT).append("public static ").append(columnsName).append(" of(Iterable<? extends ")
+                    .append(className).append("> beans) {\n");
+            appendStatement(source, columnsName + " columns = new " + columnsName + "();");
+            appendStatement(source, "for (" + className + " bean : beans) {");
+            appendStatement(source, INDENT + "columns.add(bean);");
+            appendStatement(source, "}");
+            appendStatement(source, "return columns;");
+            source.append(INDENT).append("}\n");
+        }
+        source.append('\n')
+                .append(INDENT).append("public int size() {\n");
+        appendStatement(source, "return size;");
+        source.append(INDENT).append("}\n");
+        emitAddMethod(source);
+        if (fromBeans) {
+            emitAddBeanMethod(source);
+        }
+        if (toBeans) {
+            emitToBeanMethod(source, immutable);
+        }
+        nameToTypeMap.forEach((fieldName, fieldType) -> emitGetter(source, fieldName, fieldType));
+        nameToTypeMap.forEach((fieldName, fieldType) -> emitSetter(source, fieldName, fieldType));
+        source.append('\n')
+                .append(INDENT).append("public void clear() {\n");
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (!FieldDefinition.isPrimitive(fieldType)) {
+                // drop the references, so that the removed values can be collected
+                appendStatement(source, "Arrays.fill(" + fieldName + COLUMN_SUFFIX + ", 0, size, null);");
+            }
+        });
+        appendStatement(source, "size = 0;");
+        source.append(INDENT).append("}\n");
+        emitEnsureCapacityMethod(source);
+        source.append('\n')
+                .append(INDENT).append("private void checkIndex(int index) {\n");
+        appendStatement(source, "if (index < 0 || index >= size) {");
+        appendStatement(source,
+                INDENT + "throw new IndexOutOfBoundsException(\"Index: \" + index + \", Size: \" + size);");
+        appendStatement(source, "}");
+        source.append(INDENT).append("}\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void emitAddMethod(StringBuilder source) {
+        StringBuilder parameters = new StringBuilder();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(fieldType).append(' ').append(fieldName);
+        });
+        source.append('\n')
+                .append(INDENT).append("public int add(").append(parameters).append(") {\n");
+        appendStatement(source, "ensureCapacity(size + 1);");
+        nameToTypeMap.keySet().forEach(fieldName -> {
+            appendStatement(source, fieldName + COLUMN_SUFFIX + "[size] = " + fieldName + ";");
+        });
+        appendStatement(source, "return size++;");
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitAddBeanMethod(StringBuilder source) {
+        StringBuilder arguments = new StringBuilder();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append("bean.").append(getterName(fieldName, fieldType)).append("()");
+        });
+        source.append('\n')
+                .append(INDENT).append("public int add(").append(className).append(" bean) {\n");
+        appendStatement(source, "return add(" + arguments + ");");
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitToBeanMethod(StringBuilder source, boolean immutable) {
+        source.append('\n')
+                .append(INDENT).append("public ").append(className).append(" toBean(int index) {\n");
+        if (immutable) {
+            StringBuilder arguments = new StringBuilder();
+            nameToTypeMap.forEach((fieldName, fieldType) -> {
+                if (arguments.length() > 0) {
+                    arguments.append(", ");
+                }
+                arguments.append(getterName(fieldName, fieldType)).append("(index)");
+            });
+            appendStatement(source, "return new " + className + "(" + arguments + ");");
+        } else {
+            appendStatement(source, className + " bean = new " + className + "();");
+            nameToTypeMap.forEach((fieldName, fieldType) -> {
+                appendStatement(source, "bean." + ConstantDataManager.SET_PREFIX
+                        + JavaBeanGenerator.capitalize(fieldName) + "(" + getterName(fieldName, fieldType)
+                        + "(index));");
+            });
+            appendStatement(source, "return bean;");
+        }
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitGetter(StringBuilder source, String fieldName, String fieldType) {
+        source.append('\n');
+        if (fieldType.contains("<")) {
+            source.append(INDENT).append("@SuppressWarnings(\"unchecked\")\n");
+        }
+        source.append(INDENT).append("public ").append(fieldType).append(' ')
+                .append(getterName(fieldName, fieldType)).append("(int index) {\n");
+        appendStatement(source, "checkIndex(index);");
+        appendStatement(source, "return " + readValue(fieldName, fieldType) + ";");
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitSetter(StringBuilder source, String fieldName, String fieldType) {
+        source.append('\n')
+                .append(INDENT).append("public void ").append(ConstantDataManager.SET_PREFIX)
+                .append(JavaBeanGenerator.capitalize(fieldName)).append("(int index, ").append(fieldType)
+                .append(' ').append(fieldName).append(") {\n");
+        appendStatement(source, "checkIndex(index);");
+        appendStatement(source, fieldName + COLUMN_SUFFIX + "[index] = " + fieldName + ";");
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitEnsureCapacityMethod(StringBuilder source) {
+        String firstColumn = nameToTypeMap.isEmpty() ? null : nameToTypeMap.keySet().iterator().next() + COLUMN_SUFFIX;
+        source.append('\n')
+                .append(INDENT).append("private void ensureCapacity(int minCapacity) {\n");
+        if (firstColumn != null) {
+            appendStatement(source, "int capacity = " + firstColumn + ".length;");
+            appendStatement(source, "if (minCapacity > capacity) {");
+            appendStatement(source, INDENT + "int newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));");
+            nameToTypeMap.keySet().forEach(fieldName -> {
+                String column = fieldName + COLUMN_SUFFIX;
+                appendStatement(source, INDENT + column + " = Arrays.copyOf(" + column + ", newCapacity);");
+            });
+            appendStatement(source, "}");
+        }
+        source.append(INDENT).append("}\n");
+    }
+
+    private static String readValue(String fieldName, String fieldType) {
+        String element = fieldName + COLUMN_SUFFIX + "[index]";
+        return FieldDefinition.isPrimitive(fieldType) ? element : "(" + fieldType + ") " + element;
+    }
+
+    private static String getArrayType(String fieldType) {
+        return FieldDefinition.isPrimitive(fieldType) ? fieldType + "[]" : "Object[]";
+    }
+
+    private static String getterName(String fieldName, String fieldType) {
+        String prefix = fieldType.equals(ConstantDataManager.BOOLEAN_TYPE)
+                || fieldType.equals(ConstantDataManager.BOOLEAN)
+                || fieldType.equals(ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE)
+                ? ConstantDataManager.IS_PREFIX
+                : ConstantDataManager.GET_PREFIX;
+        return prefix.concat(JavaBeanGenerator.capitalize(fieldName));
+    }
+
+    private static void appendStatement(StringBuilder source, String statement) {
+        source.append(BODY_INDENT).append(statement).append('\n');
+    }
+}
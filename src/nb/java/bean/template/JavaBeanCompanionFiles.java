@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+import org.openide.filesystems.FileObject;
+
+/**
+ * Writes the files generated next to a Java Bean: the benchmark, the superclasses isolating the hot fields, the
+ * false sharing benchmark, the flyweight and the columns, each one only if selected for the bean. Used by both the
+ * wizard and the batch generator, so that both create the same files.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanCompanionFiles {
+
+    private JavaBeanCompanionFiles() {
+    }
+
+    /**
+     * Writes the files selected for the bean into its package folder.
+     *
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @param beanFolder the package folder the bean was generated into
+     * @param profiler the profiler measuring the writing of every file
+     * @return the written files, in the order they were written
+     * @throws IOException if a file cannot be written
+     */
+    public static List<FileObject> write(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties, FileObject beanFolder, GenerationProfiler profiler) throws IOException {
+        List<FileObject> writtenFiles = new ArrayList<>();
+        if (JavaBeanBenchmarkEmitter.isApplicable(properties)) {
+            GenerationProfiler.Stage writeBenchmarkStage = profiler.start("writeBenchmark");
+            try {
+                addIfWritten(writtenFiles,
+                        new JavaBeanBenchmarkEmitter(className, nameToTypeMap, properties).write(beanFolder));
+            } finally {
+                writeBenchmarkStage.end();
+            }
+        }
+        if (JavaBeanHotFieldsEmitter.isApplicable(nameToTypeMap, properties)) {
+            GenerationProfiler.Stage writeHotFieldsStage = profiler.start("writeHotFields");
+            try {
+                writtenFiles.add(new JavaBeanHotFieldsEmitter(className, nameToTypeMap, properties).write(beanFolder));
+            } finally {
+                writeHotFieldsStage.end();
+            }
+        }
+        if (JavaBeanFalseSharingBenchmarkEmitter.isApplicable(nameToTypeMap, properties)) {
+            GenerationProfiler.Stage writeFalseSharingBenchmarkStage = profiler.start("writeFalseSharingBenchmark");
+            try {
+                addIfWritten(writtenFiles, new JavaBeanFalseSharingBenchmarkEmitter(className, nameToTypeMap,
+                        properties).write(beanFolder));
+            } finally {
+                writeFalseSharingBenchmarkStage.end();
+            }
+        }
+        if (JavaBeanFlyweightEmitter.isApplicable(properties)) {
+            GenerationProfiler.Stage writeFlyweightStage = profiler.start("writeFlyweight");
+            try {
+                writtenFiles.add(new JavaBeanFlyweightEmitter(className, nameToTypeMap, properties).write(beanFolder));
+            } finally {
+                writeFlyweightStage.end();
+            }
+        }
+        if (JavaBeanColumnsEmitter.isApplicable(properties)) {
+            GenerationProfiler.Stage writeColumnsStage = profiler.start("writeColumns");
+            try {
+                writtenFiles.add(new JavaBeanColumnsEmitter(className, nameToTypeMap, properties).write(beanFolder));
+            } finally {
+                writeColumnsStage.end();
+            }
+        }
+        return writtenFiles;
+    }
+
+    private static void addIfWritten(List<FileObject> writtenFiles, FileObject file) {
+        // the benchmarks are not written if the project has no test sources for the bean
+        if (file != null) {
+            writtenFiles.add(file);
+        }
+    }
+}
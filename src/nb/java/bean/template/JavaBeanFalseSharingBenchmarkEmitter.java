@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Renders a JMH benchmark of the writes to the hot fields of a Java Bean and writes it into the test sources of the
+ * project, into the package of the bean.
+ * <p>
+ * Every hot field is written by a thread of its own, once in the bean, where the hot fields are isolated on cache
+ * lines of their own, and once in a nested class declaring the same fields next to each other, so that the two
+ * groups of threads show the throughput won by the padding. Only the hot fields of primitive types are written,
+ * numbers are incremented and flags are negated. The project is expected to have JMH on its test classpath.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanFalseSharingBenchmarkEmitter {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaBeanFalseSharingBenchmarkEmitter.class.getName());
+    private static final String INDENT = "    ";
+    private static final String BODY_INDENT = INDENT + INDENT;
+    private static final String PADDED = "padded";
+    private static final String UNPADDED = "unpadded";
+    private final String className;
+    private final Map<String, String> writtenFields;
+    private final boolean volatileFields;
+
+    public JavaBeanFalseSharingBenchmarkEmitter(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties) {
+        this.className = className;
+        this.writtenFields = getWrittenFields(nameToTypeMap, properties);
+        this.volatileFields = AtomicAccessors.declaresVolatileFields(properties);
+    }
+
+    /**
+     * Checks whether a false sharing benchmark should be generated for the bean described by the given fields and
+     * options.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the benchmark is requested and at least two hot fields can be written concurrently
+     */
+    public static boolean isApplicable(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Object generateBenchmark = properties.get(ConstantDataManager.GENERATE_BENCHMARK_PROPERTY);
+        return generateBenchmark != null && (boolean) generateBenchmark
+                && getWrittenFields(nameToTypeMap, properties).size() > 1;
+    }
+
+    private static Map<String, String> getWrittenFields(Map<String, String> nameToTypeMap,
+            Map<String, ?> properties) {
+        Map<String, String> writtenFields = new LinkedHashMap<>();
+        JavaBeanHotFieldsEmitter.getHotFields(nameToTypeMap, properties).forEach((fieldName, fieldType) -> {
+            if (FieldDefinition.isPrimitive(fieldType)) {
+                writtenFields.put(fieldName, fieldType);
+            }
+        });
+        return writtenFields;
+    }
+
+    /**
+     * Writes the benchmark into the test sources belonging to the source root of the bean. An existing benchmark of
+     * the bean is overwritten.
+     *
+     * @param beanFolder the package folder the bean was generated into
+     * @return the benchmark source file, or {@code null} if the project has no test sources for the bean
+     * @throws IOException if the benchmark cannot be written
+     */
+    public FileObject write(FileObject beanFolder) throws IOException {
+        ClassPath sourcePath = ClassPath.getClassPath(beanFolder, ClassPath.SOURCE);
+        FileObject sourceRoot = sourcePath == null ? null : sourcePath.findOwnerRoot(beanFolder);
+        FileObject testRoot = sourceRoot == null ? null : JavaBeanBenchmarkEmitter.findTestRoot(sourceRoot);
+        if (testRoot == null) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.NO_TEST_SOURCES, beanFolder.getPath());
+            return null;
+        }
+        String packagePath = FileUtil.getRelativePath(sourceRoot, beanFolder);
+        FileObject testFolder = packagePath.isEmpty() ? testRoot : FileUtil.createFolder(testRoot, packagePath);
+        String source = emitSource(packagePath.replace('/', '.'));
+        FileObject benchmarkFile = FileUtil.createData(testFolder,
+                className + ConstantDataManager.FALSE_SHARING_BENCHMARK_CLASS_SUFFIX + ".java");
+        try (OutputStream outputStream = benchmarkFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, FileEncodingQuery.getEncoding(benchmarkFile))) {
+            writer.write(source);
+        }
+        return benchmarkFile;
+    }
+
+    String emitSource(String packageName) {
+        String benchmarkName = className + ConstantDataManager.FALSE_SHARING_BENCHMARK_CLASS_SUFFIX;
+        String modifiers = volatileFields ? "volatile " : "";
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.concurrent.TimeUnit;\n")
+                .append("import org.openjdk.jmh.annotations.Benchmark;\n")
+                .append("import org.openjdk.jmh.annotations.BenchmarkMode;\n")
+                .append("import org.openjdk.jmh.annotations.Fork;\n")
+                .append("import org.openjdk.jmh.annotations.Group;\n")
+                .append("import org.openjdk.jmh.annotations.Measurement;\n")
+                .append("import org.openjdk.jmh.annotations.Mode;\n")
+                .append("import org.openjdk.jmh.annotations.OutputTimeUnit;\n")
+                .append("import org.openjdk.jmh.annotations.Scope;\n")
+                .append("import org.openjdk.jmh.annotations.State;\n")
+                .append("import org.openjdk.jmh.annotations.Warmup;\n")
+                .append('\n')
+                .append("@BenchmarkMode(Mode.Throughput)\n")
+                .append("@OutputTimeUnit(TimeUnit.MICROSECONDS)\n")
+                .append("@Warmup(iterations = 5, time = 1)\n")
+                .append("@Measurement(iterations = 5, time = 1)\n")
+                .append("@Fork(1)\n")
+                .append("@State(Scope.Group)\n")
+                .append("public class ").append(benchmarkName).append(" {\n")
+                .append('\n')
+                .append(INDENT).append("private final ").append(className).append(' ').append(PADDED)
+                .append(" = new ").append(className).append("();\n")
+                .append(INDENT).append("private final Unpadded ").append(UNPADDED).append(" = new Unpadded();\n")
+                .append('\n')
+                .append(INDENT).append("static class Unpadded {\n")
+                .append('\n');
+        writtenFields.forEach((fieldName, fieldType) -> {
+            source.append(BODY_INDENT).append(modifiers).append(fieldType).append(' ').append(fieldName)
+                    .append(";\n");
+        });
+        source.append(INDENT).append("}\n");
+        writtenFields.forEach((fieldName, fieldType) -> emitWriteMethod(source, PADDED, fieldName, fieldType));
+        writtenFields.forEach((fieldName, fieldType) -> emitWriteMethod(source, UNPADDED, fieldName, fieldType));
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void emitWriteMethod(StringBuilder source, String owner, String fieldName, String fieldType) {
+        String field = owner + "." + fieldName;
+        source.append('\n')
+                .append(INDENT).append("@Benchmark\n")
+                .append(INDENT).append("@Group(\"").append(owner).append("\")\n")
+                .append(INDENT).append("public ").append(fieldType).append(" write")
+                .append(JavaBeanGenerator.capitalize(owner)).append(JavaBeanGenerator.capitalize(fieldName))
+                .append("() {\n")
+                .append(BODY_INDENT).append("return ")
+                .append(PackedFlags.isFlag(fieldType) ? field + " = !" + field : "++" + field).append(";\n")
+                .append(INDENT).append("}\n");
+    }
+}
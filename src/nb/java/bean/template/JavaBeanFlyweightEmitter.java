@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Renders a flyweight of a Java Bean that keeps the values of the bean in fixed-size records of a {@code ByteBuffer}
+ * instead of in fields, and writes it next to the bean.
+ * <p>
+ * Only fields of primitive types have a fixed width, fields of other types are left out of the records. The fields
+ * are laid out from the widest to the narrowest and the record size is rounded up to the widest field, so that every
+ * value stays aligned in a buffer of consecutive records. A single flyweight is moved over any number of records
+ * without allocating.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanFlyweightEmitter {
+
+    static final String OFFSET_SUFFIX = "_OFFSET";
+    private static final Logger LOGGER = Logger.getLogger(JavaBeanFlyweightEmitter.class.getName());
+    private static final String INDENT = "    ";
+    private static final String BODY_INDENT = INDENT + INDENT;
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+
+    public JavaBeanFlyweightEmitter(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties) {
+        this.className = className;
+        // counters have no getters and setters to go through
+        this.nameToTypeMap = CounterFields.removeCounters(nameToTypeMap, properties);
+        this.properties = new HashMap<>(properties);
+    }
+
+    /**
+     * Checks whether a flyweight should be generated for the bean described by the given options.
+     *
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the flyweight is requested
+     */
+    public static boolean isApplicable(Map<String, ?> properties) {
+        return GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_FLYWEIGHT_PROPERTY);
+    }
+
+    /**
+     * Writes the flyweight into the package folder of the bean. An existing flyweight of the bean is overwritten.
+     *
+     * @param beanFolder the package folder the bean was generated into
+     * @return the flyweight source file
+     * @throws IOException if the flyweight cannot be written
+     */
+    public FileObject write(FileObject beanFolder) throws IOException {
+        List<String> skippedFields = new ArrayList<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (!isFixedWidth(fieldType)) {
+                skippedFields.add(fieldName);
+            }
+        });
+        if (!skippedFields.isEmpty()) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FIELDS_NOT_FIXED_WIDTH,
+                    new Object[]{className, String.join(", ", skippedFields)});
+        }
+        ClassPath sourcePath = ClassPath.getClassPath(beanFolder, ClassPath.SOURCE);
+        String packageName = sourcePath == null ? "" : sourcePath.getResourceName(beanFolder, '.', false);
+        String source = emitSource(packageName);
+        FileObject flyweightFile =
+                FileUtil.createData(beanFolder, className + ConstantDataManager.FLYWEIGHT_CLASS_SUFFIX + ".java");
+        try (OutputStream outputStream = flyweightFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, FileEncodingQuery.getEncoding(flyweightFile))) {
+            writer.write(source);
+        }
+        return flyweightFile;
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return whether the field takes a fixed number of bytes in the buffer, which only primitives do
+     */
+    private static boolean isFixedWidth(String fieldType) {
+        return FieldDefinition.isPrimitive(fieldType);
+    }
+
+    String emitSource(String packageName) {
+        boolean readOnly = isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+        boolean copyFromBean = isEnabled(ConstantDataManager.GENERATE_GETTERS_PROPERTY);
+        String flyweightName = className + ConstantDataManager.FLYWEIGHT_CLASS_SUFFIX;
+        Map<String, String> fields = new LinkedHashMap<>();
+        FieldLayout.orderBySize(nameToTypeMap).forEach((fieldName, fieldType) -> {
+            if (isFixedWidth(fieldType)) {
+                fields.put(fieldName, fieldType);
+            }
+        });
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.nio.ByteBuffer;\n")
+                .append('\n')
+                .append("public class ").append(flyweightName).append(" {\n")
+                .append('\n');
+        int offset = 0;
+        int alignment = 1;
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            int fieldSize = FieldLayout.getFieldSize(entry.getValue(), true);
+            source.append(INDENT).append("public static final int ").append(offsetName(entry.getKey()))
+                    .append(" = ").append(offset).append(";\n");
+            offset += fieldSize;
+            alignment = Math.max(alignment, fieldSize);
+        }
+        int recordSize = (offset + alignment - 1) / alignment * alignment;
+        source.append(INDENT).append("public static final int RECORD_SIZE = ").append(recordSize).append(";\n")
+                .append(INDENT).append("private ByteBuffer buffer;\n")
+                .append(INDENT).append("private int offset;\n");
+        source.append('\n')
+                .append(INDENT).append("public ").append(flyweightName)
+                .append(" wrap(ByteBuffer buffer, int index) {\n");
+        appendStatement(source, "this.buffer = buffer;");
+        appendStatement(source, "return moveTo(index);");
+        source.append(INDENT).append("}\n");
+        source.append('\n')
+                .append(INDENT).append("public ").append(flyweightName).append(" moveTo(int index) {\n");
+        appendStatement(source, "this.offset = index * RECORD_SIZE;");
+        appendStatement(source, "return this;");
+        source.append(INDENT).append("}\n");
+        source.append('\n')
+                .append(INDENT).append("public int getRecordIndex() {\n");
+        appendStatement(source, "return this.offset / RECORD_SIZE;");
+        source.append(INDENT).append("}\n");
+        source.append('\n')
+                .append(INDENT).append("public static int getRecordCount(ByteBuffer buffer) {\n");
+        appendStatement(source, "return buffer.limit() / RECORD_SIZE;");
+        source.append(INDENT).append("}\n");
+        fields.forEach((fieldName, fieldType) -> emitGetter(source, fieldName, fieldType));
+        if (!readOnly) {
+            fields.forEach((fieldName, fieldType) -> emitSetter(source, fieldName, fieldType));
+        }
+        if (copyFromBean) {
+            emitCopyFromMethod(source, fields);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void emitGetter(StringBuilder source, String fieldName, String fieldType) {
+        String position = "this.offset + " + offsetName(fieldName);
+        String read;
+        if (fieldType.equals(ConstantDataManager.BOOLEAN)) {
+            read = "this.buffer.get(" + position + ") != 0";
+        } else if (fieldType.equals(ConstantDataManager.BYTE)) {
+            read = "this.buffer.get(" + position + ")";
+        } else {
+            read = "this.buffer.get" + JavaBeanGenerator.capitalize(fieldType) + "(" + position + ")";
+        }
+        source.append('\n')
+                .append(INDENT).append("public ").append(fieldType).append(' ')
+                .append(getterName(fieldName, fieldType)).append("() {\n");
+        appendStatement(source, "return " + read + ";");
+        source.append(INDENT).append("}\n");
+    }
+
+    private static void emitSetter(StringBuilder source, String fieldName, String fieldType) {
+        source.append('\n')
+                .append(INDENT).append("public void ").append(ConstantDataManager.SET_PREFIX)
+                .append(JavaBeanGenerator.capitalize(fieldName)).append('(').append(fieldType).append(' ')
+                .append(fieldName).append(") {\n");
+        appendStatement(source, createWrite(fieldName, fieldType, fieldName));
+        source.append(INDENT).append("}\n");
+    }
+
+    private void emitCopyFromMethod(StringBuilder source, Map<String, String> fields) {
+        source.append('\n')
+                .append(INDENT).append("public ").append(className).append(ConstantDataManager.FLYWEIGHT_CLASS_SUFFIX)
+                .append(" copyFrom(").append(className).append(" bean) {\n");
+        fields.forEach((fieldName, fieldType) -> {
+            appendStatement(source, createWrite(fieldName, fieldType,
+                    "bean." + getterName(fieldName, fieldType) + "()"));
+        });
+        appendStatement(source, "return this;");
+        source.append(INDENT).append("}\n");
+    }
+
+    private static String createWrite(String fieldName, String fieldType, String value) {
+        String position = "this.offset + " + offsetName(fieldName);
+        if (fieldType.equals(ConstantDataManager.BOOLEAN)) {
+            return "this.buffer.put(" + position + ", (byte) (" + value + " ? 1 : 0));";
+        } else if (fieldType.equals(ConstantDataManager.BYTE)) {
+            return "this.buffer.put(" + position + ", " + value + ");";
+        }
+        return "this.buffer.put" + JavaBeanGenerator.capitalize(fieldType) + "(" + position + ", " + value + ");";
+    }
+
+    private static String getterName(String fieldName, String fieldType) {
+        String prefix = fieldType.equals(ConstantDataManager.BOOLEAN)
+                ? ConstantDataManager.IS_PREFIX
+                : ConstantDataManager.GET_PREFIX;
+        return prefix.concat(JavaBeanGenerator.capitalize(fieldName));
+    }
+
+    private static String offsetName(String fieldName) {
+        return JavaBeanGenerator.toConstantName(fieldName) + OFFSET_SUFFIX;
+    }
+
+    private static void appendStatement(StringBuilder source, String statement) {
+        source.append(BODY_INDENT).append(statement).append('\n');
+    }
+}
@@ -0,0 +1,687 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.Tree.Kind;
+import com.sun.source.tree.TypeParameterTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.SourcePositions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.source.GeneratorUtilities;
+import org.netbeans.api.java.source.JavaSource;
+import org.netbeans.api.java.source.TreeMaker;
+import org.netbeans.api.java.source.TreeUtilities;
+import org.netbeans.api.java.source.WorkingCopy;
+
+/**
+ * Adds fields and the selected methods to the class of a freshly created Java Bean source file. Used both by the
+ * wizard and by headless batch generation.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanGenerator {
+
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+    private final GenerationProfiler profiler;
+    private final CounterFields counterFields;
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @param profiler the profiler measuring the generation stages
+     */
+    public JavaBeanGenerator(Map<String, String> nameToTypeMap, Map<String, ?> properties,
+            GenerationProfiler profiler) {
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.properties = new HashMap<>(properties);
+        this.profiler = profiler;
+        this.counterFields = new CounterFields(nameToTypeMap, properties);
+    }
+
+    /**
+     * Builds the bean members into the class of the working copy. The trees are built from the parsed source only;
+     * the file is resolved against the project classpath just when import fixing is requested.
+     *
+     * @param workingCopy the working copy of the created bean source file
+     * @throws IOException if the source file cannot be parsed or resolved
+     */
+    public void generate(WorkingCopy workingCopy) throws IOException {
+        GenerationProfiler.Stage toPhaseStage = profiler.start("toPhase");
+        try {
+            workingCopy.toPhase(fixImports() ? JavaSource.Phase.RESOLVED : JavaSource.Phase.PARSED);
+        } finally {
+            toPhaseStage.end();
+        }
+        List<String> importedTypes = getImportedTypes();
+        if (!importedTypes.isEmpty()) {
+            GenerationProfiler.Stage stage = profiler.start("addImports");
+            try {
+                CompilationUnitTree compilationUnit = workingCopy.getCompilationUnit();
+                CompilationUnitTree newCompilationUnit = addImports(workingCopy, importedTypes);
+                workingCopy.rewrite(compilationUnit, newCompilationUnit);
+            } finally {
+                stage.end();
+            }
+        }
+        ClassTree oldClassTree = getClassTree(workingCopy);
+        String className = oldClassTree.getSimpleName().toString();
+        BeanMembers beanMembers = new BeanMembers(className, nameToTypeMap, properties);
+        ClassTree newClassTree;
+        GenerationProfiler.Stage addFieldsToClassStage = profiler.start("addFieldsToClass");
+        try {
+            newClassTree = addFieldsToClass(workingCopy, beanMembers, oldClassTree);
+        } finally {
+            addFieldsToClassStage.end();
+        }
+        if (immutable()) {
+            GenerationProfiler.Stage stage = profiler.start("addConstructorToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy,
+                        Collections.singletonList(beanMembers.createConstructor()), newClassTree);
+            } finally {
+                stage.end();
+            }
+        } else if (generateDefaultConstructor()) {
+            GenerationProfiler.Stage stage = profiler.start("addDefaultConstructorToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy,
+                        Collections.singletonList(beanMembers.createDefaultConstructor()), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateGetters()) {
+            GenerationProfiler.Stage stage = profiler.start("addGettersToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy, beanMembers.createGetters(), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateSetters()) {
+            GenerationProfiler.Stage stage = profiler.start("addSettersToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy, beanMembers.createSetters(), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (!counterFields.isEmpty()) {
+            GenerationProfiler.Stage stage = profiler.start("addCounterMethodsToClass");
+            try {
+                newClassTree = addCounterMethodsToClass(workingCopy, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (AtomicAccessors.isAtomic(properties)) {
+            GenerationProfiler.Stage stage = profiler.start("addAtomicAccessorsToClass");
+            try {
+                newClassTree = addAtomicAccessorsToClass(workingCopy, className, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (DirtyFields.isEnabled(properties)) {
+            GenerationProfiler.Stage stage = profiler.start("addDirtyFieldsToClass");
+            try {
+                newClassTree = addDirtyFieldsToClass(workingCopy, className, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateEquals()) {
+            GenerationProfiler.Stage stage = profiler.start("addEqualsMethodToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy,
+                        Collections.singletonList(beanMembers.createEqualsMethod()), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateHashCode()) {
+            GenerationProfiler.Stage stage = profiler.start("addHashCodeMethodToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy,
+                        Collections.singletonList(beanMembers.createHashCodeMethod()), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateToString()) {
+            GenerationProfiler.Stage stage = profiler.start("addToStringMethodToClass");
+            try {
+                newClassTree = addMembersToClass(workingCopy, beanMembers.createToStringMethods(), newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateComparable()) {
+            GenerationProfiler.Stage stage = profiler.start("addComparableToClass");
+            try {
+                newClassTree = addComparableToClass(workingCopy, className, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateBinaryCodec()) {
+            GenerationProfiler.Stage stage = profiler.start("addBinaryCodecToClass");
+            try {
+                newClassTree = addBinaryCodecToClass(workingCopy, className, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (generateJsonCodec()) {
+            GenerationProfiler.Stage stage = profiler.start("addJsonCodecToClass");
+            try {
+                newClassTree = addJsonCodecToClass(workingCopy, className, newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        if (fixImports()) {
+            GenerationProfiler.Stage stage = profiler.start("importFQNs");
+            try {
+                newClassTree = GeneratorUtilities.get(workingCopy).importFQNs(newClassTree);
+            } finally {
+                stage.end();
+            }
+        }
+        GenerationProfiler.Stage rewriteStage = profiler.start("rewrite");
+        try {
+            workingCopy.rewrite(oldClassTree, newClassTree);
+        } finally {
+            rewriteStage.end();
+        }
+    }
+
+    private boolean generateGetters() {
+        return isEnabled(ConstantDataManager.GENERATE_GETTERS_PROPERTY);
+    }
+
+    private boolean generateSetters() {
+        return isEnabled(ConstantDataManager.GENERATE_SETTERS_PROPERTY) && !immutable();
+    }
+
+    private boolean generateEquals() {
+        return isEnabled(ConstantDataManager.GENERATE_EQUALS_PROPERTY);
+    }
+
+    private boolean generateHashCode() {
+        return isEnabled(ConstantDataManager.GENERATE_HASH_CODE_PROPERTY);
+    }
+
+    private boolean generateToString() {
+        return isEnabled(ConstantDataManager.GENERATE_TO_STRING_PROPERTY);
+    }
+
+    private boolean generateBinaryCodec() {
+        return isEnabled(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY);
+    }
+
+    private boolean generateComparable() {
+        return isEnabled(ConstantDataManager.GENERATE_COMPARABLE_PROPERTY);
+    }
+
+    private boolean generateJsonCodec() {
+        return isEnabled(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY);
+    }
+
+    private boolean externalizable() {
+        // readExternal() cannot assign the final fields of an immutable bean
+        return generateBinaryCodec() && !immutable();
+    }
+
+    private boolean generateDefaultConstructor() {
+        return isEnabled(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR);
+    }
+
+    private boolean packFlags() {
+        return isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY);
+    }
+
+    private boolean immutable() {
+        return isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+    }
+
+    private boolean fixImports() {
+        return isEnabled(ConstantDataManager.FIX_IMPORTS_PROPERTY);
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    private List<String> getImportedTypes() {
+        Set<String> importedTypes = new TreeSet<>();
+        if (generateBinaryCodec()) {
+            importedTypes.addAll(BinaryCodec.getImportedTypes(externalizable()));
+        }
+        if (generateJsonCodec()) {
+            importedTypes.addAll(JsonCodec.getImportedTypes());
+        }
+        if (generateComparable() && !new ComparisonKeys(nameToTypeMap, properties).createComparators().isEmpty()) {
+            importedTypes.add(ConstantDataManager.COMPARATOR_TYPE);
+        }
+        if (generateEquals() || (DirtyFields.isEnabled(properties)
+                && (generateSetters() || AtomicAccessors.isAtomic(properties))
+                && new DirtyFields(nameToTypeMap, properties).comparesReferences())) {
+            importedTypes.add(ConstantDataManager.OBJECTS_TYPE);
+        }
+        if (AtomicAccessors.isAtomic(properties)) {
+            importedTypes.addAll(AtomicAccessors.getImportedTypes(counterFields.removeCounters(nameToTypeMap),
+                    properties));
+        }
+        if (!counterFields.isEmpty()) {
+            importedTypes.add(ConstantDataManager.LONG_ADDER_TYPE);
+        }
+        return new ArrayList<>(importedTypes);
+    }
+
+    private CompilationUnitTree addImports(WorkingCopy workingCopy, List<String> importedTypes) {
+        CompilationUnitTree compilationUnitTree = workingCopy.getCompilationUnit();
+        TreeMaker make = workingCopy.getTreeMaker();
+        List<? extends ImportTree> imports = compilationUnitTree.getImports();
+        for (String importedType : importedTypes) {
+            boolean importFound = false;
+            for (int i = 0; i < imports.size(); i++) {
+                if (imports.get(i).getQualifiedIdentifier().toString().equals(importedType)) {
+                    importFound = true;
+                    break;
+                }
+            }
+            if (!importFound) {
+                compilationUnitTree =
+                        make.addCompUnitImport(compilationUnitTree,
+                                make.Import(make.Identifier(importedType), false));
+            }
+        }
+        return compilationUnitTree;
+    }
+
+    private ClassTree getClassTree(WorkingCopy workingCopy) {
+        CompilationUnitTree compilationUnitTree = workingCopy.getCompilationUnit();
+        List<? extends Tree> typeDeclarations = compilationUnitTree.getTypeDecls();
+        ClassTree classTree = null;
+        for (Tree typeDeclaration : typeDeclarations) {
+            if (typeDeclaration.getKind() == Kind.CLASS) {
+                classTree = (ClassTree) typeDeclaration;
+                break;
+            }
+        }
+        if (classTree == null) {
+            throw new IllegalStateException(ConstantDataManager.CLASS_NOT_PRESENT);
+        }
+        return classTree;
+    }
+
+    private ClassTree addFieldsToClass(WorkingCopy workingCopy, BeanMembers beanMembers, ClassTree classTree) {
+        ClassTree newClassTree = classTree;
+        TreeMaker make = workingCopy.getTreeMaker();
+        String className = classTree.getSimpleName().toString();
+        if (AtomicAccessors.getMode(properties).equals(ConstantDataManager.CONCURRENCY_MODE_VOLATILE)) {
+            new AtomicAccessors(className, counterFields.removeCounters(nameToTypeMap), properties)
+                    .reportNonAtomicFlags();
+        }
+        // the hot fields are declared by the superclasses isolating them
+        if (JavaBeanHotFieldsEmitter.isApplicable(nameToTypeMap, properties)) {
+            newClassTree = make.setExtends(newClassTree,
+                    make.Identifier(JavaBeanHotFieldsEmitter.getSuperclassName(className)));
+        }
+        return addMembersToClass(workingCopy, beanMembers.createFields(), newClassTree);
+    }
+
+    private ClassTree addMembersToClass(WorkingCopy workingCopy, List<GeneratedMember> members,
+            ClassTree classTree) {
+        ClassTree newClassTree = classTree;
+        TreeMaker make = workingCopy.getTreeMaker();
+        for (GeneratedMember member : members) {
+            newClassTree = make.addClassMember(newClassTree, createMember(workingCopy, member));
+        }
+        return newClassTree;
+    }
+
+    private ClassTree addCounterMethodsToClass(WorkingCopy workingCopy, ClassTree classTree) {
+        ClassTree newClassTree = classTree;
+        TreeMaker make = workingCopy.getTreeMaker();
+        for (GeneratedMember method : counterFields.createMethods()) {
+            newClassTree = make.addClassMember(newClassTree, createMember(workingCopy, method));
+        }
+        return newClassTree;
+    }
+
+    private ClassTree addDirtyFieldsToClass(WorkingCopy workingCopy, String className, ClassTree classTree) {
+        ClassTree newClassTree = classTree;
+        TreeMaker make = workingCopy.getTreeMaker();
+        DirtyFields dirtyFields = new DirtyFields(nameToTypeMap, properties);
+        dirtyFields.reportLimitations(className);
+        for (GeneratedMember member : dirtyFields.createMembers(className)) {
+            newClassTree = make.addClassMember(newClassTree, createMember(workingCopy, member));
+        }
+        return newClassTree;
+    }
+
+    private ClassTree addAtomicAccessorsToClass(WorkingCopy workingCopy, String className, ClassTree classTree) {
+        ClassTree newClassTree = classTree;
+        TreeMaker make = workingCopy.getTreeMaker();
+        AtomicAccessors atomicAccessors =
+                new AtomicAccessors(className, counterFields.removeCounters(nameToTypeMap), properties);
+        for (GeneratedMember member : atomicAccessors.createMembers()) {
+            newClassTree = make.addClassMember(newClassTree, createMember(workingCopy, member));
+        }
+        return newClassTree;
+    }
+
+    static String capitalize(String string) {
+        if (string.isEmpty()) {
+            return string;
+        }
+        return string.substring(0, 1).toUpperCase().concat(string.substring(1));
+    }
+
+    /**
+     * Converts a field name to the name of a constant derived from it, such as {@code FIRST_NAME} for
+     * {@code firstName}.
+     *
+     * @param fieldName the name of a field
+     * @return the constant name
+     */
+    static String toConstantName(String fieldName) {
+        StringBuilder name = new StringBuilder();
+        for (char c : fieldName.toCharArray()) {
+            if (Character.isUpperCase(c) && name.length() > 0) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    private ClassTree addComparableToClass(WorkingCopy workingCopy, String className, ClassTree classTree) {
+        TreeMaker make = workingCopy.getTreeMaker();
+        TreeUtilities treeUtilities = workingCopy.getTreeUtilities();
+        ComparisonKeys comparisonKeys = new ComparisonKeys(nameToTypeMap, properties);
+        ClassTree newClassTree = classTree;
+        for (Map.Entry<String, String> entry : comparisonKeys.createComparators().entrySet()) {
+            newClassTree = make.addClassMember(newClassTree,
+                    make.Variable(make.Modifiers(EnumSet.of(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)),
+                            entry.getKey(),
+                            make.Type(ComparisonKeys.getComparatorType(className)),
+                            treeUtilities.parseExpression(entry.getValue(), new SourcePositions[1])));
+        }
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC), createOverrideAnnotation(make)),
+                        ConstantDataManager.COMPARE_TO_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.INT),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(make.Variable(make.Modifiers(Collections.<Modifier>emptySet()),
+                                ConstantDataManager.OTHER, make.Identifier(className), null)),
+                        Collections.<ExpressionTree>emptyList(),
+                        createBody(comparisonKeys.createCompareToStatements()),
+                        null));
+        if (comparisonKeys.comparesReferences()) {
+            //private static <T extends Comparable<? super T>> int compareNullsFirst(T first, T second)
+            ExpressionTree bound = (ExpressionTree) make.Type("Comparable<? super T>");
+            newClassTree = make.addClassMember(newClassTree,
+                    make.Method(make.Modifiers(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC)),
+                            ComparisonKeys.COMPARE_NULLS_FIRST_METHOD_NAME,
+                            make.PrimitiveType(TypeKind.INT),
+                            Collections.singletonList(make.TypeParameter("T", Collections.singletonList(bound))),
+                            Arrays.asList(
+                                    make.Variable(make.Modifiers(Collections.<Modifier>emptySet()),
+                                            ComparisonKeys.FIRST, make.Identifier("T"), null),
+                                    make.Variable(make.Modifiers(Collections.<Modifier>emptySet()),
+                                            ComparisonKeys.SECOND, make.Identifier("T"), null)),
+                            Collections.<ExpressionTree>emptyList(),
+                            createBody(ComparisonKeys.createCompareNullsFirstStatements()),
+                            null));
+        }
+        return make.addClassImplementsClause(newClassTree,
+                make.ParameterizedType(make.Identifier(ConstantDataManager.SIMPLE_COMPARABLE_TYPE_NAME),
+                        Collections.singletonList(make.Identifier(className))));
+    }
+
+    private ClassTree addBinaryCodecToClass(WorkingCopy workingCopy, String className, ClassTree classTree) {
+        TreeMaker make = workingCopy.getTreeMaker();
+        BinaryCodec codec = new BinaryCodec(className, counterFields.removeCounters(nameToTypeMap), packFlags());
+        codec.reportUnsupportedFields();
+        ClassTree newClassTree = classTree;
+        if (externalizable()) {
+            newClassTree = make.addClassMember(newClassTree,
+                    createMember(workingCopy, BinaryCodec.createSerialVersionUid()));
+        }
+        List<ExpressionTree> throwsList = Collections.<ExpressionTree>singletonList(
+                make.Identifier(BinaryCodec.getSimpleName(ConstantDataManager.IO_EXCEPTION_TYPE)));
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC)),
+                        ConstantDataManager.WRITE_TO_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.VOID),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, BinaryCodec.OUTPUT,
+                                ConstantDataManager.DATA_OUTPUT_TYPE)),
+                        throwsList,
+                        createBody(codec.createWriteToStatements()),
+                        null));
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC, Modifier.STATIC)),
+                        ConstantDataManager.READ_FROM_METHOD_NAME,
+                        make.Identifier(className),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, BinaryCodec.INPUT,
+                                ConstantDataManager.DATA_INPUT_TYPE)),
+                        throwsList,
+                        createBody(codec.createReadFromStatements(immutable())),
+                        null));
+        if (immutable()) {
+            return newClassTree;
+        }
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PRIVATE)),
+                        ConstantDataManager.READ_FIELDS_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.VOID),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, BinaryCodec.INPUT,
+                                ConstantDataManager.DATA_INPUT_TYPE)),
+                        throwsList,
+                        createBody(codec.createReadFieldsStatements()),
+                        null));
+        //public void writeExternal(ObjectOutput out) throws IOException { writeTo(out); }
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC), createOverrideAnnotation(make)),
+                        ConstantDataManager.WRITE_EXTERNAL_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.VOID),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, BinaryCodec.OUTPUT,
+                                ConstantDataManager.OBJECT_OUTPUT_TYPE)),
+                        throwsList,
+                        make.Block(Collections.singletonList(make.ExpressionStatement(make.MethodInvocation(
+                                Collections.<ExpressionTree>emptyList(),
+                                make.Identifier(ConstantDataManager.WRITE_TO_METHOD_NAME),
+                                Collections.singletonList(make.Identifier(BinaryCodec.OUTPUT))))), false),
+                        null));
+        //public void readExternal(ObjectInput in) throws IOException { readFields(in); }
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC), createOverrideAnnotation(make)),
+                        ConstantDataManager.READ_EXTERNAL_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.VOID),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, BinaryCodec.INPUT,
+                                ConstantDataManager.OBJECT_INPUT_TYPE)),
+                        throwsList,
+                        make.Block(Collections.singletonList(make.ExpressionStatement(make.MethodInvocation(
+                                Collections.<ExpressionTree>emptyList(),
+                                make.Identifier(ConstantDataManager.READ_FIELDS_METHOD_NAME),
+                                Collections.singletonList(make.Identifier(BinaryCodec.INPUT))))), false),
+                        null));
+        return make.addClassImplementsClause(newClassTree,
+                make.Identifier(BinaryCodec.getSimpleName(ConstantDataManager.EXTERNALIZABLE_TYPE)));
+    }
+
+    private ClassTree addJsonCodecToClass(WorkingCopy workingCopy, String className, ClassTree classTree) {
+        TreeMaker make = workingCopy.getTreeMaker();
+        JsonCodec codec = new JsonCodec(className, counterFields.removeCounters(nameToTypeMap), packFlags());
+        codec.reportUnsupportedFields();
+        ClassTree newClassTree = classTree;
+        for (Map.Entry<String, String> entry : codec.createNameConstants().entrySet()) {
+            newClassTree = make.addClassMember(newClassTree,
+                    make.Variable(make.Modifiers(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)),
+                            entry.getKey(),
+                            make.Identifier(ConstantDataManager.SIMPLE_STRING_TYPE_NAME),
+                            make.Literal(entry.getValue())));
+        }
+        List<ExpressionTree> throwsList = Collections.<ExpressionTree>singletonList(
+                make.Identifier(BinaryCodec.getSimpleName(ConstantDataManager.IO_EXCEPTION_TYPE)));
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC)),
+                        ConstantDataManager.WRITE_JSON_METHOD_NAME,
+                        make.PrimitiveType(TypeKind.VOID),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, JsonCodec.OUTPUT, "Appendable")),
+                        throwsList,
+                        createBody(codec.createWriteJsonStatements()),
+                        null));
+        if (codec.writesStrings()) {
+            newClassTree = make.addClassMember(newClassTree,
+                    make.Method(make.Modifiers(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC)),
+                            ConstantDataManager.WRITE_JSON_STRING_METHOD_NAME,
+                            make.PrimitiveType(TypeKind.VOID),
+                            Collections.<TypeParameterTree>emptyList(),
+                            Arrays.asList(createCodecParameter(make, JsonCodec.OUTPUT, "Appendable"),
+                                    createCodecParameter(make, JsonCodec.VALUE, "CharSequence")),
+                            throwsList,
+                            createBody(JsonCodec.createWriteJsonStringStatements()),
+                            null));
+        }
+        newClassTree = make.addClassMember(newClassTree,
+                make.Method(make.Modifiers(EnumSet.of(Modifier.PUBLIC, Modifier.STATIC)),
+                        ConstantDataManager.READ_JSON_METHOD_NAME,
+                        make.Identifier(className),
+                        Collections.<TypeParameterTree>emptyList(),
+                        Collections.singletonList(createCodecParameter(make, JsonCodec.INPUT,
+                                ConstantDataManager.READER_TYPE)),
+                        throwsList,
+                        createBody(codec.createReadJsonStatements(immutable())),
+                        null));
+        List<Tree> parserMembers = new ArrayList<>();
+        for (GeneratedMember field : JsonCodec.createParserFields()) {
+            parserMembers.add(createMember(workingCopy, field));
+        }
+        for (GeneratedMember method : JsonCodec.createParserMethods()) {
+            parserMembers.add(createMember(workingCopy, method));
+        }
+        return make.addClassMember(newClassTree,
+                make.Class(make.Modifiers(EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)),
+                        JsonCodec.PARSER_CLASS_NAME,
+                        Collections.<TypeParameterTree>emptyList(),
+                        null,
+                        Collections.<Tree>emptyList(),
+                        parserMembers));
+    }
+
+    private Tree createMember(WorkingCopy workingCopy, GeneratedMember member) {
+        TreeMaker make = workingCopy.getTreeMaker();
+        if (member.isField()) {
+            return make.Variable(make.Modifiers(member.modifiers), member.name, make.Type(member.type),
+                    member.initializer == null
+                            ? null
+                            : workingCopy.getTreeUtilities().parseExpression(member.initializer,
+                                    new SourcePositions[1]));
+        }
+        List<VariableTree> parameters = new ArrayList<>();
+        for (int i = 0; i < member.parameters.size(); i += 2) {
+            parameters.add(make.Variable(make.Modifiers(Collections.<Modifier>emptySet()),
+                    member.parameters.get(i + 1), make.Type(member.parameters.get(i)), null));
+        }
+        List<ExpressionTree> throwsList = new ArrayList<>();
+        member.thrownTypes.forEach(thrownType -> throwsList.add(make.Identifier(thrownType)));
+        return make.Method(make.Modifiers(member.modifiers, member.isOverriding()
+                        ? createOverrideAnnotation(make)
+                        : Collections.<AnnotationTree>emptyList()),
+                member.isConstructor() ? "<init>" : member.name,
+                member.isConstructor() ? null : make.Type(member.type),
+                Collections.<TypeParameterTree>emptyList(),
+                parameters,
+                throwsList,
+                createBody(member.statements),
+                null);
+    }
+
+    /**
+     * Joins statements into the text of a method body, including the braces.
+     *
+     * @param statements the statements of the body
+     * @return the body text
+     */
+    private static String createBody(List<String> statements) {
+        StringBuilder body = new StringBuilder("{\n");
+        statements.forEach(statement -> body.append(statement).append('\n'));
+        return body.append('}').toString();
+    }
+
+    private VariableTree createCodecParameter(TreeMaker make, String name, String type) {
+        return make.Variable(make.Modifiers(Collections.<Modifier>emptySet()), name,
+                make.Identifier(BinaryCodec.getSimpleName(type)), null);
+    }
+
+    private List<AnnotationTree> createOverrideAnnotation(TreeMaker make) {
+        return Collections.singletonList(
+                make.Annotation(
+                        make.Identifier(ConstantDataManager.SIMPLE_OVERRIDE_TYPE_NAME),
+                        Collections.<ExpressionTree>emptyList()));
+    }
+
+    static int generatePrimeNumber(int lowerLimit, int higherLimit) {
+        if (ConstantDataManager.RANDOM_NUMBER > 0) {
+            return ConstantDataManager.RANDOM_NUMBER;
+        }
+        Random r = new Random(System.currentTimeMillis());
+        int proposed = r.nextInt(higherLimit - lowerLimit) + lowerLimit;
+        while (!isPrimeNumber(proposed)) {
+            proposed++;
+        }
+        if (proposed > higherLimit) {
+            proposed--;
+            while (!isPrimeNumber(proposed)) {
+                proposed--;
+            }
+        }
+        return proposed;
+    }
+
+    private static boolean isPrimeNumber(int n) {
+        int squareRoot = (int) Math.sqrt(n) + 1;
+        if (n % 2 == 0) {
+            return false;
+        }
+        for (int cntr = 3; cntr < squareRoot; cntr++) {
+            if (n % cntr == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
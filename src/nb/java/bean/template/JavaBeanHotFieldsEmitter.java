@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Renders the superclasses keeping each hot field of a mutable Java Bean on cache lines of its own, and writes them
+ * next to the bean, so that threads writing different hot fields do not invalidate the cache lines of each other.
+ * <p>
+ * The JVM lays out the fields of a class in an order of its own, but always after the fields of the superclasses,
+ * so every hot field is declared by a class of its own between two classes of padding fields. {@code @Contended}
+ * is not used, as it is ignored outside of the JDK unless the JVM is started with
+ * {@code -XX:-RestrictContended}. The padding is 128 bytes wide, like the one of {@code @Contended}, to cover the
+ * pair of cache lines fetched together by some processors. It is made of {@code byte} fields, which leave no gaps
+ * to be filled by the fields of subclasses. Packed flags and counters are not isolated. In the atomic mode with field
+ * updaters, every class declaring a hot field also declares its field updater, which the bean inherits, so that the
+ * bean names the topmost class only.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanHotFieldsEmitter {
+
+    private static final String INDENT = "    ";
+    static final int PADDING_SIZE = 128;
+    private static final int PADDING_FIELDS_PER_LINE = 8;
+    private final String className;
+    private final Map<String, String> hotFields;
+    private final boolean volatileFields;
+    private final boolean fieldUpdaters;
+
+    public JavaBeanHotFieldsEmitter(String className, Map<String, String> nameToTypeMap,
+            Map<String, ?> properties) {
+        this.className = className;
+        this.hotFields = getHotFields(nameToTypeMap, properties);
+        this.volatileFields = AtomicAccessors.declaresVolatileFields(properties);
+        this.fieldUpdaters = AtomicAccessors.usesFieldUpdaters(properties);
+    }
+
+    /**
+     * Checks whether the bean described by the given fields and options has hot fields to isolate.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the bean is mutable and some of its fields are marked as hot
+     */
+    public static boolean isApplicable(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        return !getHotFields(nameToTypeMap, properties).isEmpty();
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the hot fields mapped to their types, in declaration order, none if the bean is immutable
+     */
+    static Map<String, String> getHotFields(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Map<String, String> hotFields = new LinkedHashMap<>();
+        Object immutable = properties.get(ConstantDataManager.IMMUTABLE_PROPERTY);
+        if (immutable != null && (boolean) immutable) {
+            // final fields cannot be assigned by the constructor of a subclass
+            return hotFields;
+        }
+        Object packFlags = properties.get(ConstantDataManager.PACK_FLAGS_PROPERTY);
+        boolean packedFlags = packFlags != null && (boolean) packFlags;
+        CounterFields counterFields = new CounterFields(nameToTypeMap, properties);
+        List<String> hotFieldNames =
+                GenerationOptions.getFieldNames(properties, ConstantDataManager.HOT_FIELDS_PROPERTY);
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (hotFieldNames.contains(fieldName) && !(packedFlags && PackedFlags.isFlag(fieldType))
+                    && !counterFields.isCounter(fieldName)) {
+                hotFields.put(fieldName, fieldType);
+            }
+        });
+        return hotFields;
+    }
+
+    /**
+     * @param className the simple name of the bean
+     * @return the simple name of the superclass declaring the hot fields of the bean
+     */
+    static String getSuperclassName(String className) {
+        return className + ConstantDataManager.HOT_FIELDS_CLASS_SUFFIX;
+    }
+
+    private static String getDeclaringClassName(String className, int index) {
+        return className + ConstantDataManager.HOT_FIELDS_CLASS_SUFFIX + index;
+    }
+
+    /**
+     * Writes the superclasses into the package folder of the bean. Existing superclasses of the bean are
+     * overwritten.
+     *
+     * @param beanFolder the package folder the bean was generated into
+     * @return the source file of the superclasses
+     * @throws IOException if the superclasses cannot be written
+     */
+    public FileObject write(FileObject beanFolder) throws IOException {
+        ClassPath sourcePath = ClassPath.getClassPath(beanFolder, ClassPath.SOURCE);
+        String packageName = sourcePath == null ? "" : sourcePath.getResourceName(beanFolder, '.', false);
+        String source = emitSource(packageName);
+        FileObject hotFieldsFile = FileUtil.createData(beanFolder, getSuperclassName(className) + ".java");
+        try (OutputStream outputStream = hotFieldsFile.getOutputStream();
+                Writer writer = new OutputStreamWriter(outputStream, FileEncodingQuery.getEncoding(hotFieldsFile))) {
+            writer.write(source);
+        }
+        return hotFieldsFile;
+    }
+
+    String emitSource(String packageName) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (fieldUpdaters) {
+            Set<String> importedTypes = new TreeSet<>();
+            hotFields.values().forEach(fieldType -> importedTypes.add(AtomicAccessors.getUpdaterType(fieldType)));
+            importedTypes.forEach(importedType -> source.append("import ").append(importedType).append(";\n"));
+            source.append('\n');
+        }
+        String modifiers = volatileFields ? "volatile " : "";
+        List<String> fieldNames = new ArrayList<>(hotFields.keySet());
+        String superclassName = null;
+        for (int i = 0; i < fieldNames.size(); i++) {
+            String paddingName = className + ConstantDataManager.HOT_FIELDS_CLASS_SUFFIX + "Pad" + i;
+            if (i > 0) {
+                source.append('\n');
+            }
+            emitPaddingClass(source, paddingName, superclassName, i);
+            String fieldName = fieldNames.get(i);
+            superclassName = getDeclaringClassName(className, i);
+            source.append('\n')
+                    .append("abstract class ").append(superclassName).append(" extends ").append(paddingName)
+                    .append(" {\n")
+                    .append('\n')
+                    .append(INDENT).append(modifiers).append(hotFields.get(fieldName)).append(' ').append(fieldName)
+                    .append(";\n");
+            if (fieldUpdaters) {
+                GeneratedMember handle =
+                        AtomicAccessors.createInheritedHandle(superclassName, fieldName, hotFields.get(fieldName));
+                source.append(INDENT);
+                handle.modifiers.forEach(modifier -> source.append(modifier).append(' '));
+                source.append(handle.type).append(' ').append(handle.name).append(" = ").append(handle.initializer)
+                        .append(";\n");
+            }
+            source.append("}\n");
+        }
+        source.append('\n')
+                .append("/**\n")
+                .append(" * Declares the hot fields of {@link ").append(className)
+                .append("}, each on cache lines of its own.\n")
+                .append(" */\n");
+        emitPaddingClass(source, getSuperclassName(className), superclassName, fieldNames.size());
+        return source.toString();
+    }
+
+    private static void emitPaddingClass(StringBuilder source, String name, String superclassName, int index) {
+        source.append("abstract class ").append(name);
+        if (superclassName != null) {
+            source.append(" extends ").append(superclassName);
+        }
+        source.append(" {\n")
+                .append('\n');
+        for (int line = 0; line < PADDING_SIZE / PADDING_FIELDS_PER_LINE; line++) {
+            source.append(INDENT).append("byte ");
+            for (int i = 0; i < PADDING_FIELDS_PER_LINE; i++) {
+                int number = line * PADDING_FIELDS_PER_LINE + i;
+                source.append(i > 0 ? ", " : "").append('p').append(index).append('_')
+                        .append(number < 10 ? "00" : number < 100 ? "0" : "").append(number);
+            }
+            source.append(";\n");
+        }
+        source.append("}\n");
+    }
+}
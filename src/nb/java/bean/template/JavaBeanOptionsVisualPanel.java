@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JPanel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import nb.java.bean.constants.ConstantDataManager;
+import org.openide.WizardDescriptor;
+import org.openide.util.NbBundle;
+import org.openide.util.NbBundle.Messages;
+
+/**
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanOptionsVisualPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    public JavaBeanOptionsVisualPanel(JavaBeanOptionsWizardPanel wizardPanel) {
+        initComponents();
+        discriminatingFieldsPanel.setMaximumSize(discriminatingFieldsPanel.getPreferredSize());
+        comparisonKeysPanel.setMaximumSize(comparisonKeysPanel.getPreferredSize());
+        concurrencyModePanel.setMaximumSize(concurrencyModePanel.getPreferredSize());
+        binaryCodecCheckBox.addItemListener(event -> wizardPanel.fireChangeEvent());
+        DocumentListener fieldNamesListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                wizardPanel.fireChangeEvent();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                wizardPanel.fireChangeEvent();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent event) {
+                wizardPanel.fireChangeEvent();
+            }
+        };
+        discriminatingFieldsTextField.getDocument().addDocumentListener(fieldNamesListener);
+        comparisonKeysTextField.getDocument().addDocumentListener(fieldNamesListener);
+    }
+
+    @Override
+    public String getName() {
+        return ConstantDataManager.OPTIONS;
+    }
+
+    boolean valid(WizardDescriptor wizardDescriptor, Map<String, String> nameToTypeMap) {
+        String problem = findProblem(nameToTypeMap);
+        wizardDescriptor.putProperty(WizardDescriptor.PROP_ERROR_MESSAGE, problem == null ? "" : problem);
+        return problem == null;
+    }
+
+    /**
+     * Checks the options against the fields of the bean.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @return the message describing the first problem found, or {@code null} if the options are valid
+     */
+    @Messages({
+        "# {0} - field names",
+        "UNKNOWN_FIELD_NAMES=The bean declares no fields named {0}."
+    })
+    private String findProblem(Map<String, String> nameToTypeMap) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY, discriminatingFieldsTextField.getText());
+        properties.put(ConstantDataManager.COMPARISON_KEYS_PROPERTY, comparisonKeysTextField.getText());
+        List<String> unknownNames = GenerationOptions.findUnknownFieldNames(nameToTypeMap, properties);
+        if (!unknownNames.isEmpty()) {
+            return NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "UNKNOWN_FIELD_NAMES",
+                    String.join(", ", unknownNames));
+        }
+        return binaryCodecCheckBox.isSelected() ? findUnencodableFields(nameToTypeMap) : null;
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @return the message naming the fields the binary codec cannot encode, or {@code null} if it can encode all
+     */
+    @Messages({
+        "# {0} - field names",
+        "FIELDS_NOT_ENCODABLE_ERROR=The binary codec cannot encode the fields {0}. "
+                + "Change their types to primitives, wrappers or String, or deselect the binary codec."
+    })
+    static String findUnencodableFields(Map<String, String> nameToTypeMap) {
+        List<String> unsupportedFields = BinaryCodec.findUnsupportedFields(nameToTypeMap);
+        return unsupportedFields.isEmpty()
+                ? null
+                : NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "FIELDS_NOT_ENCODABLE_ERROR",
+                        String.join(", ", unsupportedFields));
+    }
+
+    void read(WizardDescriptor wizardDescriptor) {
+        Object generateInSinglePass = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_IN_SINGLE_PASS_PROPERTY);
+        singlePassCheckBox.setSelected(generateInSinglePass == null ? false : (boolean) generateInSinglePass);
+        Object fixImports = wizardDescriptor.getProperty(ConstantDataManager.FIX_IMPORTS_PROPERTY);
+        fixImportsCheckBox.setSelected(fixImports == null ? false : (boolean) fixImports);
+        Object generateBenchmark = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_BENCHMARK_PROPERTY);
+        benchmarkCheckBox.setSelected(generateBenchmark == null ? false : (boolean) generateBenchmark);
+        Object immutable = wizardDescriptor.getProperty(ConstantDataManager.IMMUTABLE_PROPERTY);
+        immutableCheckBox.setSelected(immutable == null ? false : (boolean) immutable);
+        Object discriminatingFields = wizardDescriptor.getProperty(ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY);
+        discriminatingFieldsTextField.setText(discriminatingFields == null ? "" : (String) discriminatingFields);
+        Object presizedToString = wizardDescriptor.getProperty(ConstantDataManager.PRESIZED_TO_STRING_PROPERTY);
+        presizedToStringCheckBox.setSelected(presizedToString == null ? false : (boolean) presizedToString);
+        Object orderFieldsBySize = wizardDescriptor.getProperty(ConstantDataManager.ORDER_FIELDS_BY_SIZE_PROPERTY);
+        orderFieldsBySizeCheckBox.setSelected(orderFieldsBySize == null ? false : (boolean) orderFieldsBySize);
+        Object packFlags = wizardDescriptor.getProperty(ConstantDataManager.PACK_FLAGS_PROPERTY);
+        packFlagsCheckBox.setSelected(packFlags == null ? false : (boolean) packFlags);
+        Object flyweight = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_FLYWEIGHT_PROPERTY);
+        flyweightCheckBox.setSelected(flyweight == null ? false : (boolean) flyweight);
+        Object columns = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_COLUMNS_PROPERTY);
+        columnsCheckBox.setSelected(columns == null ? false : (boolean) columns);
+        Object binaryCodec = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY);
+        binaryCodecCheckBox.setSelected(binaryCodec == null ? false : (boolean) binaryCodec);
+        Object jsonCodec = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY);
+        jsonCodecCheckBox.setSelected(jsonCodec == null ? false : (boolean) jsonCodec);
+        Object comparable = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_COMPARABLE_PROPERTY);
+        comparableCheckBox.setSelected(comparable == null ? false : (boolean) comparable);
+        Object comparisonKeys = wizardDescriptor.getProperty(ConstantDataManager.COMPARISON_KEYS_PROPERTY);
+        comparisonKeysTextField.setText(comparisonKeys == null ? "" : (String) comparisonKeys);
+        Object concurrencyMode = wizardDescriptor.getProperty(ConstantDataManager.CONCURRENCY_MODE_PROPERTY);
+        concurrencyModeComboBox.setSelectedItem(concurrencyMode == null ? ConstantDataManager.CONCURRENCY_MODE_PLAIN
+                : concurrencyMode);
+        Object trackDirtyFields = wizardDescriptor.getProperty(ConstantDataManager.TRACK_DIRTY_FIELDS_PROPERTY);
+        trackDirtyFieldsCheckBox.setSelected(trackDirtyFields == null ? false : (boolean) trackDirtyFields);
+    }
+
+    void store(WizardDescriptor wizardDescriptor) {
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_IN_SINGLE_PASS_PROPERTY,
+                singlePassCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.FIX_IMPORTS_PROPERTY, fixImportsCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_BENCHMARK_PROPERTY, benchmarkCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.IMMUTABLE_PROPERTY, immutableCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.DISCRIMINATING_FIELDS_PROPERTY,
+                discriminatingFieldsTextField.getText());
+        wizardDescriptor.putProperty(ConstantDataManager.PRESIZED_TO_STRING_PROPERTY,
+                presizedToStringCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.ORDER_FIELDS_BY_SIZE_PROPERTY,
+                orderFieldsBySizeCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.PACK_FLAGS_PROPERTY, packFlagsCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_FLYWEIGHT_PROPERTY, flyweightCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_COLUMNS_PROPERTY, columnsCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY,
+                binaryCodecCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY, jsonCodecCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.GENERATE_COMPARABLE_PROPERTY, comparableCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.COMPARISON_KEYS_PROPERTY, comparisonKeysTextField.getText());
+        wizardDescriptor.putProperty(ConstantDataManager.CONCURRENCY_MODE_PROPERTY,
+                concurrencyModeComboBox.getSelectedItem());
+        wizardDescriptor.putProperty(ConstantDataManager.TRACK_DIRTY_FIELDS_PROPERTY,
+                trackDirtyFieldsCheckBox.isSelected());
+    }
+
+    /**
+     * This method is called from within the constructor to initialize the form. WARNING: Do NOT modify this code. The
+     * content of this method is always regenerated by the Form Editor.
+     */
+    @SuppressWarnings("unchecked")
+    // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
+    private void initComponents() {
+
+        singlePassCheckBox = new javax.swing.JCheckBox();
+        fixImportsCheckBox = new javax.swing.JCheckBox();
+        benchmarkCheckBox = new javax.swing.JCheckBox();
+        immutableCheckBox = new javax.swing.JCheckBox();
+        discriminatingFieldsPanel = new javax.swing.JPanel();
+        discriminatingFieldsLabel = new javax.swing.JLabel();
+        discriminatingFieldsTextField = new javax.swing.JTextField();
+        presizedToStringCheckBox = new javax.swing.JCheckBox();
+        orderFieldsBySizeCheckBox = new javax.swing.JCheckBox();
+        packFlagsCheckBox = new javax.swing.JCheckBox();
+        flyweightCheckBox = new javax.swing.JCheckBox();
+        columnsCheckBox = new javax.swing.JCheckBox();
+        binaryCodecCheckBox = new javax.swing.JCheckBox();
+        jsonCodecCheckBox = new javax.swing.JCheckBox();
+        comparableCheckBox = new javax.swing.JCheckBox();
+        comparisonKeysPanel = new javax.swing.JPanel();
+        comparisonKeysLabel = new javax.swing.JLabel();
+        comparisonKeysTextField = new javax.swing.JTextField();
+        concurrencyModePanel = new javax.swing.JPanel();
+        concurrencyModeLabel = new javax.swing.JLabel();
+        concurrencyModeComboBox = new javax.swing.JComboBox<>();
+        trackDirtyFieldsCheckBox = new javax.swing.JCheckBox();
+
+        setLayout(new javax.swing.BoxLayout(this, javax.swing.BoxLayout.Y_AXIS));
+
+        org.openide.awt.Mnemonics.setLocalizedText(singlePassCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.singlePassCheckBox.text")); // NOI18N
+        singlePassCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.singlePassCheckBox.toolTipText")); // NOI18N
+        add(singlePassCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(fixImportsCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.fixImportsCheckBox.text")); // NOI18N
+        fixImportsCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.fixImportsCheckBox.toolTipText")); // NOI18N
+        add(fixImportsCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(benchmarkCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.benchmarkCheckBox.text")); // NOI18N
+        benchmarkCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.benchmarkCheckBox.toolTipText")); // NOI18N
+        add(benchmarkCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(immutableCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.immutableCheckBox.text")); // NOI18N
+        immutableCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.immutableCheckBox.toolTipText")); // NOI18N
+        add(immutableCheckBox);
+
+        discriminatingFieldsPanel.setAlignmentX(0.0F);
+        discriminatingFieldsPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        discriminatingFieldsLabel.setLabelFor(discriminatingFieldsTextField);
+        org.openide.awt.Mnemonics.setLocalizedText(discriminatingFieldsLabel, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.discriminatingFieldsLabel.text")); // NOI18N
+        discriminatingFieldsPanel.add(discriminatingFieldsLabel);
+
+        discriminatingFieldsTextField.setColumns(20);
+        discriminatingFieldsTextField.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.discriminatingFieldsTextField.toolTipText")); // NOI18N
+        discriminatingFieldsPanel.add(discriminatingFieldsTextField);
+
+        add(discriminatingFieldsPanel);
+
+        org.openide.awt.Mnemonics.setLocalizedText(presizedToStringCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.presizedToStringCheckBox.text")); // NOI18N
+        presizedToStringCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.presizedToStringCheckBox.toolTipText")); // NOI18N
+        add(presizedToStringCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(orderFieldsBySizeCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.orderFieldsBySizeCheckBox.text")); // NOI18N
+        orderFieldsBySizeCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.orderFieldsBySizeCheckBox.toolTipText")); // NOI18N
+        add(orderFieldsBySizeCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(packFlagsCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.packFlagsCheckBox.text")); // NOI18N
+        packFlagsCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.packFlagsCheckBox.toolTipText")); // NOI18N
+        add(packFlagsCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(flyweightCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.flyweightCheckBox.text")); // NOI18N
+        flyweightCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.flyweightCheckBox.toolTipText")); // NOI18N
+        add(flyweightCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(columnsCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.columnsCheckBox.text")); // NOI18N
+        columnsCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.columnsCheckBox.toolTipText")); // NOI18N
+        add(columnsCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(binaryCodecCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.binaryCodecCheckBox.text")); // NOI18N
+        binaryCodecCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.binaryCodecCheckBox.toolTipText")); // NOI18N
+        add(binaryCodecCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(jsonCodecCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.jsonCodecCheckBox.text")); // NOI18N
+        jsonCodecCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.jsonCodecCheckBox.toolTipText")); // NOI18N
+        add(jsonCodecCheckBox);
+
+        org.openide.awt.Mnemonics.setLocalizedText(comparableCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.comparableCheckBox.text")); // NOI18N
+        comparableCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.comparableCheckBox.toolTipText")); // NOI18N
+        add(comparableCheckBox);
+
+        comparisonKeysPanel.setAlignmentX(0.0F);
+        comparisonKeysPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        comparisonKeysLabel.setLabelFor(comparisonKeysTextField);
+        org.openide.awt.Mnemonics.setLocalizedText(comparisonKeysLabel, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.comparisonKeysLabel.text")); // NOI18N
+        comparisonKeysPanel.add(comparisonKeysLabel);
+
+        comparisonKeysTextField.setColumns(20);
+        comparisonKeysTextField.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.comparisonKeysTextField.toolTipText")); // NOI18N
+        comparisonKeysPanel.add(comparisonKeysTextField);
+
+        add(comparisonKeysPanel);
+
+        concurrencyModePanel.setAlignmentX(0.0F);
+        concurrencyModePanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT));
+
+        concurrencyModeLabel.setLabelFor(concurrencyModeComboBox);
+        org.openide.awt.Mnemonics.setLocalizedText(concurrencyModeLabel, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.concurrencyModeLabel.text")); // NOI18N
+        concurrencyModePanel.add(concurrencyModeLabel);
+
+        concurrencyModeComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] {ConstantDataManager.CONCURRENCY_MODE_PLAIN, ConstantDataManager.CONCURRENCY_MODE_VOLATILE, ConstantDataManager.CONCURRENCY_MODE_ATOMIC}));
+        concurrencyModeComboBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.concurrencyModeComboBox.toolTipText")); // NOI18N
+        concurrencyModePanel.add(concurrencyModeComboBox);
+
+        add(concurrencyModePanel);
+
+        org.openide.awt.Mnemonics.setLocalizedText(trackDirtyFieldsCheckBox, org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.trackDirtyFieldsCheckBox.text")); // NOI18N
+        trackDirtyFieldsCheckBox.setToolTipText(org.openide.util.NbBundle.getMessage(JavaBeanOptionsVisualPanel.class, "JavaBeanOptionsVisualPanel.trackDirtyFieldsCheckBox.toolTipText")); // NOI18N
+        add(trackDirtyFieldsCheckBox);
+    }// </editor-fold>//GEN-END:initComponents
+
+    // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JCheckBox benchmarkCheckBox;
+    private javax.swing.JCheckBox binaryCodecCheckBox;
+    private javax.swing.JCheckBox columnsCheckBox;
+    private javax.swing.JCheckBox comparableCheckBox;
+    private javax.swing.JLabel comparisonKeysLabel;
+    private javax.swing.JPanel comparisonKeysPanel;
+    private javax.swing.JTextField comparisonKeysTextField;
+    private javax.swing.JComboBox<String> concurrencyModeComboBox;
+    private javax.swing.JLabel concurrencyModeLabel;
+    private javax.swing.JPanel concurrencyModePanel;
+    private javax.swing.JLabel discriminatingFieldsLabel;
+    private javax.swing.JPanel discriminatingFieldsPanel;
+    private javax.swing.JTextField discriminatingFieldsTextField;
+    private javax.swing.JCheckBox fixImportsCheckBox;
+    private javax.swing.JCheckBox flyweightCheckBox;
+    private javax.swing.JCheckBox immutableCheckBox;
+    private javax.swing.JCheckBox jsonCodecCheckBox;
+    private javax.swing.JCheckBox orderFieldsBySizeCheckBox;
+    private javax.swing.JCheckBox packFlagsCheckBox;
+    private javax.swing.JCheckBox presizedToStringCheckBox;
+    private javax.swing.JCheckBox singlePassCheckBox;
+    private javax.swing.JCheckBox trackDirtyFieldsCheckBox;
+    // End of variables declaration//GEN-END:variables
+}
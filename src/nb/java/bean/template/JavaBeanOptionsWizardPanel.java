@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import org.openide.WizardDescriptor;
+import org.openide.util.HelpCtx;
+
+/**
+ * Wizard step with the options controlling how the bean is generated. The options are checked against the fields
+ * entered in the previous step.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanOptionsWizardPanel implements WizardDescriptor.FinishablePanel<WizardDescriptor> {
+
+    private final JavaBeanWizardPanel fieldsPanel;
+    private final Set<ChangeListener> listeners = new HashSet<>(1);
+    private JavaBeanOptionsVisualPanel component;
+    private WizardDescriptor wizardDescriptor;
+
+    /**
+     * @param fieldsPanel the wizard step with the fields of the bean
+     */
+    public JavaBeanOptionsWizardPanel(JavaBeanWizardPanel fieldsPanel) {
+        this.fieldsPanel = fieldsPanel;
+    }
+
+    @Override public JavaBeanOptionsVisualPanel getComponent() {
+        if (component == null) {
+            component = new JavaBeanOptionsVisualPanel(this);
+        }
+        return component;
+    }
+
+    @Override public HelpCtx getHelp() {
+        return HelpCtx.DEFAULT_HELP;
+    }
+
+    @Override public boolean isValid() {
+        Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+        fieldsPanel.getComponent().getFields().forEach(field -> {
+            nameToTypeMap.put(field.getFieldName(), field.getFieldType());
+        });
+        return getComponent().valid(wizardDescriptor, nameToTypeMap);
+    }
+
+    @Override public boolean isFinishPanel() {
+        return true;
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    protected void fireChangeEvent() {
+        Set<ChangeListener> ls;
+        synchronized (listeners) {
+            ls = new HashSet<>(listeners);
+        }
+        ChangeEvent ev = new ChangeEvent(this);
+        ls.forEach(listener -> {
+            listener.stateChanged(ev);
+        });
+    }
+
+    @Override public void readSettings(WizardDescriptor wizardDescriptor) {
+        this.wizardDescriptor = wizardDescriptor;
+        getComponent().read(wizardDescriptor);
+    }
+
+    @Override public void storeSettings(WizardDescriptor wizardDescriptor) {
+        getComponent().store(wizardDescriptor);
+    }
+}
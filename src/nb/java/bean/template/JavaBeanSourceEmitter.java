@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the members of a Java Bean as source text, so that the whole bean can be written by the template in a
+ * single pass, without parsing, resolving and rewriting the created file afterwards.
+ * <p>
+ * The emitted code has the same shape as the code built by {@link JavaBeanGenerator}.
+ *
+ * @author Arthur Sadykov
+ */
+public class JavaBeanSourceEmitter {
+
+    private static final String INDENT = "    ";
+    private static final String BODY_INDENT = INDENT + INDENT;
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final Map<String, ?> properties;
+    private final CounterFields counterFields;
+
+    public JavaBeanSourceEmitter(String className, Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        this.className = className;
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.properties = new HashMap<>(properties);
+        this.counterFields = new CounterFields(nameToTypeMap, properties);
+    }
+
+    /**
+     * Checks whether the bean described by the given options should be generated in a single pass.
+     *
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return {@code true} if the single-pass mode is selected and no selected option needs the source to be
+     * resolved
+     */
+    public static boolean isApplicable(Map<String, ?> properties) {
+        return GenerationOptions.isEnabled(properties, ConstantDataManager.GENERATE_IN_SINGLE_PASS_PROPERTY)
+                && !GenerationOptions.isEnabled(properties, ConstantDataManager.FIX_IMPORTS_PROPERTY);
+    }
+
+    /**
+     * Creates the parameters to pass to the Java Bean template.
+     *
+     * @return the {@code imports}, {@code interfaces} and {@code members} template parameters, and the
+     * {@code superclass} template parameter if the bean has hot fields
+     */
+    public Map<String, Object> createTemplateParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        Set<String> importedTypes = new TreeSet<>();
+        List<String> interfaces = new ArrayList<>();
+        if (isEnabled(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY)) {
+            importedTypes.addAll(BinaryCodec.getImportedTypes(isExternalizable()));
+            if (isExternalizable()) {
+                interfaces.add(BinaryCodec.getSimpleName(ConstantDataManager.EXTERNALIZABLE_TYPE));
+            }
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY)) {
+            importedTypes.addAll(JsonCodec.getImportedTypes());
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_COMPARABLE_PROPERTY)) {
+            if (!new ComparisonKeys(nameToTypeMap, properties).createComparators().isEmpty()) {
+                importedTypes.add(ConstantDataManager.COMPARATOR_TYPE);
+            }
+            interfaces.add(ConstantDataManager.SIMPLE_COMPARABLE_TYPE_NAME + "<" + className + ">");
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_EQUALS_PROPERTY) || comparesReferencesOnChange()) {
+            importedTypes.add(ConstantDataManager.OBJECTS_TYPE);
+        }
+        if (AtomicAccessors.isAtomic(properties)) {
+            importedTypes.addAll(AtomicAccessors.getImportedTypes(counterFields.removeCounters(nameToTypeMap),
+                    properties));
+        }
+        if (!counterFields.isEmpty()) {
+            importedTypes.add(ConstantDataManager.LONG_ADDER_TYPE);
+        }
+        parameters.put(ConstantDataManager.IMPORTS_TEMPLATE_PARAMETER, new ArrayList<>(importedTypes));
+        parameters.put(ConstantDataManager.INTERFACES_TEMPLATE_PARAMETER, interfaces);
+        if (JavaBeanHotFieldsEmitter.isApplicable(nameToTypeMap, properties)) {
+            parameters.put(ConstantDataManager.SUPERCLASS_TEMPLATE_PARAMETER,
+                    JavaBeanHotFieldsEmitter.getSuperclassName(className));
+        }
+        String members = emitMembers();
+        parameters.put(ConstantDataManager.MEMBERS_TEMPLATE_PARAMETER,
+                members.endsWith("\n") ? members.substring(0, members.length() - 1) : members);
+        return parameters;
+    }
+
+    private boolean comparesReferencesOnChange() {
+        return DirtyFields.isEnabled(properties)
+                && (isEnabled(ConstantDataManager.GENERATE_SETTERS_PROPERTY) || AtomicAccessors.isAtomic(properties))
+                && createDirtyFields().comparesReferences();
+    }
+
+    private boolean isEnabled(String property) {
+        return GenerationOptions.isEnabled(properties, property);
+    }
+
+    String emitMembers() {
+        StringBuilder members = new StringBuilder();
+        boolean immutable = isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+        BeanMembers beanMembers = new BeanMembers(className, nameToTypeMap, properties);
+        emitFields(members, beanMembers);
+        if (immutable) {
+            emitMember(members, INDENT, beanMembers.createConstructor());
+        } else if (isEnabled(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR)) {
+            emitMember(members, INDENT, beanMembers.createDefaultConstructor());
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_GETTERS_PROPERTY)) {
+            beanMembers.createGetters().forEach(getter -> emitMember(members, INDENT, getter));
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_SETTERS_PROPERTY) && !immutable) {
+            beanMembers.createSetters().forEach(setter -> emitMember(members, INDENT, setter));
+        }
+        if (!counterFields.isEmpty()) {
+            emitCounterMethods(members);
+        }
+        if (AtomicAccessors.isAtomic(properties)) {
+            emitAtomicAccessors(members);
+        }
+        if (DirtyFields.isEnabled(properties)) {
+            emitDirtyFields(members);
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_EQUALS_PROPERTY)) {
+            emitMember(members, INDENT, beanMembers.createEqualsMethod());
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_HASH_CODE_PROPERTY)) {
+            emitMember(members, INDENT, beanMembers.createHashCodeMethod());
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_TO_STRING_PROPERTY)) {
+            beanMembers.createToStringMethods().forEach(method -> emitMember(members, INDENT, method));
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_COMPARABLE_PROPERTY)) {
+            emitComparable(members);
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY)) {
+            emitBinaryCodec(members);
+        }
+        if (isEnabled(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY)) {
+            emitJsonCodec(members);
+        }
+        return members.toString();
+    }
+
+    private void emitFields(StringBuilder members, BeanMembers beanMembers) {
+        if (AtomicAccessors.getMode(properties).equals(ConstantDataManager.CONCURRENCY_MODE_VOLATILE)) {
+            createAtomicAccessors().reportNonAtomicFlags();
+        }
+        beanMembers.createFields().forEach(field -> {
+            members.append('\n');
+            emitMember(members, INDENT, field);
+        });
+    }
+
+    private boolean isExternalizable() {
+        // readExternal() cannot assign the final fields of an immutable bean
+        return isEnabled(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY)
+                && !isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY);
+    }
+
+    private void emitCounterMethods(StringBuilder members) {
+        counterFields.createMethods().forEach(method -> emitMember(members, INDENT, method));
+    }
+
+    private DirtyFields createDirtyFields() {
+        return new DirtyFields(nameToTypeMap, properties);
+    }
+
+    private void emitDirtyFields(StringBuilder members) {
+        DirtyFields dirtyFields = createDirtyFields();
+        dirtyFields.reportLimitations(className);
+        members.append('\n');
+        dirtyFields.createMembers(className).forEach(member -> emitMember(members, INDENT, member));
+    }
+
+    private AtomicAccessors createAtomicAccessors() {
+        return new AtomicAccessors(className, counterFields.removeCounters(nameToTypeMap), properties);
+    }
+
+    private void emitAtomicAccessors(StringBuilder members) {
+        members.append('\n');
+        createAtomicAccessors().createMembers().forEach(member -> emitMember(members, INDENT, member));
+    }
+
+    private void emitComparable(StringBuilder members) {
+        ComparisonKeys comparisonKeys = new ComparisonKeys(nameToTypeMap, properties);
+        Map<String, String> comparators = comparisonKeys.createComparators();
+        if (!comparators.isEmpty()) {
+            members.append('\n');
+        }
+        comparators.forEach((constantName, lambda) -> {
+            members.append(INDENT).append("public static final ").append(ComparisonKeys.getComparatorType(className))
+                    .append(' ').append(constantName).append(" = ").append(lambda).append(";\n");
+        });
+        members.append('\n').append(INDENT).append("@Override\n")
+                .append(INDENT).append("public int ").append(ConstantDataManager.COMPARE_TO_METHOD_NAME).append('(')
+                .append(className).append(' ').append(ConstantDataManager.OTHER).append(") {\n");
+        comparisonKeys.createCompareToStatements().forEach(statement -> appendStatement(members, statement));
+        members.append(INDENT).append("}\n");
+        if (comparisonKeys.comparesReferences()) {
+            members.append('\n').append(INDENT).append("private static <T extends Comparable<? super T>> int ")
+                    .append(ComparisonKeys.COMPARE_NULLS_FIRST_METHOD_NAME).append("(T ")
+                    .append(ComparisonKeys.FIRST).append(", T ").append(ComparisonKeys.SECOND).append(") {\n");
+            ComparisonKeys.createCompareNullsFirstStatements().forEach(statement -> appendStatement(members,
+                    statement));
+            members.append(INDENT).append("}\n");
+        }
+    }
+
+    private void emitBinaryCodec(StringBuilder members) {
+        BinaryCodec codec = new BinaryCodec(className, counterFields.removeCounters(nameToTypeMap),
+                isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY));
+        codec.reportUnsupportedFields();
+        if (isExternalizable()) {
+            members.append('\n');
+            emitMember(members, INDENT, BinaryCodec.createSerialVersionUid());
+        }
+        String output = BinaryCodec.getSimpleName(ConstantDataManager.DATA_OUTPUT_TYPE) + " " + BinaryCodec.OUTPUT;
+        String input = BinaryCodec.getSimpleName(ConstantDataManager.DATA_INPUT_TYPE) + " " + BinaryCodec.INPUT;
+        emitCodecMethod(members, false, "public void " + ConstantDataManager.WRITE_TO_METHOD_NAME + "(" + output + ")",
+                codec.createWriteToStatements());
+        emitCodecMethod(members, false, "public static " + className + " " + ConstantDataManager.READ_FROM_METHOD_NAME
+                + "(" + input + ")", codec.createReadFromStatements(isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY)));
+        if (!isExternalizable()) {
+            return;
+        }
+        emitCodecMethod(members, false, "private void " + ConstantDataManager.READ_FIELDS_METHOD_NAME + "(" + input
+                + ")", codec.createReadFieldsStatements());
+        emitCodecMethod(members, true, "public void " + ConstantDataManager.WRITE_EXTERNAL_METHOD_NAME + "("
+                + BinaryCodec.getSimpleName(ConstantDataManager.OBJECT_OUTPUT_TYPE) + " " + BinaryCodec.OUTPUT + ")",
+                Collections.singletonList(ConstantDataManager.WRITE_TO_METHOD_NAME + "(" + BinaryCodec.OUTPUT + ");"));
+        emitCodecMethod(members, true, "public void " + ConstantDataManager.READ_EXTERNAL_METHOD_NAME + "("
+                + BinaryCodec.getSimpleName(ConstantDataManager.OBJECT_INPUT_TYPE) + " " + BinaryCodec.INPUT + ")",
+                Collections.singletonList(ConstantDataManager.READ_FIELDS_METHOD_NAME + "(" + BinaryCodec.INPUT
+                        + ");"));
+    }
+
+    private static void emitCodecMethod(StringBuilder members, boolean override, String signature,
+            List<String> statements) {
+        members.append('\n');
+        if (override) {
+            members.append(INDENT).append("@Override\n");
+        }
+        members.append(INDENT).append(signature).append(" throws ")
+                .append(BinaryCodec.getSimpleName(ConstantDataManager.IO_EXCEPTION_TYPE)).append(" {\n");
+        statements.forEach(statement -> appendStatement(members, statement));
+        members.append(INDENT).append("}\n");
+    }
+
+    private void emitJsonCodec(StringBuilder members) {
+        JsonCodec codec = new JsonCodec(className, counterFields.removeCounters(nameToTypeMap),
+                isEnabled(ConstantDataManager.PACK_FLAGS_PROPERTY));
+        codec.reportUnsupportedFields();
+        Map<String, String> nameConstants = codec.createNameConstants();
+        if (!nameConstants.isEmpty()) {
+            members.append('\n');
+        }
+        nameConstants.forEach((constantName, value) -> {
+            members.append(INDENT).append("private static final String ").append(constantName).append(" = ")
+                    .append(JsonCodec.toLiteral(value)).append(";\n");
+        });
+        emitCodecMethod(members, false, "public void " + ConstantDataManager.WRITE_JSON_METHOD_NAME + "(Appendable "
+                + JsonCodec.OUTPUT + ")", codec.createWriteJsonStatements());
+        if (codec.writesStrings()) {
+            emitCodecMethod(members, false, "private static void " + ConstantDataManager.WRITE_JSON_STRING_METHOD_NAME
+                    + "(Appendable " + JsonCodec.OUTPUT + ", CharSequence " + JsonCodec.VALUE + ")",
+                    JsonCodec.createWriteJsonStringStatements());
+        }
+        emitCodecMethod(members, false, "public static " + className + " " + ConstantDataManager.READ_JSON_METHOD_NAME
+                + "(Reader " + JsonCodec.INPUT + ")",
+                codec.createReadJsonStatements(isEnabled(ConstantDataManager.IMMUTABLE_PROPERTY)));
+        members.append('\n').append(INDENT).append("private static final class ").append(JsonCodec.PARSER_CLASS_NAME)
+                .append(" {\n\n");
+        JsonCodec.createParserFields().forEach(field -> emitMember(members, BODY_INDENT, field));
+        JsonCodec.createParserMethods().forEach(method -> emitMember(members, BODY_INDENT, method));
+        members.append(INDENT).append("}\n");
+    }
+
+    /**
+     * Appends a field on its own line, or a method preceded by an empty line.
+     */
+    private static void emitMember(StringBuilder members, String indent, GeneratedMember member) {
+        if (member.isField()) {
+            members.append(indent).append(toModifiersText(member)).append(member.type).append(' ')
+                    .append(member.name);
+            if (member.initializer != null) {
+                members.append(" = ").append(member.initializer);
+            }
+            members.append(";\n");
+            return;
+        }
+        members.append('\n');
+        if (member.isOverriding()) {
+            members.append(indent).append("@Override\n");
+        }
+        members.append(indent).append(toModifiersText(member));
+        if (!member.isConstructor()) {
+            members.append(member.type).append(' ');
+        }
+        members.append(member.name).append('(');
+        for (int i = 0; i < member.parameters.size(); i += 2) {
+            members.append(i > 0 ? ", " : "").append(member.parameters.get(i)).append(' ')
+                    .append(member.parameters.get(i + 1));
+        }
+        members.append(')');
+        if (!member.thrownTypes.isEmpty()) {
+            members.append(" throws ").append(String.join(", ", member.thrownTypes));
+        }
+        members.append(" {\n");
+        member.statements.forEach(statement -> members.append(indent).append(INDENT).append(statement).append('\n'));
+        members.append(indent).append("}\n");
+    }
+
+    private static String toModifiersText(GeneratedMember member) {
+        StringBuilder text = new StringBuilder();
+        member.modifiers.forEach(modifier -> text.append(modifier).append(' '));
+        return text.toString();
+    }
+
+    private static void appendStatement(StringBuilder members, String statement) {
+        members.append(BODY_INDENT).append(statement).append('\n');
+    }
+}
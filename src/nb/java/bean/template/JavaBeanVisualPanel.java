@@ -3,13 +3,50 @@
  */
 package nb.java.bean.template;
 
+import java.awt.Component;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import javax.swing.DefaultCellEditor;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.CellEditorListener;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
 import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.ui.TypeElementFinder;
+import org.netbeans.spi.project.ui.templates.support.Templates;
+import org.openide.DialogDisplayer;
+import org.openide.NotifyDescriptor;
 import org.openide.WizardDescriptor;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.NbBundle;
+import org.openide.util.NbBundle.Messages;
+import org.openide.util.RequestProcessor;
+import org.openide.util.WeakListeners;
 
 /**
  *
@@ -18,12 +55,109 @@ import org.openide.WizardDescriptor;
 public class JavaBeanVisualPanel extends JPanel {
 
     private static final long serialVersionUID = 1L;
-    private final List<FieldPanel> fieldPanels = new ArrayList<>();
+    private static final int VALIDATION_DELAY = 200;
+    private static final Logger LOGGER = Logger.getLogger(JavaBeanVisualPanel.class.getName());
+    private static final RequestProcessor IMPORT_PROCESSOR = new RequestProcessor(JavaBeanVisualPanel.class.getName());
+    private final FieldTableModel fieldTableModel = new FieldTableModel();
+    private final JTextField cellTextField = new JTextField();
+    private final JTextField typeTextField = new JTextField();
+    private final TypeCompletion typeCompletion = TypeCompletion.install(typeTextField);
+    private final ChangeListener typeResolutionListener = event -> SwingUtilities.invokeLater(() -> {
+        verifyTypes();
+        scheduleValidation();
+    });
     private final JavaBeanWizardPanel wizardPanel;
+    private final Timer validationTimer;
+    private boolean lastValidity;
+    private TypeNameIndex typeIndex;
+    private ChangeListener weakTypeResolutionListener;
+    private String targetName;
+    private String beanPackage;
+    private boolean fixImports;
+    private boolean binaryCodec;
 
     public JavaBeanVisualPanel(JavaBeanWizardPanel wizardPanel) {
         initComponents();
         this.wizardPanel = wizardPanel;
+        this.validationTimer = new Timer(VALIDATION_DELAY, event -> {
+            // the type being typed is looked up once typing pauses
+            verifyTypes();
+            wizardPanel.fireChangeEvent();
+        });
+        validationTimer.setRepeats(false);
+        initFieldsTable();
+        fieldTableModel.addTableModelListener(event -> {
+            updateIncludeMethodsCheckBoxes();
+            verifyTypes();
+            scheduleValidation();
+        });
+        fieldsTable.getSelectionModel().addListSelectionListener(event -> updateFieldButtons());
+        updateFieldButtons();
+    }
+
+    private void initFieldsTable() {
+        JComboBox<String> kindComboBox = new JComboBox<>(
+                new String[]{ConstantDataManager.FIELD_KIND_VALUE, ConstantDataManager.FIELD_KIND_COUNTER});
+        // rows have a fixed height, so that only the rows in view are ever laid out
+        fieldsTable.setRowHeight(Math.max(fieldsTable.getRowHeight(), kindComboBox.getPreferredSize().height));
+        // typing into a selected cell starts editing it and gives the editor the focus, so that types are completed
+        fieldsTable.setSurrendersFocusOnKeystroke(true);
+        fieldsTable.setDefaultEditor(String.class, createCellEditor(cellTextField));
+        fieldsTable.getColumnModel().getColumn(FieldTableModel.TYPE_COLUMN)
+                .setCellEditor(createCellEditor(typeTextField));
+        TableColumn kindColumn = fieldsTable.getColumnModel().getColumn(FieldTableModel.KIND_COLUMN);
+        kindColumn.setCellEditor(new DefaultCellEditor(kindComboBox));
+        setToolTip(kindColumn, fieldsTable.getDefaultRenderer(String.class),
+                NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.kindColumn.toolTipText"));
+        setToolTip(fieldsTable.getColumnModel().getColumn(FieldTableModel.HOT_COLUMN),
+                fieldsTable.getDefaultRenderer(Boolean.class),
+                NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.hotColumn.toolTipText"));
+        fieldsTable.getColumnModel().getColumn(FieldTableModel.HOT_COLUMN)
+                .setMaxWidth(kindComboBox.getPreferredSize().width);
+    }
+
+    private DefaultCellEditor createCellEditor(JTextField textField) {
+        textField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                scheduleValidation();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                scheduleValidation();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent event) {
+                scheduleValidation();
+            }
+        });
+        DefaultCellEditor cellEditor = new DefaultCellEditor(textField);
+        cellEditor.addCellEditorListener(new CellEditorListener() {
+            @Override
+            public void editingStopped(ChangeEvent event) {
+                scheduleValidation();
+            }
+
+            @Override
+            public void editingCanceled(ChangeEvent event) {
+                // the text of the editor is dropped without changing the model
+                scheduleValidation();
+            }
+        });
+        return cellEditor;
+    }
+
+    private static void setToolTip(TableColumn column, TableCellRenderer renderer, String toolTip) {
+        column.setCellRenderer((table, value, selected, focused, row, columnIndex) -> {
+            Component component =
+                    renderer.getTableCellRendererComponent(table, value, selected, focused, row, columnIndex);
+            if (component instanceof JComponent) {
+                ((JComponent) component).setToolTipText(toolTip);
+            }
+            return component;
+        });
     }
 
     @Override
@@ -32,16 +166,154 @@ public class JavaBeanVisualPanel extends JPanel {
     }
 
     boolean valid(WizardDescriptor wizardDescriptor) {
-        return !fieldPanels.isEmpty()
-                && fieldPanels.stream().noneMatch(fieldPanel -> (!fieldPanel.valid(wizardDescriptor)));
+        String problem = findProblem();
+        lastValidity = problem == null && fieldTableModel.getRowCount() > 0;
+        wizardDescriptor.putProperty(WizardDescriptor.PROP_ERROR_MESSAGE, problem == null ? "" : problem);
+        return lastValidity;
+    }
+
+    /**
+     * Notifies the wizard of a change of the fields at once if the change turns the fields valid or invalid, and
+     * once the fields stop changing for a while otherwise.
+     */
+    private void scheduleValidation() {
+        boolean validity = findProblem() == null && fieldTableModel.getRowCount() > 0;
+        if (validity != lastValidity) {
+            validationTimer.stop();
+            wizardPanel.fireChangeEvent();
+        } else {
+            validationTimer.restart();
+        }
+    }
+
+    /**
+     * Marks the types of the fields known to be missing from the classpath as unresolved, and looks up the types not
+     * known yet in the background. The field panel is notified once they are known.
+     */
+    private void verifyTypes() {
+        if (typeIndex == null) {
+            return;
+        }
+        Set<String> unresolvedTypes = new HashSet<>();
+        List<String> unknownTypes = new ArrayList<>();
+        Set<String> types = new HashSet<>(fieldTableModel.getFieldTypes());
+        String editedType = getEditedType();
+        if (editedType != null) {
+            types.add(editedType);
+        }
+        for (String type : types) {
+            // a malformed type is reported as such, and the bean may have fields of its own type
+            if (!FieldDefinition.isValidType(type) || type.equals(targetName)) {
+                continue;
+            }
+            Boolean resolution = typeIndex.getResolution(type, beanPackage, fixImports);
+            if (resolution == null) {
+                unknownTypes.add(type);
+            } else if (!resolution) {
+                unresolvedTypes.add(type);
+            }
+        }
+        fieldTableModel.setUnresolvedTypes(unresolvedTypes);
+        typeIndex.resolve(unknownTypes, beanPackage, fixImports);
+    }
+
+    private String getEditedType() {
+        if (!fieldsTable.isEditing() || fieldsTable.getEditingColumn() != FieldTableModel.TYPE_COLUMN) {
+            return null;
+        }
+        return typeTextField.getText().trim();
+    }
+
+    private boolean isUnresolved(String type) {
+        return typeIndex != null && !type.equals(targetName)
+                && Boolean.FALSE.equals(typeIndex.getResolution(type, beanPackage, fixImports));
     }
 
     /**
-     * This method is called from within the constructor to initialize the form. WARNING: Do NOT modify this code. The
-     * content of this method is always regenerated by the Form Editor.
+     * Checks the fields as if the cell being edited held the text of its editor. Only the edited cell is checked,
+     * the validity of the other cells is kept by the table model. Once the binary codec is selected among the options,
+     * the types of the fields must be ones it can encode.
+     *
+     * @return the message describing the first problem found, or {@code null} if the fields are valid
      */
-    public List<FieldPanel> getFieldPanels() {
-        return Collections.unmodifiableList(fieldPanels);
+    @Messages({
+        "PROVIDE_CORRECT_NAME=Please, specify the correct name of the field.",
+        "PROVIDE_CORRECT_TYPE=Please, specify the correct type of the field.",
+        "# {0} - field name",
+        "DUPLICATE_FIELD_NAME=The field {0} is declared more than once.",
+        "# {0} - field name",
+        "RESERVED_FIELD_NAME=The name {0} is taken by a member generated for the bean.",
+        "# {0} - field type",
+        "UNRESOLVED_FIELD_TYPE=The type {0} cannot be found on the classpath of the project. "
+                + "Unless it is in java.lang or in the package of the bean, qualify it or select Fix imports."
+    })
+    private String findProblem() {
+        int editedNameRow = -1;
+        int editedTypeRow = -1;
+        String editedName = null;
+        String editedType = null;
+        if (fieldsTable.isEditing()) {
+            Component editor = fieldsTable.getEditorComponent();
+            String text = editor instanceof JTextField ? ((JTextField) editor).getText().trim() : "";
+            switch (fieldsTable.getEditingColumn()) {
+                case FieldTableModel.NAME_COLUMN:
+                    if (!FieldDefinition.isValidName(text)) {
+                        return NbBundle.getMessage(JavaBeanVisualPanel.class, "PROVIDE_CORRECT_NAME");
+                    }
+                    if (FieldDefinition.isReservedName(text)) {
+                        return NbBundle.getMessage(JavaBeanVisualPanel.class, "RESERVED_FIELD_NAME", text);
+                    }
+                    editedNameRow = fieldsTable.getEditingRow();
+                    editedName = text;
+                    break;
+                case FieldTableModel.TYPE_COLUMN:
+                    if (!FieldDefinition.isValidType(text)) {
+                        return NbBundle.getMessage(JavaBeanVisualPanel.class, "PROVIDE_CORRECT_TYPE");
+                    }
+                    editedTypeRow = fieldsTable.getEditingRow();
+                    editedType = text;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (fieldTableModel.hasInvalidNames(editedNameRow)) {
+            return NbBundle.getMessage(JavaBeanVisualPanel.class, "PROVIDE_CORRECT_NAME");
+        }
+        if (fieldTableModel.hasInvalidTypes(editedTypeRow)) {
+            return NbBundle.getMessage(JavaBeanVisualPanel.class, "PROVIDE_CORRECT_TYPE");
+        }
+        String reservedName = fieldTableModel.findReservedName(editedNameRow);
+        if (reservedName != null) {
+            return NbBundle.getMessage(JavaBeanVisualPanel.class, "RESERVED_FIELD_NAME", reservedName);
+        }
+        String duplicateName = fieldTableModel.findDuplicateName(editedNameRow, editedName);
+        if (duplicateName != null) {
+            return NbBundle.getMessage(JavaBeanVisualPanel.class, "DUPLICATE_FIELD_NAME", duplicateName);
+        }
+        String unresolvedType = editedType != null && isUnresolved(editedType)
+                ? editedType
+                : fieldTableModel.findUnresolvedType(editedTypeRow);
+        if (unresolvedType != null) {
+            return NbBundle.getMessage(JavaBeanVisualPanel.class, "UNRESOLVED_FIELD_TYPE", unresolvedType);
+        }
+        if (!binaryCodec) {
+            return null;
+        }
+        Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+        List<FieldDefinition> fields = getFields();
+        for (int row = 0; row < fields.size(); row++) {
+            FieldDefinition field = fields.get(row);
+            nameToTypeMap.put(field.getFieldName(), row == editedTypeRow ? editedType : field.getFieldType());
+        }
+        return JavaBeanOptionsVisualPanel.findUnencodableFields(nameToTypeMap);
+    }
+
+    /**
+     * @return the fields entered in the wizard, in order
+     */
+    public List<FieldDefinition> getFields() {
+        return fieldTableModel.getFields();
     }
 
     void read(WizardDescriptor wizardDescriptor) {
@@ -58,6 +330,52 @@ public class JavaBeanVisualPanel extends JPanel {
         Object generateDefaultConstructor =
                 wizardDescriptor.getProperty(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR);
         toStringCheckBox.setSelected(generateDefaultConstructor == null ? true : (boolean) generateDefaultConstructor);
+        targetName = Templates.getTargetName(wizardDescriptor);
+        FileObject targetFolder = Templates.getTargetFolder(wizardDescriptor);
+        ClassPath sourcePath = targetFolder == null ? null : ClassPath.getClassPath(targetFolder, ClassPath.SOURCE);
+        String packageName = sourcePath == null ? null : sourcePath.getResourceName(targetFolder, '.', false);
+        beanPackage = packageName == null ? "" : packageName;
+        Object selectedFixImports = wizardDescriptor.getProperty(ConstantDataManager.FIX_IMPORTS_PROPERTY);
+        fixImports = selectedFixImports != null && (boolean) selectedFixImports;
+        Object selectedBinaryCodec = wizardDescriptor.getProperty(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY);
+        binaryCodec = selectedBinaryCodec != null && (boolean) selectedBinaryCodec;
+        TypeNameIndex index = targetFolder == null ? null : TypeNameIndex.get(targetFolder);
+        if (index != typeIndex) {
+            if (typeIndex != null) {
+                typeIndex.removeChangeListener(weakTypeResolutionListener);
+            }
+            // the indexes outlive the wizard, which must not be kept by them
+            weakTypeResolutionListener = index == null ? null : WeakListeners.change(typeResolutionListener, index);
+            if (index != null) {
+                index.addChangeListener(weakTypeResolutionListener);
+            }
+            typeIndex = index;
+            typeCompletion.setIndex(index);
+        }
+        verifyTypes();
+        updateShallowSizeEstimate();
+    }
+
+    @Messages({
+        "# {0} - instance size with compressed oops",
+        "# {1} - instance size without compressed oops",
+        "SHALLOW_SIZE_ESTIMATE=Estimated instance size: {0} bytes ({1} bytes without compressed oops)"
+    })
+    void updateShallowSizeEstimate() {
+        List<String> fieldTypes = new ArrayList<>();
+        int hotFieldCount = 0;
+        for (FieldDefinition field : getFields()) {
+            // only long fields become counters, and counters are never isolated
+            if (field.isCounter() && ConstantDataManager.LONG.equals(field.getFieldType())) {
+                fieldTypes.add(ConstantDataManager.LONG_ADDER_TYPE);
+            } else {
+                fieldTypes.add(field.getFieldType());
+                hotFieldCount += field.isHot() ? 1 : 0;
+            }
+        }
+        shallowSizeLabel.setText(NbBundle.getMessage(JavaBeanVisualPanel.class, "SHALLOW_SIZE_ESTIMATE",
+                FieldLayout.estimateShallowSize(fieldTypes, hotFieldCount, true),
+                FieldLayout.estimateShallowSize(fieldTypes, hotFieldCount, false)));
     }
 
     void store(WizardDescriptor wizardDescriptor) {
@@ -67,14 +385,60 @@ public class JavaBeanVisualPanel extends JPanel {
         wizardDescriptor.putProperty(ConstantDataManager.GENERATE_HASH_CODE_PROPERTY, hashCodeCheckBox.isSelected());
         wizardDescriptor.putProperty(ConstantDataManager.GENERATE_TO_STRING_PROPERTY, toStringCheckBox.isSelected());
         wizardDescriptor.putProperty(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR, defaultConstructorCheckBox.isSelected());
+        wizardDescriptor.putProperty(ConstantDataManager.HOT_FIELDS_PROPERTY, getFields().stream()
+                .filter(FieldDefinition::isHot).map(FieldDefinition::getFieldName).collect(Collectors.toList()));
+        wizardDescriptor.putProperty(ConstantDataManager.COUNTER_FIELDS_PROPERTY, getFields().stream()
+                .filter(FieldDefinition::isCounter).map(FieldDefinition::getFieldName).collect(Collectors.toList()));
+    }
+
+    private void updateIncludeMethodsCheckBoxes() {
+        boolean hasFields = fieldTableModel.getRowCount() > 0;
+        gettersCheckBox.setEnabled(hasFields);
+        settersCheckBox.setEnabled(hasFields);
+        equalsCheckBox.setEnabled(hasFields);
+        hashCodeCheckBox.setEnabled(hasFields);
+        toStringCheckBox.setEnabled(hasFields);
+        defaultConstructorCheckBox.setEnabled(hasFields);
+    }
+
+    private void updateFieldButtons() {
+        int[] selectedRows = fieldsTable.getSelectedRows();
+        removeFieldsButton.setEnabled(selectedRows.length > 0);
+        moveUpButton.setEnabled(fieldTableModel.canMoveFields(selectedRows, -1));
+        moveDownButton.setEnabled(fieldTableModel.canMoveFields(selectedRows, 1));
+        browseTypeButton.setEnabled(selectedRows.length == 1
+                && !fieldTableModel.getField(selectedRows[0]).isCounter());
+    }
+
+    private void moveSelectedFields(int offset) {
+        stopEditing();
+        int[] movedRows = fieldTableModel.moveFields(fieldsTable.getSelectedRows(), offset);
+        fieldsTable.clearSelection();
+        for (int row : movedRows) {
+            fieldsTable.addRowSelectionInterval(row, row);
+        }
+        fieldsTable.scrollRectToVisible(fieldsTable.getCellRect(movedRows[offset < 0 ? 0 : movedRows.length - 1],
+                FieldTableModel.TYPE_COLUMN, true));
+    }
+
+    private void stopEditing() {
+        if (fieldsTable.isEditing()) {
+            fieldsTable.getCellEditor().stopCellEditing();
+        }
     }
 
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
 
         addFieldButton = new javax.swing.JButton();
+        importFieldsButton = new javax.swing.JButton();
+        removeFieldsButton = new javax.swing.JButton();
+        moveUpButton = new javax.swing.JButton();
+        moveDownButton = new javax.swing.JButton();
+        browseTypeButton = new javax.swing.JButton();
         fieldsScrollPane = new javax.swing.JScrollPane();
-        fieldsPanel = new javax.swing.JPanel();
+        fieldsTable = new javax.swing.JTable();
+        shallowSizeLabel = new javax.swing.JLabel();
         includeMethodsScrollPane = new javax.swing.JScrollPane();
         includeMethodsPanel = new javax.swing.JPanel();
         gettersCheckBox = new javax.swing.JCheckBox();
@@ -91,8 +455,46 @@ public class JavaBeanVisualPanel extends JPanel {
             }
         });
 
-        fieldsPanel.setLayout(new javax.swing.BoxLayout(fieldsPanel, javax.swing.BoxLayout.Y_AXIS));
-        fieldsScrollPane.setViewportView(fieldsPanel);
+        org.openide.awt.Mnemonics.setLocalizedText(importFieldsButton, org.openide.util.NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.importFieldsButton.text")); // NOI18N
+        importFieldsButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                importFieldsButtonActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(removeFieldsButton, org.openide.util.NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.removeFieldsButton.text")); // NOI18N
+        removeFieldsButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                removeFieldsButtonActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(moveUpButton, org.openide.util.NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.moveUpButton.text")); // NOI18N
+        moveUpButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                moveUpButtonActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(moveDownButton, org.openide.util.NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.moveDownButton.text")); // NOI18N
+        moveDownButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                moveDownButtonActionPerformed(evt);
+            }
+        });
+
+        org.openide.awt.Mnemonics.setLocalizedText(browseTypeButton, org.openide.util.NbBundle.getMessage(JavaBeanVisualPanel.class, "JavaBeanVisualPanel.browseTypeButton.text")); // NOI18N
+        browseTypeButton.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                browseTypeButtonActionPerformed(evt);
+            }
+        });
+
+        fieldsTable.setModel(fieldTableModel);
+        fieldsTable.setFillsViewportHeight(true);
+        fieldsTable.getTableHeader().setReorderingAllowed(false);
+        fieldsTable.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+        fieldsScrollPane.setViewportView(fieldsTable);
 
         includeMethodsScrollPane.setHorizontalScrollBarPolicy(javax.swing.ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
         includeMethodsScrollPane.setVerticalScrollBarPolicy(javax.swing.ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER);
@@ -196,6 +598,19 @@ public class JavaBeanVisualPanel extends JPanel {
                     .addComponent(fieldsScrollPane)
                     .addGroup(layout.createSequentialGroup()
                         .addComponent(addFieldButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(importFieldsButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(removeFieldsButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                        .addComponent(moveUpButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(moveDownButton)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                        .addComponent(browseTypeButton)
+                        .addGap(0, 0, Short.MAX_VALUE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(shallowSizeLabel)
                         .addGap(0, 0, Short.MAX_VALUE))
                     .addComponent(includeMethodsScrollPane, javax.swing.GroupLayout.DEFAULT_SIZE, 388, Short.MAX_VALUE))
                 .addContainerGap())
@@ -204,33 +619,100 @@ public class JavaBeanVisualPanel extends JPanel {
             layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
             .addGroup(layout.createSequentialGroup()
                 .addContainerGap()
-                .addComponent(addFieldButton)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(addFieldButton)
+                    .addComponent(importFieldsButton)
+                    .addComponent(removeFieldsButton)
+                    .addComponent(moveUpButton)
+                    .addComponent(moveDownButton)
+                    .addComponent(browseTypeButton))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(fieldsScrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, 228, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(shallowSizeLabel)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(includeMethodsScrollPane, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
 
     private void addFieldButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_addFieldButtonActionPerformed
-        FieldPanel fieldPanel = FieldPanel.create(wizardPanel);
-        fieldPanels.add(fieldPanel);
-        gettersCheckBox.setEnabled(true);
-        settersCheckBox.setEnabled(true);
-        equalsCheckBox.setEnabled(true);
-        hashCodeCheckBox.setEnabled(true);
-        toStringCheckBox.setEnabled(true);
-        defaultConstructorCheckBox.setEnabled(true);
-        wizardPanel.fireChangeEvent();
-        SwingUtilities.invokeLater(() -> {
-            fieldsPanel.add(fieldPanel);
-            fieldPanel.setMaximumSize(fieldPanel.getPreferredSize());
-            fieldPanel.requestFocusInTypeField();
-            fieldsPanel.revalidate();
-        });
+        stopEditing();
+        fieldTableModel.addFields(Collections.singletonList(new FieldDefinition()));
+        int row = fieldTableModel.getRowCount() - 1;
+        fieldsTable.setRowSelectionInterval(row, row);
+        fieldsTable.scrollRectToVisible(fieldsTable.getCellRect(row, FieldTableModel.TYPE_COLUMN, true));
+        if (fieldsTable.editCellAt(row, FieldTableModel.TYPE_COLUMN)) {
+            fieldsTable.getEditorComponent().requestFocusInWindow();
+        }
     }//GEN-LAST:event_addFieldButtonActionPerformed
 
+    @Messages("FIELD_SOURCE_FILES=SQL table scripts, CSV files and JSON Schemas")
+    private void importFieldsButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_importFieldsButtonActionPerformed
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new FileNameExtensionFilter(
+                NbBundle.getMessage(JavaBeanVisualPanel.class, "FIELD_SOURCE_FILES"),
+                ConstantDataManager.SQL_EXTENSION, ConstantDataManager.CSV_EXTENSION,
+                ConstantDataManager.JSON_EXTENSION));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File selectedFile = FileUtil.normalizeFile(fileChooser.getSelectedFile());
+        FileObject sourceFile = FileUtil.toFileObject(selectedFile);
+        if (sourceFile == null) {
+            return;
+        }
+        stopEditing();
+        importFieldsButton.setEnabled(false);
+        // the file is parsed off the event dispatch thread, and its fields are added to the table at once
+        IMPORT_PROCESSOR.post(() -> {
+            List<FieldDefinition> fields = Collections.emptyList();
+            try {
+                fields = FieldImporter.importFields(sourceFile);
+            } catch (IOException ex) {
+                notifyImportFailure(ex.getMessage());
+            } catch (RuntimeException ex) {
+                // a source the importer does not foresee is malformed all the same
+                LOGGER.log(Level.FINE, null, ex);
+                notifyImportFailure(ConstantDataManager.MALFORMED_FIELD_SOURCE + sourceFile.getNameExt());
+            } finally {
+                List<FieldDefinition> importedFields = fields;
+                SwingUtilities.invokeLater(() -> {
+                    fieldTableModel.addFields(importedFields);
+                    importFieldsButton.setEnabled(true);
+                });
+            }
+        });
+    }//GEN-LAST:event_importFieldsButtonActionPerformed
+
+    private static void notifyImportFailure(String message) {
+        DialogDisplayer.getDefault().notifyLater(new NotifyDescriptor.Message(message, NotifyDescriptor.ERROR_MESSAGE));
+    }
+
+    private void removeFieldsButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_removeFieldsButtonActionPerformed
+        if (fieldsTable.isEditing()) {
+            fieldsTable.getCellEditor().cancelCellEditing();
+        }
+        fieldTableModel.removeFields(fieldsTable.getSelectedRows());
+    }//GEN-LAST:event_removeFieldsButtonActionPerformed
+
+    private void moveUpButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveUpButtonActionPerformed
+        moveSelectedFields(-1);
+    }//GEN-LAST:event_moveUpButtonActionPerformed
+
+    private void moveDownButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_moveDownButtonActionPerformed
+        moveSelectedFields(1);
+    }//GEN-LAST:event_moveDownButtonActionPerformed
+
+    private void browseTypeButtonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_browseTypeButtonActionPerformed
+        stopEditing();
+        int row = fieldsTable.getSelectedRow();
+        ElementHandle<TypeElement> handle = TypeElementFinder.find(null, null, null);
+        if (handle != null && row >= 0) {
+            fieldTableModel.setValueAt(handle.getQualifiedName(), row, FieldTableModel.TYPE_COLUMN);
+        }
+    }//GEN-LAST:event_browseTypeButtonActionPerformed
+
     private void gettersCheckBoxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_gettersCheckBoxActionPerformed
         if (!gettersCheckBox.isSelected()) {
             equalsCheckBox.setSelected(false);
@@ -262,15 +744,21 @@ public class JavaBeanVisualPanel extends JPanel {
     }//GEN-LAST:event_defaultConstructorCheckBoxActionPerformed
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton addFieldButton;
+    private javax.swing.JButton browseTypeButton;
     private javax.swing.JCheckBox defaultConstructorCheckBox;
     private javax.swing.JCheckBox equalsCheckBox;
-    private javax.swing.JPanel fieldsPanel;
     private javax.swing.JScrollPane fieldsScrollPane;
+    private javax.swing.JTable fieldsTable;
     private javax.swing.JCheckBox gettersCheckBox;
     private javax.swing.JCheckBox hashCodeCheckBox;
+    private javax.swing.JButton importFieldsButton;
     private javax.swing.JPanel includeMethodsPanel;
     private javax.swing.JScrollPane includeMethodsScrollPane;
+    private javax.swing.JButton moveDownButton;
+    private javax.swing.JButton moveUpButton;
+    private javax.swing.JButton removeFieldsButton;
     private javax.swing.JCheckBox settersCheckBox;
+    private javax.swing.JLabel shallowSizeLabel;
     private javax.swing.JCheckBox toStringCheckBox;
     // End of variables declaration//GEN-END:variables
 }
@@ -14,7 +14,7 @@ import org.openide.util.HelpCtx;
  *
  * @author Arthur Sadykov
  */
-public class JavaBeanWizardPanel implements WizardDescriptor.Panel<WizardDescriptor> {
+public class JavaBeanWizardPanel implements WizardDescriptor.FinishablePanel<WizardDescriptor> {
 
     /**
      * The visual component that displays this panel. If you need to access the component from this class, just use
@@ -47,6 +47,10 @@ public class JavaBeanWizardPanel implements WizardDescriptor.Panel<WizardDescrip
         return component.valid(wizardDescriptor);
     }
 
+    @Override public boolean isFinishPanel() {
+        return true;
+    }
+
     @Override
     public void addChangeListener(ChangeListener listener) {
         synchronized (listeners) {
@@ -62,6 +66,7 @@ public class JavaBeanWizardPanel implements WizardDescriptor.Panel<WizardDescrip
     }
 
     protected void fireChangeEvent() {
+        getComponent().updateShallowSizeEstimate();
         Set<ChangeListener> ls;
         synchronized (listeners) {
             ls = new HashSet<>(listeners);
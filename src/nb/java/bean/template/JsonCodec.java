@@ -0,0 +1,583 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.lang.model.element.Modifier;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Renders the members of the streaming JSON writer and parser of a Java Bean, shared by {@link JavaBeanGenerator}
+ * and {@link JavaBeanSourceEmitter}.
+ * <p>
+ * The writer appends the names of the fields from constants holding them already quoted, together with the
+ * separators, and formats the values with the {@code toString} methods of the primitive types, so that neither
+ * reflection nor intermediate maps are involved. Non-finite floating point values are written as strings, the way
+ * they are read back by {@code parseDouble}. The parser is a nested class reading the JSON from a buffer of its own
+ * over a {@code Reader}; unknown members are skipped. Fields of types without a JSON representation are left out.
+ *
+ * @author Arthur Sadykov
+ */
+class JsonCodec {
+
+    private static final Logger LOGGER = Logger.getLogger(JsonCodec.class.getName());
+    static final String OUTPUT = "out";
+    static final String INPUT = "in";
+    static final String VALUE = "value";
+    static final String PARSER_CLASS_NAME = "JsonParser";
+    private static final String PARSER = "parser";
+    private static final String INDENT = "    ";
+    static final String NAME_SUFFIX = "_JSON_NAME";
+    private static final int BUFFER_SIZE = 1024;
+    private final String className;
+    private final Map<String, String> nameToTypeMap;
+    private final PackedFlags packedFlags;
+    private final boolean packFlags;
+
+    /**
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param packFlags whether the {@code boolean} fields are packed into words
+     */
+    JsonCodec(String className, Map<String, String> nameToTypeMap, boolean packFlags) {
+        this.className = className;
+        this.nameToTypeMap = new LinkedHashMap<>(nameToTypeMap);
+        this.packedFlags = new PackedFlags(nameToTypeMap);
+        this.packFlags = packFlags;
+    }
+
+    /**
+     * @return the types used by the JSON methods, sorted
+     */
+    static List<String> getImportedTypes() {
+        return Arrays.asList(ConstantDataManager.IO_EXCEPTION_TYPE, ConstantDataManager.READER_TYPE);
+    }
+
+    /**
+     * Logs a warning naming the fields left out of the JSON, if there are any.
+     */
+    void reportUnsupportedFields() {
+        List<String> unsupportedFields = new ArrayList<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (getKind(fieldType) == null) {
+                unsupportedFields.add(fieldName);
+            }
+        });
+        if (!unsupportedFields.isEmpty()) {
+            LOGGER.log(Level.WARNING, ConstantDataManager.FIELDS_NOT_JSON_ENCODABLE,
+                    new Object[]{className, String.join(", ", unsupportedFields)});
+        }
+    }
+
+    /**
+     * Creates the constants holding the names of the written fields. Every name is quoted and followed by a colon,
+     * the first one is preceded by the opening brace and the others by a comma.
+     *
+     * @return the names of the constants mapped to their values
+     */
+    Map<String, String> createNameConstants() {
+        Map<String, String> constants = new LinkedHashMap<>();
+        getEncodedFields().keySet().forEach(fieldName -> {
+            constants.put(getNameConstant(fieldName), (constants.isEmpty() ? "{" : ",") + '"' + fieldName + "\":");
+        });
+        return constants;
+    }
+
+    /**
+     * @param value the value of a string constant
+     * @return the Java source of the constant value, including the quotes
+     */
+    static String toLiteral(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * @return {@code true} if a field is written as a JSON string and needs the escaping helper method
+     */
+    boolean writesStrings() {
+        return getEncodedFields().values().stream().anyMatch(fieldType -> "String".equals(getKind(fieldType))
+                || "Char".equals(getKind(fieldType)));
+    }
+
+    List<String> createWriteJsonStatements() {
+        Map<String, String> fields = getEncodedFields();
+        if (fields.isEmpty()) {
+            return Collections.singletonList(OUTPUT + ".append(\"{}\");");
+        }
+        List<String> statements = new ArrayList<>();
+        fields.forEach((fieldName, fieldType) -> {
+            String append = OUTPUT + ".append(" + getNameConstant(fieldName) + ")";
+            String value = packFlags && PackedFlags.isFlag(fieldType)
+                    ? "(this." + packedFlags.getWordName(fieldName) + " & " + packedFlags.getMask(fieldName) + ") != 0"
+                    : "this." + fieldName;
+            String kind = getKind(fieldType);
+            if ("String".equals(kind) || "Char".equals(kind)) {
+                statements.add(append + ";");
+                statements.add(ConstantDataManager.WRITE_JSON_STRING_METHOD_NAME + "(" + OUTPUT + ", "
+                        + createText(fieldType, value) + ");");
+            } else {
+                statements.add(append + ".append(" + createText(fieldType, value) + ");");
+            }
+        });
+        statements.add(OUTPUT + ".append('}');");
+        return statements;
+    }
+
+    /**
+     * @return the statements of the helper method writing a {@code CharSequence value} as a JSON string
+     */
+    static List<String> createWriteJsonStringStatements() {
+        return Arrays.asList(
+                "if (" + VALUE + " == null) {",
+                INDENT + OUTPUT + ".append(\"null\");",
+                INDENT + "return;",
+                "}",
+                OUTPUT + ".append('\"');",
+                "int start = 0;",
+                "for (int i = 0; i < " + VALUE + ".length(); i++) {",
+                INDENT + "char c = " + VALUE + ".charAt(i);",
+                INDENT + "if (c == '\"' || c == '\\\\' || c < ' ') {",
+                INDENT + INDENT + OUTPUT + ".append(" + VALUE + ", start, i).append('\\\\');",
+                INDENT + INDENT + "switch (c) {",
+                INDENT + INDENT + INDENT + "case '\\n':",
+                INDENT + INDENT + INDENT + INDENT + OUTPUT + ".append('n');",
+                INDENT + INDENT + INDENT + INDENT + "break;",
+                INDENT + INDENT + INDENT + "case '\\r':",
+                INDENT + INDENT + INDENT + INDENT + OUTPUT + ".append('r');",
+                INDENT + INDENT + INDENT + INDENT + "break;",
+                INDENT + INDENT + INDENT + "case '\\t':",
+                INDENT + INDENT + INDENT + INDENT + OUTPUT + ".append('t');",
+                INDENT + INDENT + INDENT + INDENT + "break;",
+                INDENT + INDENT + INDENT + "case '\"':",
+                INDENT + INDENT + INDENT + "case '\\\\':",
+                INDENT + INDENT + INDENT + INDENT + OUTPUT + ".append(c);",
+                INDENT + INDENT + INDENT + INDENT + "break;",
+                INDENT + INDENT + INDENT + "default:",
+                INDENT + INDENT + INDENT + INDENT + OUTPUT + ".append(\"u00\").append(Character.forDigit(c >> 4, 16))",
+                INDENT + INDENT + INDENT + INDENT + INDENT + INDENT + ".append(Character.forDigit(c & 0xf, 16));",
+                INDENT + INDENT + "}",
+                INDENT + INDENT + "start = i + 1;",
+                INDENT + "}",
+                "}",
+                OUTPUT + ".append(" + VALUE + ", start, " + VALUE + ".length()).append('\"');");
+    }
+
+    /**
+     * @param immutable whether the bean is immutable and has to be created by its constructor
+     * @return the statements of the static factory parsing a bean
+     */
+    List<String> createReadJsonStatements(boolean immutable) {
+        Map<String, String> fields = getEncodedFields();
+        List<String> statements = new ArrayList<>();
+        statements.add(PARSER_CLASS_NAME + " " + PARSER + " = new " + PARSER_CLASS_NAME + "(" + INPUT + ");");
+        if (immutable) {
+            fields.forEach((fieldName, fieldType) -> {
+                statements.add(fieldType + " " + fieldName + " = " + getDefaultValue(fieldType) + ";");
+            });
+        } else {
+            statements.add(className + " bean = new " + className + "();");
+        }
+        statements.add(PARSER + ".expect('{');");
+        statements.add("if (!" + PARSER + ".consume('}')) {");
+        statements.add(INDENT + "do {");
+        statements.add(INDENT + INDENT + "switch (" + PARSER + ".readName()) {");
+        String caseIndent = INDENT + INDENT + INDENT;
+        fields.forEach((fieldName, fieldType) -> {
+            statements.add(caseIndent + "case \"" + fieldName + "\":");
+            String parse = createParse(fieldType);
+            String assignment;
+            if (immutable) {
+                assignment = fieldName + " = " + parse + ";";
+            } else if (packFlags && PackedFlags.isFlag(fieldType)) {
+                String word = "bean." + packedFlags.getWordName(fieldName);
+                String mask = packedFlags.getMask(fieldName);
+                assignment = word + " = " + parse + " ? " + word + " | " + mask + " : " + word + " & ~(" + mask + ");";
+            } else {
+                assignment = "bean." + fieldName + " = " + parse + ";";
+            }
+            statements.add(caseIndent + INDENT + assignment);
+            statements.add(caseIndent + INDENT + "break;");
+        });
+        statements.add(caseIndent + "default:");
+        statements.add(caseIndent + INDENT + PARSER + ".skipValue();");
+        statements.add(INDENT + INDENT + "}");
+        statements.add(INDENT + "} while (" + PARSER + ".consume(','));");
+        statements.add(INDENT + PARSER + ".expect('}');");
+        statements.add("}");
+        if (immutable) {
+            StringBuilder arguments = new StringBuilder();
+            nameToTypeMap.forEach((fieldName, fieldType) -> {
+                if (arguments.length() > 0) {
+                    arguments.append(", ");
+                }
+                arguments.append(getKind(fieldType) == null ? ConstantDataManager.NULL : fieldName);
+            });
+            statements.add("return new " + className + "(" + arguments + ");");
+        } else {
+            statements.add("return bean;");
+        }
+        return statements;
+    }
+
+    /**
+     * @return the fields of the nested parser class
+     */
+    static List<GeneratedMember> createParserFields() {
+        return Arrays.asList(
+                GeneratedMember.field(EnumSet.of(Modifier.PRIVATE, Modifier.FINAL), "Reader", INPUT, null),
+                GeneratedMember.field(EnumSet.of(Modifier.PRIVATE, Modifier.FINAL), "char[]", "buffer", null),
+                GeneratedMember.field(EnumSet.of(Modifier.PRIVATE, Modifier.FINAL), "StringBuilder", "token", null),
+                GeneratedMember.field(EnumSet.of(Modifier.PRIVATE), "int", "position", null),
+                GeneratedMember.field(EnumSet.of(Modifier.PRIVATE), "int", "limit", null));
+    }
+
+    /**
+     * @return the constructor and the methods of the nested parser class, the constructor first
+     */
+    static List<GeneratedMember> createParserMethods() {
+        Set<Modifier> packagePrivate = Collections.<Modifier>emptySet();
+        Set<Modifier> privateAccess = EnumSet.of(Modifier.PRIVATE);
+        List<GeneratedMember> methods = new ArrayList<>();
+        methods.add(parserMethod(packagePrivate, null, PARSER_CLASS_NAME, Arrays.asList("Reader", INPUT),
+                "this." + INPUT + " = " + INPUT + ";",
+                "this.buffer = new char[" + BUFFER_SIZE + "];",
+                "this.token = new StringBuilder();"));
+        methods.add(parserMethod(packagePrivate, "boolean", "consume", Arrays.asList("char", "expected"),
+                "if (peekClean() != expected) {",
+                INDENT + "return false;",
+                "}",
+                "position++;",
+                "return true;"));
+        methods.add(parserMethod(packagePrivate, "void", "expect", Arrays.asList("char", "expected"),
+                "if (!consume(expected)) {",
+                INDENT + "throw new IOException(\"'\" + expected + \"' expected\");",
+                "}"));
+        methods.add(parserMethod(packagePrivate, "String", "readName", Collections.<String>emptyList(),
+                "String name = readString();",
+                "expect(':');",
+                "return name;"));
+        methods.add(parserMethod(packagePrivate, "boolean", "readNull", Collections.<String>emptyList(),
+                "return readLiteral(\"null\");"));
+        methods.add(parserMethod(packagePrivate, "boolean", "readBoolean", Collections.<String>emptyList(),
+                "if (readLiteral(\"true\")) {",
+                INDENT + "return true;",
+                "}",
+                "if (readLiteral(\"false\")) {",
+                INDENT + "return false;",
+                "}",
+                "throw new IOException(\"Boolean expected\");"));
+        methods.add(parserMethod(packagePrivate, "long", "readLong", Arrays.asList("long", "min", "long", "max"),
+                "boolean negative = consume('-');",
+                "int c = peek();",
+                "if (c < '0' || c > '9') {",
+                INDENT + "throw new IOException(\"Digit expected\");",
+                "}",
+                "// accumulated negatively, so that the minimum value does not overflow",
+                "long value = 0;",
+                "while (c >= '0' && c <= '9') {",
+                INDENT + "int digit = c - '0';",
+                INDENT + "if (value < (Long.MIN_VALUE + digit) / 10) {",
+                INDENT + INDENT + "throw new IOException(\"Number out of range\");",
+                INDENT + "}",
+                INDENT + "value = value * 10 - digit;",
+                INDENT + "position++;",
+                INDENT + "c = peek();",
+                "}",
+                "if (!negative) {",
+                INDENT + "value = -value;",
+                "}",
+                "if (value < min || value > max || !negative && value < 0) {",
+                INDENT + "throw new IOException(\"Number out of range\");",
+                "}",
+                "return value;"));
+        methods.add(parserMethod(packagePrivate, "String", "readDecimal", Collections.<String>emptyList(),
+                "// non-finite values are written as strings",
+                "if (peekClean() == '\"') {",
+                INDENT + "return readString();",
+                "}",
+                "token.setLength(0);",
+                "int c = peek();",
+                "while (c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {",
+                INDENT + "token.append((char) c);",
+                INDENT + "position++;",
+                INDENT + "c = peek();",
+                "}",
+                "return token.toString();"));
+        for (String decimalType : Arrays.asList("Float", "Double")) {
+            // the wrapper class parses the primitive type of the same name
+            methods.add(parserMethod(packagePrivate, decimalType.toLowerCase(), "read" + decimalType,
+                    Collections.<String>emptyList(),
+                    "String value = readDecimal();",
+                    "try {",
+                    INDENT + "return " + decimalType + ".parse" + decimalType + "(value);",
+                    "} catch (NumberFormatException ex) {",
+                    INDENT + "throw new IOException(\"Number expected: \" + value, ex);",
+                    "}"));
+        }
+        methods.add(parserMethod(packagePrivate, "char", "readChar", Collections.<String>emptyList(),
+                "String value = readString();",
+                "if (value.length() != 1) {",
+                INDENT + "throw new IOException(\"Character expected\");",
+                "}",
+                "return value.charAt(0);"));
+        methods.add(parserMethod(packagePrivate, "String", "readString", Collections.<String>emptyList(),
+                "expect('\"');",
+                "token.setLength(0);",
+                "while (true) {",
+                INDENT + "int c = read();",
+                INDENT + "if (c == '\"') {",
+                INDENT + INDENT + "return token.toString();",
+                INDENT + "}",
+                INDENT + "if (c == '\\\\') {",
+                INDENT + INDENT + "c = readEscape();",
+                INDENT + "} else if (c < ' ') {",
+                INDENT + INDENT + "throw new IOException(c < 0 ? \"Unterminated string\" "
+                + ": \"Unescaped control character\");",
+                INDENT + "}",
+                INDENT + "token.append((char) c);",
+                "}"));
+        methods.add(parserMethod(packagePrivate, "void", "skipValue", Collections.<String>emptyList(),
+                "int c = peekClean();",
+                "if (c == '\"') {",
+                INDENT + "readString();",
+                "} else if (c == '{' || c == '[') {",
+                INDENT + "char end = c == '{' ? '}' : ']';",
+                INDENT + "position++;",
+                INDENT + "if (!consume(end)) {",
+                INDENT + INDENT + "do {",
+                INDENT + INDENT + INDENT + "if (c == '{') {",
+                INDENT + INDENT + INDENT + INDENT + "readName();",
+                INDENT + INDENT + INDENT + "}",
+                INDENT + INDENT + INDENT + "skipValue();",
+                INDENT + INDENT + "} while (consume(','));",
+                INDENT + INDENT + "expect(end);",
+                INDENT + "}",
+                "} else if (!readLiteral(\"null\") && !readLiteral(\"true\") && !readLiteral(\"false\")",
+                INDENT + INDENT + "&& readDecimal().isEmpty()) {",
+                INDENT + "throw new IOException(\"Value expected\");",
+                "}"));
+        methods.add(parserMethod(privateAccess, "int", "readEscape", Collections.<String>emptyList(),
+                "int c = read();",
+                "switch (c) {",
+                INDENT + "case 'b':",
+                INDENT + INDENT + "return '\\b';",
+                INDENT + "case 'f':",
+                INDENT + INDENT + "return '\\f';",
+                INDENT + "case 'n':",
+                INDENT + INDENT + "return '\\n';",
+                INDENT + "case 'r':",
+                INDENT + INDENT + "return '\\r';",
+                INDENT + "case 't':",
+                INDENT + INDENT + "return '\\t';",
+                INDENT + "case 'u':",
+                INDENT + INDENT + "int value = 0;",
+                INDENT + INDENT + "for (int i = 0; i < 4; i++) {",
+                INDENT + INDENT + INDENT + "int digit = Character.digit(read(), 16);",
+                INDENT + INDENT + INDENT + "if (digit < 0) {",
+                INDENT + INDENT + INDENT + INDENT + "throw new IOException(\"Hexadecimal digit expected\");",
+                INDENT + INDENT + INDENT + "}",
+                INDENT + INDENT + INDENT + "value = value << 4 | digit;",
+                INDENT + INDENT + "}",
+                INDENT + INDENT + "return value;",
+                INDENT + "case '\"':",
+                INDENT + "case '\\\\':",
+                INDENT + "case '/':",
+                INDENT + INDENT + "return c;",
+                INDENT + "default:",
+                INDENT + INDENT + "throw new IOException(\"Illegal escape sequence\");",
+                "}"));
+        methods.add(parserMethod(privateAccess, "boolean", "readLiteral", Arrays.asList("String", "literal"),
+                "if (peekClean() != literal.charAt(0)) {",
+                INDENT + "return false;",
+                "}",
+                "for (int i = 0; i < literal.length(); i++) {",
+                INDENT + "if (read() != literal.charAt(i)) {",
+                INDENT + INDENT + "throw new IOException(\"'\" + literal + \"' expected\");",
+                INDENT + "}",
+                "}",
+                "return true;"));
+        methods.add(parserMethod(privateAccess, "int", "peekClean", Collections.<String>emptyList(),
+                "int c = peek();",
+                "while (c == ' ' || c == '\\t' || c == '\\n' || c == '\\r') {",
+                INDENT + "position++;",
+                INDENT + "c = peek();",
+                "}",
+                "return c;"));
+        methods.add(parserMethod(privateAccess, "int", "read", Collections.<String>emptyList(),
+                "int c = peek();",
+                "if (c >= 0) {",
+                INDENT + "position++;",
+                "}",
+                "return c;"));
+        methods.add(parserMethod(privateAccess, "int", "peek", Collections.<String>emptyList(),
+                "if (position == limit) {",
+                INDENT + "position = 0;",
+                INDENT + "limit = Math.max(" + INPUT + ".read(buffer), 0);",
+                INDENT + "if (limit == 0) {",
+                INDENT + INDENT + "return -1;",
+                INDENT + "}",
+                "}",
+                "return buffer[position];"));
+        return methods;
+    }
+
+    private Map<String, String> getEncodedFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (getKind(fieldType) != null) {
+                fields.put(fieldName, fieldType);
+            }
+        });
+        return fields;
+    }
+
+    private static String getNameConstant(String fieldName) {
+        return JavaBeanGenerator.toConstantName(fieldName) + NAME_SUFFIX;
+    }
+
+    private static String getDefaultValue(String fieldType) {
+        if (fieldType.equals(ConstantDataManager.BOOLEAN)) {
+            return ConstantDataManager.FALSE;
+        }
+        return FieldDefinition.isPrimitive(fieldType) ? "0" : ConstantDataManager.NULL;
+    }
+
+    private static String createText(String fieldType, String value) {
+        String kind = getKind(fieldType);
+        boolean primitive = FieldDefinition.isPrimitive(fieldType);
+        String text;
+        switch (kind) {
+            case "Boolean":
+                text = value + " ? \"true\" : \"false\"";
+                break;
+            case "Int":
+                text = "Integer.toString(" + value + ")";
+                break;
+            case "Long":
+                text = "Long.toString(" + value + ")";
+                break;
+            case "Float":
+            case "Double":
+                // the kind is also the name of the wrapper class
+                text = kind + ".isFinite(" + value + ") ? " + kind + ".toString(" + value + ") : \"\\\"\" + "
+                        + value + " + '\"'";
+                break;
+            case "Char":
+                return primitive ? "String.valueOf(" + value + ")"
+                        : value + " == null ? null : " + value + ".toString()";
+            default:
+                return value;
+        }
+        return primitive ? text : value + " == null ? \"null\" : " + text;
+    }
+
+    private static String createParse(String fieldType) {
+        String parse;
+        switch (getKind(fieldType)) {
+            case "Boolean":
+                parse = PARSER + ".readBoolean()";
+                break;
+            case "Int":
+                String wrapper = getWrapperName(fieldType);
+                String primitive = wrapper.equals(ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE)
+                        ? ConstantDataManager.INT
+                        : wrapper.toLowerCase();
+                parse = "(" + primitive + ") " + PARSER + ".readLong(" + wrapper + ".MIN_VALUE, " + wrapper
+                        + ".MAX_VALUE)";
+                break;
+            case "Long":
+                parse = PARSER + ".readLong(Long.MIN_VALUE, Long.MAX_VALUE)";
+                break;
+            case "Float":
+                parse = PARSER + ".readFloat()";
+                break;
+            case "Double":
+                parse = PARSER + ".readDouble()";
+                break;
+            case "Char":
+                parse = PARSER + ".readChar()";
+                break;
+            default:
+                parse = PARSER + ".readString()";
+        }
+        return FieldDefinition.isPrimitive(fieldType) ? parse
+                : PARSER + ".readNull() ? null : " + parse;
+    }
+
+    /**
+     * @param fieldType a type of the {@code Int} kind
+     * @return the simple name of the wrapper of the type
+     */
+    private static String getWrapperName(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+                return ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE;
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+                return ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE;
+            default:
+                return ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE;
+        }
+    }
+
+    /**
+     * @param fieldType the type of a field
+     * @return the kind of JSON value written for the type, or {@code null} if values of the type have no JSON
+     * representation
+     */
+    private static String getKind(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+            case ConstantDataManager.BOOLEAN_TYPE:
+                return "Boolean";
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+            case ConstantDataManager.INT:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+                return "Int";
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+                return "Long";
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+                return "Float";
+            case ConstantDataManager.DOUBLE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                return "Double";
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+                return "Char";
+            case ConstantDataManager.SIMPLE_STRING_TYPE_NAME:
+            case ConstantDataManager.STRING_TYPE:
+                return "String";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param type the return type, or {@code null} for the constructor
+     * @param parameters the types and the names of the parameters, alternately
+     */
+    private static GeneratedMember parserMethod(Set<Modifier> modifiers, String type, String name,
+            List<String> parameters, String... statements) {
+        List<String> thrownTypes = type == null
+                ? Collections.<String>emptyList()
+                : Collections.singletonList(BinaryCodec.getSimpleName(ConstantDataManager.IO_EXCEPTION_TYPE));
+        return GeneratedMember.method(modifiers, type, name, parameters, thrownTypes, Arrays.asList(statements));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Assigns the {@code boolean} fields of a bean to the bits of the words they are packed into.
+ * <p>
+ * Up to 32 flags are packed into a single {@code int} named {@value ConstantDataManager#FLAGS}, up to 64 flags into
+ * a single {@code long}. More flags take several {@code long} words named {@code flags0}, {@code flags1} and so on.
+ *
+ * @author Arthur Sadykov
+ */
+class PackedFlags {
+
+    private static final int INT_BITS = 32;
+    private static final int LONG_BITS = 64;
+    private final List<String> flagNames = new ArrayList<>();
+    private final List<String> wordNames = new ArrayList<>();
+    private final String wordType;
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     */
+    PackedFlags(Map<String, String> nameToTypeMap) {
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (isFlag(fieldType)) {
+                flagNames.add(fieldName);
+            }
+        });
+        wordType = flagNames.size() <= INT_BITS ? ConstantDataManager.INT : ConstantDataManager.LONG;
+        int wordCount = (flagNames.size() + LONG_BITS - 1) / LONG_BITS;
+        if (wordCount == 1) {
+            wordNames.add(ConstantDataManager.FLAGS);
+        } else {
+            for (int i = 0; i < wordCount; i++) {
+                wordNames.add(ConstantDataManager.FLAGS + i);
+            }
+        }
+    }
+
+    static boolean isFlag(String fieldType) {
+        return ConstantDataManager.BOOLEAN.equals(fieldType);
+    }
+
+    boolean isEmpty() {
+        return flagNames.isEmpty();
+    }
+
+    boolean isWord(String fieldName) {
+        return wordNames.contains(fieldName);
+    }
+
+    boolean isLongWord() {
+        return ConstantDataManager.LONG.equals(wordType);
+    }
+
+    List<String> getWordNames() {
+        return Collections.unmodifiableList(wordNames);
+    }
+
+    /**
+     * @param word the name of a word
+     * @return the names of the flags packed into the word, in bit order
+     */
+    List<String> getFlagNames(String word) {
+        int index = wordNames.indexOf(word);
+        return Collections.unmodifiableList(
+                flagNames.subList(index * LONG_BITS, Math.min(flagNames.size(), (index + 1) * LONG_BITS)));
+    }
+
+    String getWordName(String flagName) {
+        return wordNames.get(flagNames.indexOf(flagName) / LONG_BITS);
+    }
+
+    int getBit(String flagName) {
+        return flagNames.indexOf(flagName) % LONG_BITS;
+    }
+
+    /**
+     * Replaces the flags by the words they are packed into. The words take the place of their first flags.
+     *
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @return the fields actually declared by the bean
+     */
+    Map<String, String> replaceFlags(Map<String, String> nameToTypeMap) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        nameToTypeMap.forEach((fieldName, fieldType) -> {
+            if (isFlag(fieldType)) {
+                fields.putIfAbsent(getWordName(fieldName), wordType);
+            } else {
+                fields.put(fieldName, fieldType);
+            }
+        });
+        return fields;
+    }
+
+    /**
+     * @param flagName the name of a flag
+     * @return the source of the mask selecting the bit of the flag, such as {@code 1 << 3}
+     */
+    String getMask(String flagName) {
+        return (isLongWord() ? "1L" : "1") + " << " + getBit(flagName);
+    }
+}
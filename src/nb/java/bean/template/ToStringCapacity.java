@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+
+/**
+ * Estimates the length of the text produced by a generated {@code toString} method, so that the method can build it
+ * in a {@link StringBuilder} that does not need to grow.
+ *
+ * @author Arthur Sadykov
+ */
+class ToStringCapacity {
+
+    private static final int REFERENCE_WIDTH = 16;
+
+    private ToStringCapacity() {
+    }
+
+    /**
+     * @param className the simple name of the bean
+     * @param nameToTypeMap field names mapped to their types
+     * @return the estimated length of {@code ClassName{field=value, ...}}
+     */
+    static int estimate(String className, Map<String, String> nameToTypeMap) {
+        int capacity = className.length() + 2;
+        for (Map.Entry<String, String> entry : nameToTypeMap.entrySet()) {
+            // ", " + name + "=" + value
+            capacity += 3 + entry.getKey().length() + estimateWidth(entry.getValue());
+        }
+        return capacity;
+    }
+
+    private static int estimateWidth(String fieldType) {
+        switch (fieldType) {
+            case ConstantDataManager.CHAR:
+            case ConstantDataManager.SIMPLE_WRAPPER_CHARACTER_TYPE:
+                return 1;
+            case ConstantDataManager.BYTE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BYTE_TYPE:
+                return 4;
+            case ConstantDataManager.BOOLEAN:
+            case ConstantDataManager.BOOLEAN_TYPE:
+            case ConstantDataManager.SIMPLE_WRAPPER_BOOLEAN_TYPE:
+                return 5;
+            case ConstantDataManager.SHORT:
+            case ConstantDataManager.SIMPLE_WRAPPER_SHORT_TYPE:
+                return 6;
+            case ConstantDataManager.INT:
+            case ConstantDataManager.SIMPLE_WRAPPER_INTEGER_TYPE:
+                return 11;
+            case ConstantDataManager.FLOAT:
+            case ConstantDataManager.SIMPLE_WRAPPER_FLOAT_TYPE:
+                return 15;
+            case ConstantDataManager.LONG:
+            case ConstantDataManager.SIMPLE_WRAPPER_LONG_TYPE:
+                return 20;
+            case ConstantDataManager.DOUBLE:
+            case ConstantDataManager.SIMPLE_WRAPPER_DOUBLE_TYPE:
+                return 24;
+            default:
+                return REFERENCE_WIDTH;
+        }
+    }
+}
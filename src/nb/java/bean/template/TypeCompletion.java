@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Locale;
+import javax.swing.AbstractAction;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+/**
+ * Completes the type typed into a text field with the primitive types and the types of a {@link TypeNameIndex},
+ * listed in a popup below the field.
+ * <p>
+ * The popup is updated as the user types, and only then. Up and Down select a type, Enter replaces the text with the
+ * selected type, Escape closes the popup. While the popup is closed, these keys are left to the field and its
+ * ancestors.
+ *
+ * @author Arthur Sadykov
+ */
+class TypeCompletion {
+
+    private static final int MAX_COMPLETIONS = 50;
+    private static final int VISIBLE_COMPLETIONS = 8;
+    private static final String JAVA_LANG_PACKAGE_PREFIX = "java.lang.";
+    private final JTextField textField;
+    private final DefaultListModel<String> completions = new DefaultListModel<>();
+    private final JList<String> completionList = new JList<>(completions);
+    private final JPopupMenu popup = new JPopupMenu();
+    private TypeNameIndex index;
+    private boolean completing;
+
+    private TypeCompletion(JTextField textField) {
+        this.textField = textField;
+    }
+
+    /**
+     * @param textField the field to complete the type typed into
+     * @return the completion of the field, completing the primitive types only until an index is set
+     */
+    static TypeCompletion install(JTextField textField) {
+        TypeCompletion completion = new TypeCompletion(textField);
+        completion.initPopup();
+        completion.initKeyBindings();
+        textField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                completion.scheduleUpdate();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                completion.scheduleUpdate();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent event) {
+            }
+        });
+        textField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent event) {
+                completion.popup.setVisible(false);
+            }
+        });
+        textField.addAncestorListener(new AncestorListener() {
+            @Override
+            public void ancestorAdded(AncestorEvent event) {
+            }
+
+            @Override
+            public void ancestorRemoved(AncestorEvent event) {
+                completion.popup.setVisible(false);
+            }
+
+            @Override
+            public void ancestorMoved(AncestorEvent event) {
+            }
+        });
+        return completion;
+    }
+
+    void setIndex(TypeNameIndex index) {
+        this.index = index;
+    }
+
+    private void initPopup() {
+        completionList.setFocusable(false);
+        completionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        completionList.setCellRenderer(new DefaultListCellRenderer() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean selected,
+                    boolean focused) {
+                String typeName = (String) value;
+                int lastDot = typeName.lastIndexOf('.');
+                String text = lastDot < 0
+                        ? typeName
+                        : typeName.substring(lastDot + 1) + " (" + typeName.substring(0, lastDot) + ")";
+                return super.getListCellRendererComponent(list, text, index, selected, focused);
+            }
+        });
+        completionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent event) {
+                accept();
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(completionList);
+        scrollPane.setBorder(null);
+        popup.setLayout(new BorderLayout());
+        popup.add(scrollPane, BorderLayout.CENTER);
+        popup.setFocusable(false);
+    }
+
+    private void initKeyBindings() {
+        bind(KeyEvent.VK_DOWN, "selectNextType", () -> select(1));
+        bind(KeyEvent.VK_UP, "selectPreviousType", () -> select(-1));
+        bind(KeyEvent.VK_ESCAPE, "closeTypeCompletion", () -> popup.setVisible(false));
+        bind(KeyEvent.VK_ENTER, "acceptType", this::accept);
+    }
+
+    private void bind(int keyCode, String actionName, Runnable action) {
+        textField.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), actionName);
+        textField.getActionMap().put(actionName, new AbstractAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean isEnabled() {
+                // Enter accepts the text of the field while the popup is closed
+                return popup.isVisible() || keyCode == KeyEvent.VK_ENTER;
+            }
+
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                if (popup.isVisible()) {
+                    action.run();
+                } else {
+                    textField.postActionEvent();
+                }
+            }
+        });
+    }
+
+    private void scheduleUpdate() {
+        // text set while the field is not shown, such as the value of a cell about to be edited, is not completed
+        if (!completing && textField.isShowing()) {
+            SwingUtilities.invokeLater(this::update);
+        }
+    }
+
+    private void update() {
+        String prefix = textField.getText().trim();
+        completions.clear();
+        if (prefix.isEmpty() || !textField.isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        if (prefix.indexOf('.') < 0) {
+            String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+            TypeNameIndex.PRIMITIVE_TYPES.stream()
+                    .filter(type -> type.startsWith(lowerCasePrefix))
+                    .forEach(completions::addElement);
+        }
+        if (index != null) {
+            index.complete(prefix, MAX_COMPLETIONS).forEach(completions::addElement);
+        }
+        if (completions.isEmpty() || completions.size() == 1 && completions.get(0).equals(prefix)) {
+            popup.setVisible(false);
+            return;
+        }
+        completionList.setVisibleRowCount(Math.min(completions.size(), VISIBLE_COMPLETIONS));
+        completionList.setSelectedIndex(0);
+        completionList.ensureIndexIsVisible(0);
+        if (popup.isVisible()) {
+            popup.pack();
+        } else {
+            popup.setPopupSize(Math.max(textField.getWidth(), popup.getPreferredSize().width),
+                    popup.getPreferredSize().height);
+            popup.show(textField, 0, textField.getHeight());
+        }
+    }
+
+    private void select(int offset) {
+        int selectedIndex = Math.floorMod(completionList.getSelectedIndex() + offset, completions.size());
+        completionList.setSelectedIndex(selectedIndex);
+        completionList.ensureIndexIsVisible(selectedIndex);
+    }
+
+    private void accept() {
+        String typeName = completionList.getSelectedValue();
+        popup.setVisible(false);
+        if (typeName == null) {
+            return;
+        }
+        // the types of java.lang are known by their simple names
+        boolean javaLangType = typeName.startsWith(JAVA_LANG_PACKAGE_PREFIX)
+                && typeName.indexOf('.', JAVA_LANG_PACKAGE_PREFIX.length()) < 0;
+        completing = true;
+        try {
+            textField.setText(javaLangType ? typeName.substring(JAVA_LANG_PACKAGE_PREFIX.length()) : typeName);
+        } finally {
+            completing = false;
+        }
+    }
+}
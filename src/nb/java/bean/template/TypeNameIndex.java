@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import javax.lang.model.element.TypeElement;
+import javax.swing.event.ChangeListener;
+import nb.java.bean.constants.ConstantDataManager;
+import org.netbeans.api.java.classpath.ClassPath;
+import org.netbeans.api.java.source.ClassIndex;
+import org.netbeans.api.java.source.ClassIndexListener;
+import org.netbeans.api.java.source.ClasspathInfo;
+import org.netbeans.api.java.source.ElementHandle;
+import org.netbeans.api.java.source.RootsEvent;
+import org.netbeans.api.java.source.SourceUtils;
+import org.netbeans.api.java.source.TypesEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.util.ChangeSupport;
+import org.openide.util.RequestProcessor;
+
+/**
+ * The names of the types on the classpath of a source root, sorted for completing type names by prefix.
+ * <p>
+ * The names are read once from the {@link ClassIndex} of the root in the background, then kept up to date with the
+ * types added and removed by the indexing of the project, and read again when roots are added to or removed from the
+ * classpath. All the updates run on a single thread, one after the other, while completions read the names from
+ * concurrent sorted sets without waiting, in time logarithmic in the number of types. An index keeps at most
+ * {@value #MAX_TYPES} types, and the indexes of the {@value #MAX_INDEXES} source roots used last are kept.
+ * <p>
+ * An index also tells whether a type entered for a field can be found on the classpath, as written in the source of
+ * a bean in a given package. Types are looked up in the background on request, and the answers for the
+ * {@value #MAX_RESOLUTIONS} types looked up last are cached until the types on the classpath change.
+ *
+ * @author Arthur Sadykov
+ */
+class TypeNameIndex {
+
+    private static final int MAX_INDEXES = 4;
+    private static final int MAX_TYPES = 250_000;
+    private static final int MAX_RESOLUTIONS = 1_000;
+    private static final int RESOLUTION_RETRY_DELAY = 1_000;
+    private static final char KEY_SEPARATOR = '\0';
+    private static final String JAVA_LANG_PACKAGE = "java.lang";
+    static final List<String> PRIMITIVE_TYPES = Arrays.asList(ConstantDataManager.BOOLEAN, ConstantDataManager.BYTE,
+            ConstantDataManager.CHAR, ConstantDataManager.DOUBLE, ConstantDataManager.FLOAT, ConstantDataManager.INT,
+            ConstantDataManager.LONG, ConstantDataManager.SHORT);
+    private static final RequestProcessor INDEX_PROCESSOR = new RequestProcessor(TypeNameIndex.class.getName());
+    private static final RequestProcessor RESOLUTION_PROCESSOR =
+            new RequestProcessor(TypeNameIndex.class.getName() + ".resolution");
+    private static final Map<FileObject, TypeNameIndex> INDEXES =
+            new LinkedHashMap<FileObject, TypeNameIndex>(MAX_INDEXES, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FileObject, TypeNameIndex> eldest) {
+            if (size() > MAX_INDEXES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final ClasspathInfo classpathInfo;
+    private final ClassIndexListener listener = new ClassIndexListener() {
+        @Override
+        public void typesAdded(TypesEvent event) {
+            invalidateResolutions();
+            INDEX_PROCESSOR.post(() -> names.addAll(event.getTypes()));
+        }
+
+        @Override
+        public void typesRemoved(TypesEvent event) {
+            invalidateResolutions();
+            INDEX_PROCESSOR.post(() -> names.removeAll(event.getTypes()));
+        }
+
+        @Override
+        public void typesChanged(TypesEvent event) {
+        }
+
+        @Override
+        public void rootsAdded(RootsEvent event) {
+            invalidateResolutions();
+            INDEX_PROCESSOR.post(TypeNameIndex.this::rebuild);
+        }
+
+        @Override
+        public void rootsRemoved(RootsEvent event) {
+            invalidateResolutions();
+            INDEX_PROCESSOR.post(TypeNameIndex.this::rebuild);
+        }
+    };
+    private final Map<String, Boolean> resolutions = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_RESOLUTIONS;
+        }
+    };
+    private final Set<String> pendingTypes = ConcurrentHashMap.newKeySet();
+    private final ChangeSupport changeSupport = new ChangeSupport(this);
+    private volatile Names names = new Names();
+    private volatile int resolutionGeneration;
+
+    private TypeNameIndex(FileObject folder) {
+        this.classpathInfo = ClasspathInfo.create(folder);
+    }
+
+    /**
+     * Returns the index of the types visible from the given folder, creating it and reading the types in the
+     * background if the source root of the folder has no index yet.
+     *
+     * @param folder a folder in the sources of a project
+     * @return the index shared by all the folders of the source root of the folder
+     */
+    static synchronized TypeNameIndex get(FileObject folder) {
+        ClassPath sourcePath = ClassPath.getClassPath(folder, ClassPath.SOURCE);
+        FileObject sourceRoot = sourcePath == null ? null : sourcePath.findOwnerRoot(folder);
+        FileObject key = sourceRoot == null ? folder : sourceRoot;
+        TypeNameIndex index = INDEXES.get(key);
+        if (index == null) {
+            index = new TypeNameIndex(key);
+            index.classpathInfo.getClassIndex().addClassIndexListener(index.listener);
+            INDEX_PROCESSOR.post(index::rebuild);
+            INDEXES.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Finds the types whose simple name starts with the given prefix, ignoring case, or whose qualified name starts
+     * with the given prefix if it contains a dot.
+     *
+     * @param prefix the beginning of a type name
+     * @param maxCompletions the number of types to find at most
+     * @return the qualified names of the types found, sorted by simple name
+     */
+    List<String> complete(String prefix, int maxCompletions) {
+        Names currentNames = names;
+        List<String> completions = new ArrayList<>();
+        if (prefix.indexOf('.') >= 0) {
+            for (String qualifiedName : currentNames.qualifiedNames.tailSet(prefix)) {
+                if (completions.size() == maxCompletions || !qualifiedName.startsWith(prefix)) {
+                    break;
+                }
+                completions.add(qualifiedName);
+            }
+        } else {
+            String keyPrefix = prefix.toLowerCase(Locale.ROOT);
+            for (String key : currentNames.simpleNameKeys.tailSet(keyPrefix)) {
+                if (completions.size() == maxCompletions || !key.startsWith(keyPrefix)) {
+                    break;
+                }
+                completions.add(key.substring(key.indexOf(KEY_SEPARATOR) + 1));
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Tells whether the given type was found on the classpath, without waiting for it to be looked up.
+     *
+     * @param type a primitive type, or the simple or qualified name of a class
+     * @param beanPackage the package of the bean declaring a field of the type, empty for the default package
+     * @param fixImports whether the imports of the bean are fixed after it is generated
+     * @return {@code true} if the type is primitive or was found, {@code false} if it was not found, {@code null} if
+     * it has not been looked up since the types on the classpath last changed
+     * @see #resolve(Collection, String, boolean)
+     */
+    Boolean getResolution(String type, String beanPackage, boolean fixImports) {
+        if (PRIMITIVE_TYPES.contains(type)) {
+            return true;
+        }
+        synchronized (resolutions) {
+            return resolutions.get(getResolutionKey(type, beanPackage, fixImports));
+        }
+    }
+
+    /**
+     * Looks up the given types on the classpath in the background, unless they are already known or being looked up,
+     * and notifies the listeners once they are known. A qualified name is found if it is the fully qualified name of
+     * a class, or the name of a nested class qualified by the simple name of a class found in turn. A simple name is
+     * found if it names a class of {@code java.lang} or of the package of the bean, or, when the imports are fixed,
+     * any class, as the missing import is added then. The lookup waits for the scanning of the project to finish.
+     *
+     * @param types the types to look up
+     * @param beanPackage the package of the bean declaring fields of the types, empty for the default package
+     * @param fixImports whether the imports of the bean are fixed after it is generated
+     */
+    void resolve(Collection<String> types, String beanPackage, boolean fixImports) {
+        List<String> newTypes = types.stream()
+                .filter(type -> getResolution(type, beanPackage, fixImports) == null
+                        && pendingTypes.add(getResolutionKey(type, beanPackage, fixImports)))
+                .collect(Collectors.toList());
+        if (!newTypes.isEmpty()) {
+            RESOLUTION_PROCESSOR.post(() -> resolveNow(newTypes, beanPackage, fixImports));
+        }
+    }
+
+    /**
+     * Adds a listener notified, on any thread, when types have been looked up or the types on the classpath have
+     * changed.
+     *
+     * @param listener the listener to add
+     */
+    void addChangeListener(ChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+    }
+
+    void removeChangeListener(ChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+
+    private void resolveNow(List<String> types, String beanPackage, boolean fixImports) {
+        if (SourceUtils.isScanInProgress()) {
+            // the index is incomplete while the project is scanned, and would report existing types as missing
+            RESOLUTION_PROCESSOR.post(() -> resolveNow(types, beanPackage, fixImports), RESOLUTION_RETRY_DELAY);
+            return;
+        }
+        int generation = resolutionGeneration;
+        ClassIndex classIndex = classpathInfo.getClassIndex();
+        for (String type : types) {
+            String key = getResolutionKey(type, beanPackage, fixImports);
+            String simpleName = type.substring(type.lastIndexOf('.') + 1);
+            Set<ElementHandle<TypeElement>> candidates = classIndex.getDeclaredTypes(simpleName,
+                    ClassIndex.NameKind.SIMPLE_NAME, EnumSet.allOf(ClassIndex.SearchScope.class));
+            if (candidates != null) {
+                boolean resolved = candidates.stream()
+                        .anyMatch(candidate -> isReferencedBy(candidate, type, beanPackage, fixImports));
+                synchronized (resolutions) {
+                    // an answer found before the classpath changed is dropped
+                    if (generation == resolutionGeneration) {
+                        resolutions.put(key, resolved);
+                    }
+                }
+            }
+            pendingTypes.remove(key);
+        }
+        changeSupport.fireChange();
+    }
+
+    /**
+     * @param candidate a class whose simple name is the last part of the type
+     * @param type the simple or qualified name of a class, as written in the source of the bean
+     * @param beanPackage the package of the bean, empty for the default package
+     * @param fixImports whether the imports of the bean are fixed after it is generated
+     * @return {@code true} if the type names the class in the source of the bean
+     */
+    private static boolean isReferencedBy(ElementHandle<TypeElement> candidate, String type, String beanPackage,
+            boolean fixImports) {
+        String qualifiedName = candidate.getQualifiedName();
+        // the binary name separates the package from the names of the classes by a dot, and nested classes by a $
+        String binaryName = candidate.getBinaryName();
+        int packageEnd = binaryName.lastIndexOf('.', binaryName.indexOf('$') < 0
+                ? binaryName.length()
+                : binaryName.indexOf('$'));
+        if (packageEnd < 0) {
+            // the classes of the default package can neither be imported nor seen from other packages
+            return beanPackage.isEmpty() && qualifiedName.equals(type);
+        }
+        if (qualifiedName.equals(type)) {
+            return true;
+        }
+        String packageName = binaryName.substring(0, packageEnd);
+        String nameInPackage = qualifiedName.substring(packageEnd + 1);
+        if (fixImports) {
+            // the outermost class named by the type is imported, nested in another class or not
+            return nameInPackage.equals(type) || nameInPackage.endsWith('.' + type);
+        }
+        return nameInPackage.equals(type)
+                && (packageName.equals(JAVA_LANG_PACKAGE) || packageName.equals(beanPackage));
+    }
+
+    private static String getResolutionKey(String type, String beanPackage, boolean fixImports) {
+        return beanPackage + KEY_SEPARATOR + fixImports + KEY_SEPARATOR + type;
+    }
+
+    private void invalidateResolutions() {
+        synchronized (resolutions) {
+            resolutionGeneration++;
+            resolutions.clear();
+        }
+        changeSupport.fireChange();
+    }
+
+    private void rebuild() {
+        Set<ElementHandle<TypeElement>> types = classpathInfo.getClassIndex().getDeclaredTypes("",
+                ClassIndex.NameKind.PREFIX, EnumSet.allOf(ClassIndex.SearchScope.class));
+        Names newNames = new Names();
+        if (types != null) {
+            newNames.addAll(types);
+        }
+        names = newNames;
+    }
+
+    private void close() {
+        classpathInfo.getClassIndex().removeClassIndexListener(listener);
+    }
+
+    /**
+     * The type names of an index, written by the index thread only.
+     */
+    private static class Names {
+
+        private final NavigableSet<String> simpleNameKeys = new ConcurrentSkipListSet<>();
+        private final NavigableSet<String> qualifiedNames = new ConcurrentSkipListSet<>();
+        private int size;
+
+        void addAll(Iterable<? extends ElementHandle<TypeElement>> types) {
+            for (ElementHandle<TypeElement> type : types) {
+                if (size == MAX_TYPES) {
+                    return;
+                }
+                if (!isAnonymousOrLocal(type.getBinaryName()) && qualifiedNames.add(type.getQualifiedName())) {
+                    simpleNameKeys.add(getSimpleNameKey(type.getQualifiedName()));
+                    size++;
+                }
+            }
+        }
+
+        void removeAll(Iterable<? extends ElementHandle<TypeElement>> types) {
+            for (ElementHandle<TypeElement> type : types) {
+                if (qualifiedNames.remove(type.getQualifiedName())) {
+                    simpleNameKeys.remove(getSimpleNameKey(type.getQualifiedName()));
+                    size--;
+                }
+            }
+        }
+
+        private static String getSimpleNameKey(String qualifiedName) {
+            return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT)
+                    + KEY_SEPARATOR + qualifiedName;
+        }
+
+        private static boolean isAnonymousOrLocal(String binaryName) {
+            for (int i = binaryName.indexOf('$'); i >= 0; i = binaryName.indexOf('$', i + 1)) {
+                if (i + 1 < binaryName.length() && Character.isDigit(binaryName.charAt(i + 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
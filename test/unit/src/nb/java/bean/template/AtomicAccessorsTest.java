@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.function.UnaryOperator;
+import nb.java.bean.constants.ConstantDataManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * @author Arthur Sadykov
+ */
+public class AtomicAccessorsTest {
+
+    private static final String DIRTY_FIELDS = "dirtyFields";
+    private static final String CLEAR_DIRTY = "clearDirty";
+
+    @Test
+    public void compareAndSetMarksChangedFieldAfterSuccessfulUpdate() {
+        String source = GeneratedBeans.render(createFields(ConstantDataManager.DOUBLE), createProperties(true, false));
+        assertTrue(source.contains("    public boolean compareAndSetValue(double expected, double value) {\n"
+                + "        if (!VALUE_HANDLE.compareAndSet(this, expected, value)) {\n"
+                + "            return false;\n"
+                + "        }\n"
+                + "        if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(value)) {\n"
+                + "            DIRTY_MASK_HANDLE.getAndBitwiseOr(this, VALUE_DIRTY);\n"
+                + "        }\n"
+                + "        return true;\n"
+                + "    }\n"));
+        assertTrue(source.contains("        if (!NAME_HANDLE.compareAndSet(this, expected, value)) {\n"
+                + "            return false;\n"
+                + "        }\n"
+                + "        if (!Objects.equals(expected, value)) {\n"
+                + "            DIRTY_MASK_HANDLE.getAndBitwiseOr(this, NAME_DIRTY);\n"
+                + "        }\n"));
+    }
+
+    @Test
+    public void getAndUpdateMarksChangedFieldAfterLoop() {
+        String source = GeneratedBeans.render(createFields(ConstantDataManager.INT), createProperties(true, false));
+        assertTrue(source.contains("        } while (!VALUE_HANDLE.compareAndSet(this, current, next));\n"
+                + "        if (current != next) {\n"
+                + "            DIRTY_MASK_HANDLE.getAndBitwiseOr(this, VALUE_DIRTY);\n"
+                + "        }\n"
+                + "        return current;\n"));
+        assertTrue(source.contains("        } while (!NAME_HANDLE.compareAndSet(this, current, next));\n"
+                + "        if (!Objects.equals(current, next)) {\n"
+                + "            DIRTY_MASK_HANDLE.getAndBitwiseOr(this, NAME_DIRTY);\n"
+                + "        }\n"));
+    }
+
+    @Test
+    public void clearDirtyTakesMaskAtomically() {
+        assertTrue(GeneratedBeans.render(createFields(ConstantDataManager.INT), createProperties(true, false))
+                .contains("    public long clearDirty() {\n"
+                        + "        return (long) DIRTY_MASK_HANDLE.getAndSet(this, 0L);\n"
+                        + "    }\n"));
+        assertTrue(GeneratedBeans.render(createFields(ConstantDataManager.INT), createProperties(true, true))
+                .contains("    public long clearDirty() {\n"
+                        + "        return DIRTY_MASK_HANDLE.getAndSet(this, 0L);\n"
+                        + "    }\n"));
+    }
+
+    @Test
+    public void compareAndSetOfUntrackedFieldReturnsOutcome() {
+        String source = GeneratedBeans.render(createFields(ConstantDataManager.LONG), createProperties(false, true));
+        assertTrue(source.contains("    public boolean compareAndSetValue(long expected, long value) {\n"
+                + "        return VALUE_HANDLE.compareAndSet(this, expected, value);\n"
+                + "    }\n"));
+        assertTrue(source.contains("private static final AtomicLongFieldUpdater<Bean> VALUE_HANDLE = "
+                + "AtomicLongFieldUpdater.newUpdater(Bean.class, \"value\");"));
+        assertFalse(source.contains(ConstantDataManager.DIRTY_MASK));
+    }
+
+    @Test
+    public void fieldUpdatersTrackChangesMadeAtomically() throws Exception {
+        Class<?> bean = GeneratedBeans.compile(createFields(ConstantDataManager.INT), createProperties(true, true));
+        long valueDirty = bean.getField("VALUE_DIRTY").getLong(null);
+        long nameDirty = bean.getField("NAME_DIRTY").getLong(null);
+        Object instance = bean.getConstructor().newInstance();
+        Class<?>[] intParameters = {int.class, int.class};
+        assertTrue((boolean) GeneratedBeans.call(bean, "compareAndSetValue", instance, intParameters, 0, 0));
+        assertFalse((boolean) GeneratedBeans.call(bean, "compareAndSetValue", instance, intParameters, 1, 2));
+        assertEquals(0L, GeneratedBeans.call(bean, DIRTY_FIELDS, instance, new Class<?>[0]));
+        assertTrue((boolean) GeneratedBeans.call(bean, "compareAndSetValue", instance, intParameters, 0, 5));
+        assertEquals(valueDirty, GeneratedBeans.call(bean, DIRTY_FIELDS, instance, new Class<?>[0]));
+        GeneratedBeans.call(bean, "getAndUpdateName", instance, new Class<?>[]{UnaryOperator.class},
+                (UnaryOperator<String>) name -> "name");
+        GeneratedBeans.call(bean, "getAndUpdateValue", instance, new Class<?>[]{IntUnaryOperator.class},
+                (IntUnaryOperator) value -> value);
+        assertEquals(valueDirty | nameDirty, GeneratedBeans.call(bean, CLEAR_DIRTY, instance, new Class<?>[0]));
+        assertEquals(0L, GeneratedBeans.call(bean, DIRTY_FIELDS, instance, new Class<?>[0]));
+        assertEquals(0L, GeneratedBeans.call(bean, CLEAR_DIRTY, instance, new Class<?>[0]));
+    }
+
+    private static Map<String, String> createFields(String valueType) {
+        Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+        nameToTypeMap.put("value", valueType);
+        nameToTypeMap.put("name", "String");
+        return nameToTypeMap;
+    }
+
+    private static Map<String, Object> createProperties(boolean trackDirtyFields, boolean fieldUpdaters) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR, true);
+        properties.put(ConstantDataManager.CONCURRENCY_MODE_PROPERTY, ConstantDataManager.CONCURRENCY_MODE_ATOMIC);
+        properties.put(ConstantDataManager.ATOMIC_FIELD_UPDATERS_PROPERTY, fieldUpdaters);
+        properties.put(ConstantDataManager.TRACK_DIRTY_FIELDS_PROPERTY, trackDirtyFields);
+        return properties;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Arthur Sadykov
+ */
+public class BinaryCodecTest {
+
+    private static final Map<String, String> NAME_TO_TYPE_MAP = new LinkedHashMap<>();
+    private static Class<?> bean;
+
+    @BeforeClass
+    public static void compileBean() throws IOException, ClassNotFoundException {
+        NAME_TO_TYPE_MAP.put("id", ConstantDataManager.LONG);
+        NAME_TO_TYPE_MAP.put("name", "String");
+        NAME_TO_TYPE_MAP.put("score", "Double");
+        NAME_TO_TYPE_MAP.put("active", ConstantDataManager.BOOLEAN);
+        NAME_TO_TYPE_MAP.put("visible", ConstantDataManager.BOOLEAN);
+        Map<String, Object> properties = createProperties();
+        properties.put(ConstantDataManager.GENERATE_GETTERS_PROPERTY, true);
+        properties.put(ConstantDataManager.GENERATE_SETTERS_PROPERTY, true);
+        properties.put(ConstantDataManager.PACK_FLAGS_PROPERTY, true);
+        bean = GeneratedBeans.compile(NAME_TO_TYPE_MAP, properties);
+    }
+
+    @Test
+    public void writeToPrecedesWrappersAndStringsWithPresence() throws Exception {
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setId", long.class, 42L);
+        set(instance, "setScore", Double.class, 2.5);
+        set(instance, "setVisible", boolean.class, true);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(writeTo(instance)));
+        assertEquals(42L, in.readLong());
+        assertFalse(in.readBoolean());
+        assertTrue(in.readBoolean());
+        assertEquals(2.5, in.readDouble(), 0);
+        assertEquals(2, in.readInt());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void readFromReadsBackWhatWriteToWrites() throws Exception {
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setId", long.class, -1L);
+        set(instance, "setName", String.class, "\u0000 caf\u00e9");
+        set(instance, "setActive", boolean.class, true);
+        Object copy = GeneratedBeans.call(bean, "readFrom", null, new Class<?>[]{DataInput.class},
+                new DataInputStream(new ByteArrayInputStream(writeTo(instance))));
+        assertEquals(-1L, get(copy, "getId"));
+        assertEquals("\u0000 caf\u00e9", get(copy, "getName"));
+        assertNull(get(copy, "getScore"));
+        assertEquals(true, get(copy, "isActive"));
+        assertEquals(false, get(copy, "isVisible"));
+    }
+
+    @Test
+    public void externalizableBeanKeepsItsSerialVersionUid() throws Exception {
+        assertTrue(Externalizable.class.isAssignableFrom(bean));
+        Field serialVersionUid = bean.getDeclaredField(ConstantDataManager.SERIAL_VERSION_UID);
+        serialVersionUid.setAccessible(true);
+        assertEquals(1L, serialVersionUid.get(null));
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setName", String.class, "name");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(instance);
+        }
+        Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass description) {
+                return bean;
+            }
+        }) {
+            copy = in.readObject();
+        }
+        assertEquals("name", get(copy, "getName"));
+    }
+
+    @Test
+    public void immutableBeanIsReadThroughItsConstructor() {
+        Map<String, Object> properties = createProperties();
+        properties.put(ConstantDataManager.IMMUTABLE_PROPERTY, true);
+        String source = GeneratedBeans.render(NAME_TO_TYPE_MAP, properties);
+        assertTrue(source.contains("        String name = in.readBoolean() ? in.readUTF() : null;\n"
+                + "        Double score = in.readBoolean() ? in.readDouble() : null;\n"));
+        assertTrue(source.contains("        return new Bean(id, name, score, active, visible);\n"));
+        assertFalse(source.contains(Externalizable.class.getSimpleName()));
+        assertFalse(source.contains(ConstantDataManager.SERIAL_VERSION_UID));
+    }
+
+    @Test
+    public void findUnsupportedFieldsNamesFieldsWithoutDataMethods() {
+        Map<String, String> nameToTypeMap = new LinkedHashMap<>(NAME_TO_TYPE_MAP);
+        nameToTypeMap.put("price", "java.math.BigDecimal");
+        nameToTypeMap.put("count", "Integer");
+        nameToTypeMap.put("tags", "java.util.List<String>");
+        assertEquals(Arrays.asList("price", "tags"), BinaryCodec.findUnsupportedFields(nameToTypeMap));
+    }
+
+    private static Map<String, Object> createProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR, true);
+        properties.put(ConstantDataManager.GENERATE_BINARY_CODEC_PROPERTY, true);
+        return properties;
+    }
+
+    private static byte[] writeTo(Object instance) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GeneratedBeans.call(bean, "writeTo", instance, new Class<?>[]{DataOutput.class}, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static void set(Object instance, String setter, Class<?> type, Object value) throws Exception {
+        GeneratedBeans.call(bean, setter, instance, new Class<?>[]{type}, value);
+    }
+
+    private static Object get(Object instance, String getter) throws Exception {
+        return GeneratedBeans.call(bean, getter, instance, new Class<?>[0]);
+    }
+}
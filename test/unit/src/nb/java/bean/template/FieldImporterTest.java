@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
+
+/**
+ * @author Arthur Sadykov
+ */
+public class FieldImporterTest {
+
+    private static final String SOURCE_NAME = "source";
+
+    @Test
+    public void importSqlMapsColumnTypesAndNullability() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importSql(
+                "-- the orders\n"
+                + "CREATE TABLE IF NOT EXISTS orders (\n"
+                + "    ORDER_ID BIGINT,\n"
+                + "    quantity NUMERIC(4) NOT NULL,\n"
+                + "    price DECIMAL(10, 2) NOT NULL,\n"
+                + "    \"customer name\" VARCHAR(100),\n"
+                + "    code CHAR NOT NULL,\n"
+                + "    shipped TIMESTAMP WITH TIME ZONE,\n"
+                + "    paid TINYINT(1) NOT NULL, /* MySQL */\n"
+                + "    CONSTRAINT orders_pk PRIMARY KEY (ORDER_ID)\n"
+                + ");", SOURCE_NAME);
+        assertEquals(Arrays.asList("long orderId", "short quantity", "java.math.BigDecimal price",
+                "String customerName", "char code", "java.time.OffsetDateTime shipped", "boolean paid"),
+                describe(fields));
+    }
+
+    @Test
+    public void importSqlBoxesNullableColumns() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importSql(
+                "create table t (id int, amount double precision, flag boolean)", SOURCE_NAME);
+        assertEquals(Arrays.asList("Integer id", "Double amount", "Boolean flag"), describe(fields));
+    }
+
+    @Test(expected = IOException.class)
+    public void importSqlRejectsScriptWithoutTable() throws IOException {
+        FieldImporter.importSql("SELECT * FROM orders;", SOURCE_NAME);
+    }
+
+    @Test(expected = IOException.class)
+    public void importSqlRejectsUnclosedTable() throws IOException {
+        FieldImporter.importSql("CREATE TABLE orders (id INT", SOURCE_NAME);
+    }
+
+    @Test(expected = IOException.class)
+    public void importSqlRejectsOverflowingPrecision() throws IOException {
+        FieldImporter.importSql("CREATE TABLE orders (amount NUMERIC(99999999999))", SOURCE_NAME);
+    }
+
+    @Test
+    public void importSqlImportsKeywordColumnsWithInvalidNames() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importSql("CREATE TABLE t (class INT NOT NULL)", SOURCE_NAME);
+        assertEquals(Arrays.asList("int class"), describe(fields));
+        assertFalse(fields.get(0).hasValidName());
+    }
+
+    @Test
+    public void importCsvInfersColumnTypesFromValues() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importCsv(
+                "id,price,active,created,name\n"
+                + "1,9.99,true,2020-01-02,\"Ann, Jr.\"\n"
+                + "300,19.5,FALSE,2020-03-04,Bob\n", SOURCE_NAME);
+        assertEquals(Arrays.asList("short id", "float price", "boolean active", "java.time.LocalDate created",
+                "String name"), describe(fields));
+    }
+
+    @Test
+    public void importCsvDetectsSeparatorAndBoxesColumnsWithEmptyValues() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importCsv(
+                "ORDER_ID;total\r\n"
+                + "10000000000;\r\n"
+                + "2;12345.678901\r\n", SOURCE_NAME);
+        assertEquals(Arrays.asList("long orderId", "Double total"), describe(fields));
+    }
+
+    @Test
+    public void importCsvImportsColumnsWithoutValuesAsStrings() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importCsv("first-name,last-name", SOURCE_NAME);
+        assertEquals(Arrays.asList("String firstName", "String lastName"), describe(fields));
+    }
+
+    @Test(expected = IOException.class)
+    public void importCsvRejectsEmptyContent() throws IOException {
+        FieldImporter.importCsv("", SOURCE_NAME);
+    }
+
+    @Test
+    public void importJsonSchemaMapsPropertiesInOrder() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importJsonSchema("{\n"
+                + "  \"type\": \"object\",\n"
+                + "  \"required\": [\"id\", \"level\", \"created_at\", \"tags\"],\n"
+                + "  \"properties\": {\n"
+                + "    \"id\": {\"type\": \"integer\"},\n"
+                + "    \"level\": {\"type\": \"integer\", \"minimum\": 0, \"maximum\": 255},\n"
+                + "    \"created_at\": {\"type\": \"string\", \"format\": \"date-time\"},\n"
+                + "    \"tags\": {\"type\": \"array\"},\n"
+                + "    \"score\": {\"type\": [\"number\", \"null\"]},\n"
+                + "    \"note\": {\"type\": \"string\"}\n"
+                + "  }\n"
+                + "}", SOURCE_NAME);
+        assertEquals(Arrays.asList("long id", "short level", "java.time.OffsetDateTime createdAt",
+                "java.util.List tags", "Double score", "String note"), describe(fields));
+    }
+
+    @Test
+    public void importJsonSchemaReadsItemsOfArraySchema() throws IOException {
+        List<FieldDefinition> fields = FieldImporter.importJsonSchema("{\"type\": \"array\", \"items\": "
+                + "{\"required\": [\"valid\"], \"properties\": {\"valid\": {\"type\": \"boolean\"}}}}", SOURCE_NAME);
+        assertEquals(Arrays.asList("boolean valid"), describe(fields));
+    }
+
+    @Test(expected = IOException.class)
+    public void importJsonSchemaRejectsMalformedJson() throws IOException {
+        FieldImporter.importJsonSchema("{\"properties\": ", SOURCE_NAME);
+    }
+
+    @Test(expected = IOException.class)
+    public void importJsonSchemaRejectsSchemaWithoutProperties() throws IOException {
+        FieldImporter.importJsonSchema("{\"type\": \"string\"}", SOURCE_NAME);
+    }
+
+    private static List<String> describe(List<FieldDefinition> fields) {
+        return fields.stream()
+                .map(field -> field.getFieldType() + " " + field.getFieldName())
+                .collect(Collectors.toList());
+    }
+}
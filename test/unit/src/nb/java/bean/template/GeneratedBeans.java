@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import nb.java.bean.constants.ConstantDataManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Renders beans with {@link JavaBeanSourceEmitter} the way the wizard template lays them out, and compiles them so
+ * that the tests can call the generated methods.
+ *
+ * @author Arthur Sadykov
+ */
+class GeneratedBeans {
+
+    static final String CLASS_NAME = "Bean";
+
+    private GeneratedBeans() {
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the source of the bean, in the default package
+     */
+    static String render(Map<String, String> nameToTypeMap, Map<String, ?> properties) {
+        Map<String, Object> parameters =
+                new JavaBeanSourceEmitter(CLASS_NAME, nameToTypeMap, properties).createTemplateParameters();
+        StringBuilder source = new StringBuilder();
+        for (Object importedType : (List<?>) parameters.get(ConstantDataManager.IMPORTS_TEMPLATE_PARAMETER)) {
+            source.append("import ").append(importedType).append(";\n");
+        }
+        source.append("public class ").append(CLASS_NAME);
+        Object superclass = parameters.get(ConstantDataManager.SUPERCLASS_TEMPLATE_PARAMETER);
+        if (superclass != null) {
+            source.append(" extends ").append(superclass);
+        }
+        List<?> interfaces = (List<?>) parameters.get(ConstantDataManager.INTERFACES_TEMPLATE_PARAMETER);
+        for (int i = 0; i < interfaces.size(); i++) {
+            source.append(i == 0 ? " implements " : ", ").append(interfaces.get(i));
+        }
+        return source.append(" {\n").append(parameters.get(ConstantDataManager.MEMBERS_TEMPLATE_PARAMETER))
+                .append("\n}\n").toString();
+    }
+
+    /**
+     * @param nameToTypeMap field names mapped to their types, in declaration order
+     * @param properties generation options keyed by the property names of {@link ConstantDataManager}
+     * @return the compiled bean
+     */
+    static Class<?> compile(Map<String, String> nameToTypeMap, Map<String, ?> properties) throws IOException,
+            ClassNotFoundException {
+        Path directory = Files.createTempDirectory(CLASS_NAME);
+        Path sourceFile = directory.resolve(CLASS_NAME + ".java");
+        Files.write(sourceFile, render(nameToTypeMap, properties).getBytes(StandardCharsets.UTF_8));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("The tests need a JDK", compiler);
+        assertEquals(0, compiler.run(null, null, null, "-nowarn", "-d", directory.toString(), sourceFile.toString()));
+        ClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                GeneratedBeans.class.getClassLoader());
+        return loader.loadClass(CLASS_NAME);
+    }
+
+    /**
+     * Calls a generated method, throwing what the method throws.
+     *
+     * @param bean the class of the bean
+     * @param name the name of the method
+     * @param target the bean to call the method on, {@code null} for a static method
+     * @param parameterTypes the parameter types of the method
+     * @param arguments the arguments
+     * @return what the method returns
+     */
+    static Object call(Class<?> bean, String name, Object target, Class<?>[] parameterTypes, Object... arguments)
+            throws Exception {
+        Method method = bean.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020 Arthur Sadykov.
+ */
+package nb.java.bean.template;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nb.java.bean.constants.ConstantDataManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Arthur Sadykov
+ */
+public class JsonCodecTest {
+
+    private static final String WRITE_JSON = "writeJson";
+    private static final String READ_JSON = "readJson";
+    private static Class<?> bean;
+
+    @BeforeClass
+    public static void compileBean() throws IOException, ClassNotFoundException {
+        Map<String, String> nameToTypeMap = new LinkedHashMap<>();
+        nameToTypeMap.put("id", ConstantDataManager.LONG);
+        nameToTypeMap.put("count", ConstantDataManager.INT);
+        nameToTypeMap.put("name", "String");
+        nameToTypeMap.put("score", "Double");
+        nameToTypeMap.put("ratio", ConstantDataManager.FLOAT);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ConstantDataManager.GENERATE_DEFAULT_CONSTRUCTOR, true);
+        properties.put(ConstantDataManager.GENERATE_GETTERS_PROPERTY, true);
+        properties.put(ConstantDataManager.GENERATE_SETTERS_PROPERTY, true);
+        properties.put(ConstantDataManager.GENERATE_JSON_CODEC_PROPERTY, true);
+        bean = GeneratedBeans.compile(nameToTypeMap, properties);
+    }
+
+    @Test
+    public void writeJsonEscapesStrings() throws Exception {
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setName", String.class, "say \"hi\"\\\n\t\u0001");
+        assertEquals("{\"id\":0,\"count\":0,\"name\":\"say \\\"hi\\\"\\\\\\n\\t\\u0001\",\"score\":null,\"ratio\":0.0}",
+                writeJson(instance));
+    }
+
+    @Test
+    public void readJsonUnescapesStrings() throws Exception {
+        Object instance = readJson("{\"name\": \"say \\\"hi\\\"\\\\\\/\\n\\u00e9\"}");
+        assertEquals("say \"hi\"\\/\n\u00e9", get(instance, "getName"));
+    }
+
+    @Test
+    public void readJsonReadsBackWhatWriteJsonWrites() throws Exception {
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setId", long.class, Long.MIN_VALUE);
+        set(instance, "setCount", int.class, Integer.MAX_VALUE);
+        set(instance, "setName", String.class, "\u0000\"");
+        set(instance, "setScore", Double.class, -1.5e300);
+        String json = writeJson(instance);
+        assertEquals(json, writeJson(readJson(json)));
+    }
+
+    @Test(expected = IOException.class)
+    public void readJsonRejectsIntOutOfRange() throws Exception {
+        readJson("{\"count\":2147483648}");
+    }
+
+    @Test(expected = IOException.class)
+    public void readJsonRejectsLongOverflow() throws Exception {
+        readJson("{\"id\":9223372036854775808}");
+    }
+
+    @Test
+    public void readJsonReadsExtremeLongs() throws Exception {
+        assertEquals(Long.MIN_VALUE, get(readJson("{\"id\":-9223372036854775808}"), "getId"));
+        assertEquals(Long.MAX_VALUE, get(readJson("{\"id\":9223372036854775807}"), "getId"));
+    }
+
+    @Test
+    public void writeJsonQuotesNonFiniteFloats() throws Exception {
+        Object instance = bean.getConstructor().newInstance();
+        set(instance, "setScore", Double.class, Double.NaN);
+        set(instance, "setRatio", float.class, Float.NEGATIVE_INFINITY);
+        assertEquals("{\"id\":0,\"count\":0,\"name\":null,\"score\":\"NaN\",\"ratio\":\"-Infinity\"}",
+                writeJson(instance));
+    }
+
+    @Test
+    public void readJsonReadsNonFiniteFloats() throws Exception {
+        Object instance = readJson("{\"score\":\"Infinity\",\"ratio\":\"NaN\"}");
+        assertEquals(Double.POSITIVE_INFINITY, get(instance, "getScore"));
+        assertTrue(Float.isNaN((float) get(instance, "getRatio")));
+    }
+
+    @Test
+    public void readJsonSkipsUnknownValues() throws Exception {
+        Object instance = readJson("{\"extra\": {\"list\": [1, -2.5e3, true, null, \"}\", [], {}]}, \"flag\": false, "
+                + "\"id\": 7}");
+        assertEquals(7L, get(instance, "getId"));
+    }
+
+    @Test
+    public void readJsonReadsNullWrappers() throws Exception {
+        Object instance = readJson("{\"name\":null,\"score\":null}");
+        assertNull(get(instance, "getName"));
+        assertNull(get(instance, "getScore"));
+    }
+
+    @Test(expected = IOException.class)
+    public void readJsonRejectsNullPrimitives() throws Exception {
+        readJson("{\"count\":null}");
+    }
+
+    @Test(expected = IOException.class)
+    public void readJsonRejectsUnterminatedObject() throws Exception {
+        readJson("{\"id\":1,");
+    }
+
+    private static String writeJson(Object instance) throws Exception {
+        StringBuilder json = new StringBuilder();
+        GeneratedBeans.call(bean, WRITE_JSON, instance, new Class<?>[]{Appendable.class}, json);
+        return json.toString();
+    }
+
+    private static Object readJson(String json) throws Exception {
+        return GeneratedBeans.call(bean, READ_JSON, null, new Class<?>[]{Reader.class}, new StringReader(json));
+    }
+
+    private static void set(Object instance, String setter, Class<?> type, Object value) throws Exception {
+        GeneratedBeans.call(bean, setter, instance, new Class<?>[]{type}, value);
+    }
+
+    private static Object get(Object instance, String getter) throws Exception {
+        return GeneratedBeans.call(bean, getter, instance, new Class<?>[0]);
+    }
+}